@@ -0,0 +1,129 @@
+package org.example.bench;
+
+import org.example.api.ApiServer;
+import org.example.controller.UserController;
+import org.example.dao.UserDAO;
+import org.example.metrics.LatencyHistogram;
+import org.example.model.User;
+import org.example.security.SessionStore;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test de charge de l'API HTTP (ApiServer) sur la base embarquée : débit et latences
+ * pour un nombre croissant de clients simultanés.
+ * <pre>java -cp target/benchmarks.jar org.example.bench.ApiLoadTest [secondes par palier] [clients,clients,...]</pre>
+ * Mélange de requêtes : 90 % GET /api/users/{id}, 10 % GET /api/users?limit=50 (liste en flux).
+ */
+public class ApiLoadTest {
+    private static final int USERS = 10_000;
+    private static final String PASSWORD = "Secret#2024";
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String levels = args.length > 1 ? args[1] : "1,4,16,64";
+        // Le hachage n'est pas mesuré ici : un seul login, au coût réduit
+        System.setProperty("talentflow.kdf.iterations", "10000");
+
+        BenchmarkDatabase.start();
+        BenchmarkDatabase.truncate();
+        UserDAO dao = new UserDAO();
+        BenchmarkDatabase.seed(dao, USERS, "api");
+        User admin = new User(0, "Admin", "Charge", "admin.charge@talentflow.com", PASSWORD, "ADMIN", "22000000");
+        dao.create(admin);
+
+        ApiServer server = new ApiServer(new UserController(), SessionStore.getInstance(),
+                new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getPort() + "/api";
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        String token = login(client, base, admin.getEmail());
+
+        System.out.printf("Exécuteur des requêtes : %s%n", describeExecutor());
+        // Échauffement : JIT, pool de connexions, cache des utilisateurs
+        run(client, base, token, 8, 3);
+        System.out.printf("%n%8s %12s %10s %10s %10s %8s%n", "clients", "requêtes/s", "p50 ms", "p99 ms", "max ms", "erreurs");
+        for (String level : levels.split(",")) {
+            int clients = Integer.parseInt(level.trim());
+            Result r = run(client, base, token, clients, seconds);
+            LatencyHistogram.Snapshot s = r.latencies.snapshot();
+            System.out.printf("%8d %12.0f %10.2f %10.2f %10.2f %8d%n", clients, r.ops / (double) seconds,
+                    s.percentileMillis(0.50), s.percentileMillis(0.99), s.getMaxNanos() / 1e6, r.errors);
+        }
+        server.stop(0);
+    }
+
+    private record Result(long ops, long errors, LatencyHistogram latencies) {
+    }
+
+    private static Result run(HttpClient client, String base, String token, int clients, int seconds)
+            throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LatencyHistogram latencies = new LatencyHistogram();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread t = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String path = random.nextInt(10) == 0
+                            ? "/users?limit=50&after=" + random.nextInt(USERS)
+                            : "/users/" + (1 + random.nextInt(USERS));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                            .header("Authorization", "Bearer " + token).GET().build();
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) errors.increment();
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    latencies.record(System.nanoTime() - t0);
+                    ops.increment();
+                }
+            }, "api-client-" + i);
+            t.start();
+            threads.add(t);
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        return new Result(ops.sum(), errors.sum(), latencies);
+    }
+
+    private static String login(HttpClient client, String base, String email) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher m = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !m.find()) {
+            throw new IllegalStateException("Login refusé : " + response.statusCode() + " " + response.body());
+        }
+        return m.group(1);
+    }
+
+    private static String describeExecutor() {
+        try {
+            java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return "threads virtuels";
+        } catch (NoSuchMethodException e) {
+            return "pool de " + Integer.getInteger("talentflow.api.threads", 64) + " threads (Java " + Runtime.version().feature() + ")";
+        }
+    }
+}
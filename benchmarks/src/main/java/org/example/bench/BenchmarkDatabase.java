@@ -0,0 +1,125 @@
+package org.example.bench;
+
+import org.example.dao.UserDAO;
+import org.example.model.Offre;
+import org.example.model.User;
+import org.example.utils.ConnectionPool;
+import org.example.utils.MyConnection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base H2 en mémoire (mode MySQL) qui tient lieu de serveur MySQL pendant les benchmarks.
+ * Doit être démarrée avant le premier accès à MyConnection.
+ */
+public final class BenchmarkDatabase {
+    public static final String URL =
+            "jdbc:h2:mem:talentflow;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+    /** Mot de passe des utilisateurs de seed (valide pour UserValidator). */
+    public static final String PASSWORD = "Secret#2024";
+
+    private static boolean started;
+
+    private BenchmarkDatabase() {
+    }
+
+    public static synchronized void start() {
+        start(URL);
+    }
+
+    /** Variante où l'application se connecte par appUrl (FaultyDriver devant la même base H2, par exemple). */
+    public static synchronized void start(String appUrl) {
+        if (started) return;
+        System.setProperty("talentflow.db.url", appUrl);
+        System.setProperty("talentflow.db.user", "sa");
+        System.setProperty("talentflow.db.password", "");
+        // Même table de départ que talent_flow_db ; SchemaManager ajoute le reste au démarrage du pool
+        execute("CREATE TABLE IF NOT EXISTS user ("
+                + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                + "nom VARCHAR(50) NOT NULL, prenom VARCHAR(50) NOT NULL, "
+                + "email VARCHAR(100) NOT NULL UNIQUE, password VARCHAR(100) NOT NULL, "
+                + "role VARCHAR(20) NOT NULL, telephone VARCHAR(20) NOT NULL)");
+        MyConnection.getInstance();
+        started = true;
+    }
+
+    public static void truncate() {
+        // user est référencée par offre.recruteur_id : H2 refuse TRUNCATE tant que les contraintes sont vérifiées
+        execute("SET REFERENTIAL_INTEGRITY FALSE; TRUNCATE TABLE user RESTART IDENTITY; SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    public static void truncateOffres() {
+        execute("TRUNCATE TABLE offre RESTART IDENTITY");
+    }
+
+    /**
+     * Insère count utilisateurs de mot de passe PASSWORD, hachés comme en production au coût
+     * talentflow.kdf.iterations de la JVM : les benchmarks qui ne mesurent pas le hachage le réduisent.
+     */
+    public static void seed(UserDAO dao, int count, String prefix) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(sampleUser(prefix, i, PASSWORD));
+        }
+        dao.createAll(users);
+    }
+
+    public static User sampleUser(String prefix, long i, String password) {
+        return new User(0, "Nom" + (char) ('a' + i % 26), "Prenom", prefix + "." + i + "@talentflow.com",
+                password, i % 10 == 0 ? "RH" : "CANDIDAT", "2233" + String.format("%04d", i % 10_000));
+    }
+
+    private static final String[] POSTES = {"Développeur", "Ingénieur", "Architecte", "Analyste", "Chef de projet",
+            "Consultant", "Administrateur", "Technicien", "Responsable", "Stagiaire"};
+    private static final String[] DOMAINES = {"Java", "web", "données", "DevOps", "réseaux", "sécurité", "mobile",
+            "cloud", "ERP", "test", "embarqué", "IA"};
+    private static final String[] COMPETENCES = {"Java", "Spring", "SQL", "MySQL", "Docker", "Kubernetes", "Python",
+            "React", "Angular", "Linux", "Git", "AWS", "Azure", "Scrum", "C++", "Kotlin", "Flutter", "Pandas",
+            "TensorFlow", "Jenkins", "Terraform", "PHP", "Laravel", "Node.js", "TypeScript", "Cisco", "SAP", "JavaFX"};
+    private static final String[] VILLES = {"Tunis", "Sfax", "Sousse", "Ariana", "Nabeul", "Bizerte", "Monastir"};
+    private static final String[] PHRASES = {"Vous rejoindrez une équipe agile", "au sein d'un grand groupe",
+            "pour concevoir et maintenir des applications", "avec des clients internationaux",
+            "dans un environnement exigeant", "en télétravail partiel", "expérience de trois ans souhaitée",
+            "formation assurée", "évolution rapide", "projets innovants"};
+
+    /** Offre synthétique déterministe (pas d'insertion) : titre, compétences et description tirés de listes fixes. */
+    public static Offre sampleOffre(long i) {
+        java.util.Random random = new java.util.Random(i);
+        String poste = POSTES[random.nextInt(POSTES.length)];
+        String domaine = DOMAINES[random.nextInt(DOMAINES.length)];
+        StringBuilder competences = new StringBuilder();
+        for (int k = 0, n = 2 + random.nextInt(4); k < n; k++) {
+            if (k > 0) competences.append(", ");
+            competences.append(COMPETENCES[random.nextInt(COMPETENCES.length)]);
+        }
+        StringBuilder description = new StringBuilder(poste).append(' ').append(domaine).append(" : ");
+        for (int k = 0, n = 3 + random.nextInt(5); k < n; k++) {
+            description.append(PHRASES[random.nextInt(PHRASES.length)]).append(", ");
+        }
+        description.append("maîtrise de ").append(competences).append('.');
+        return new Offre(0, poste + " " + domaine, "Entreprise " + (i % 500), VILLES[random.nextInt(VILLES.length)],
+                description.toString(), competences.toString(), 0);
+    }
+
+    /** Affiche l'efficacité du cache de PreparedStatement du pool à la fin d'un essai. */
+    public static void printStatementCacheStats() {
+        ConnectionPool pool = MyConnection.getInstance().getPool();
+        System.out.printf("%nCache de statements : %d hits, %d misses, %d évictions (taux %.1f %%)%n",
+                pool.getStatementCacheHits(), pool.getStatementCacheMisses(),
+                pool.getStatementCacheEvictions(), pool.getStatementCacheHitRate() * 100);
+    }
+
+    private static void execute(String sql) {
+        try (Connection conn = DriverManager.getConnection(URL, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Base H2 de benchmark : " + e.getMessage(), e);
+        }
+    }
+}
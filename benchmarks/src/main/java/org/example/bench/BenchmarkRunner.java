@@ -0,0 +1,24 @@
+package org.example.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Point d'entrée du jar de benchmarks : mêmes options que JMH, avec un résultat JSON
+ * dans target/jmh-result.json par défaut pour comparer les versions entre elles.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(List.of("-rff", "target/jmh-result.json"));
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.bench;
+
+import org.example.dao.UserDAO;
+import org.example.io.ImportReport;
+import org.example.io.UserCsvImporter;
+import org.example.model.User;
+import org.example.security.PasswordHasher;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Vérification de l'import CSV avec mots de passe sur la base embarquée : plus de lignes par lot que la file
+ * du pool de hachage n'en contient (talentflow.kdf.queue, 256 par défaut). Chaque ligne doit être insérée
+ * avec une empreinte PBKDF2, et le mot de passe doit permettre de se connecter. Une ligne de plus, sans mot
+ * de passe, doit être rejetée.
+ * <pre>java -cp target/benchmarks.jar org.example.bench.BulkImportCheck [lignes]</pre>
+ * Code de sortie 1 si une vérification échoue.
+ */
+public class BulkImportCheck {
+    private static final String PASSWORD = "Secret#2024";
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_200;
+        // Coût réduit : on vérifie le chemin de hachage, pas sa durée
+        System.getProperties().putIfAbsent("talentflow.kdf.iterations", "1000");
+
+        BenchmarkDatabase.start();
+        BenchmarkDatabase.truncate();
+        UserDAO dao = new UserDAO();
+
+        Path dir = Files.createTempDirectory("talentflow-import");
+        Path csv = dir.resolve("users.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            out.write("nom,prenom,email,telephone,role,password\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("Nom" + (char) ('a' + i % 26) + ",Prenom,import." + i + "@talentflow.com,"
+                        + String.format("2233%04d", i % 10_000) + ",CANDIDAT," + PASSWORD + "\n");
+            }
+            out.write("Nom,Prenom,import.sans-mot-de-passe@talentflow.com,22339999,CANDIDAT,\n");
+        }
+
+        ImportReport report = new UserCsvImporter(dao).importFile(csv, dir.resolve("erreurs.csv"));
+        System.out.println(report);
+
+        boolean ok = check(report.getInserted() == rows, rows + " lignes insérées (" + report.getInserted() + ")");
+        ok &= check(report.getRejected() == 1, "ligne sans mot de passe rejetée (" + report.getRejected() + " rejet(s))");
+        ok &= check(dao.findByEmail("import.sans-mot-de-passe@talentflow.com") == null, "aucun compte créé sans mot de passe");
+        User last = dao.findByEmail("import." + (rows - 1) + "@talentflow.com");
+        ok &= check(last != null && PasswordHasher.isHashed(last.getPassword()), "mot de passe haché en base");
+        ok &= check(last != null && dao.login(last.getEmail(), PASSWORD) != null, "connexion avec le mot de passe importé");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean check(boolean condition, String description) {
+        System.out.println((condition ? "OK     " : "ÉCHEC  ") + description);
+        return condition;
+    }
+}
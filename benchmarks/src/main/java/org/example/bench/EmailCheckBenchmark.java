@@ -0,0 +1,95 @@
+package org.example.bench;
+
+import org.example.cache.EmailRegistry;
+import org.example.dao.UserDAO;
+import org.example.utils.MyConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contrôle d'existence de CHECKS emails (moitié nouveaux, moitié déjà pris) sur une table de ROWS comptes :
+ * une requête par email (avant), UserDAO.emailExists filtré par EmailRegistry, et le contrôle groupé de l'import.
+ * Sur H2 en mémoire l'aller-retour ne coûte presque rien : l'écart est bien plus grand face à un vrai serveur.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Seed haché à coût réduit : seules les lectures sont mesurées
+@Fork(value = 1, jvmArgsAppend = "-Dtalentflow.kdf.iterations=1000")
+@State(Scope.Benchmark)
+public class EmailCheckBenchmark {
+    private static final int ROWS = 50_000;
+    private static final int CHECKS = 1_000;
+
+    private UserDAO dao;
+    private final List<String> fresh = new ArrayList<>(CHECKS / 2);
+    private final List<String> taken = new ArrayList<>(CHECKS / 2);
+    private final List<String> mixed = new ArrayList<>(CHECKS);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkDatabase.start();
+        BenchmarkDatabase.truncate();
+        dao = new UserDAO();
+        BenchmarkDatabase.seed(dao, ROWS, "existing");
+        // Table vidée puis remplie : filtre reconstruit à partir de son contenu réel
+        EmailRegistry.getInstance().reload().join();
+        for (int i = 0; i < CHECKS / 2; i++) {
+            fresh.add(BenchmarkDatabase.sampleUser("nouveau", i, "").getEmail());
+            taken.add(BenchmarkDatabase.sampleUser("existing", i * (ROWS / CHECKS), "").getEmail());
+        }
+        for (int i = 0; i < CHECKS / 2; i++) {
+            mixed.add(fresh.get(i));
+            mixed.add(taken.get(i));
+        }
+    }
+
+    @Benchmark
+    public int queryPerEmail() throws SQLException {
+        int found = 0;
+        // Comme un contrôle par inscription : une connexion empruntée et une requête par email
+        for (String email : mixed) {
+            try (Connection conn = MyConnection.getInstance().getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM user WHERE email = ? LIMIT 1")) {
+                pstmt.setString(1, email);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int filteredPerEmail() {
+        int found = 0;
+        for (String email : mixed) {
+            if (dao.emailExists(email)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Set<String> filteredBulk() {
+        return dao.findExistingEmails(mixed);
+    }
+}
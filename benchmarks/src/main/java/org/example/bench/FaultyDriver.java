@@ -0,0 +1,224 @@
+package org.example.bench;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Pilote JDBC d'essai qui simule les pannes d'un serveur MySQL devant une vraie base :
+ * "jdbc:faulty:h2:mem:..." ouvre "jdbc:h2:mem:..." et fait passer connexions et statements par un proxy.
+ * <ul>
+ * <li>setDown(true) : serveur arrêté. L'ouverture échoue (08S01) après connectDelayMs, comme un délai
+ * de connexion TCP ; les connexions ouvertes avant la panne échouent aussi, et le restent après le retour
+ * du serveur (sessions perdues au redémarrage) : seules de nouvelles connexions fonctionnent.</li>
+ * <li>setTransientFailureRate(p) : chaque exécution de requête échoue avec la probabilité p sur un verrou
+ * mortel (SQLSTATE 40001, code MySQL 1213), erreur qu'un nouvel essai fait disparaître.</li>
+ * </ul>
+ */
+public final class FaultyDriver implements Driver {
+    public static final String PREFIX = "jdbc:faulty:";
+
+    private static final FaultyDriver INSTANCE = new FaultyDriver();
+    private static boolean registered;
+    private static volatile boolean down;
+    // Incrémentée à chaque panne : une connexion d'une génération passée est morte
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static volatile double transientFailureRate;
+    private static volatile long connectDelayMs = 100;
+    private static final LongAdder injectedTransient = new LongAdder();
+    private static final LongAdder refusedConnects = new LongAdder();
+
+    private FaultyDriver() {
+    }
+
+    public static synchronized void register() throws SQLException {
+        if (registered) return;
+        DriverManager.registerDriver(INSTANCE);
+        registered = true;
+    }
+
+    /** URL faulty devant l'URL JDBC donnée. */
+    public static String wrap(String url) {
+        return PREFIX + url.substring("jdbc:".length());
+    }
+
+    public static void setDown(boolean value) {
+        if (value && !down) generation.incrementAndGet();
+        down = value;
+    }
+
+    public static boolean isDown() {
+        return down;
+    }
+
+    public static void setTransientFailureRate(double rate) {
+        transientFailureRate = rate;
+    }
+
+    public static void setConnectDelayMs(long millis) {
+        connectDelayMs = millis;
+    }
+
+    public static long getInjectedTransientFailures() {
+        return injectedTransient.sum();
+    }
+
+    public static long getRefusedConnects() {
+        return refusedConnects.sum();
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) return null;
+        if (down) {
+            refusedConnects.increment();
+            try {
+                Thread.sleep(connectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw linkFailure();
+        }
+        Connection real = DriverManager.getConnection("jdbc:" + url.substring(PREFIX.length()), info);
+        FaultyConnection handler = new FaultyConnection(real, generation.get());
+        handler.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+        return handler.proxy;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    // Message et SQLSTATE de Connector/J quand le serveur ne répond plus
+    private static SQLException linkFailure() {
+        return new SQLNonTransientConnectionException("Communications link failure", "08S01");
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class FaultyConnection implements InvocationHandler {
+        final Connection real;
+        final int generation;
+        Connection proxy;
+
+        FaultyConnection(Connection real, int generation) {
+            this.real = real;
+            this.generation = generation;
+        }
+
+        boolean dead() {
+            return down || generation != FaultyDriver.generation.get();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "isClosed":
+                    return forward(real, method, args);
+                case "isValid":
+                    return !dead() && real.isValid((Integer) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (dead()) throw linkFailure();
+            Object result = forward(real, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        new FaultyStatement(this, statement));
+            }
+            return result;
+        }
+    }
+
+    private static final class FaultyStatement implements InvocationHandler {
+        final FaultyConnection connection;
+        final Statement real;
+
+        FaultyStatement(FaultyConnection connection, Statement real) {
+            this.connection = connection;
+            this.real = real;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                case "isClosed":
+                    return forward(real, method, args);
+                case "getConnection":
+                    return connection.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (connection.dead()) throw linkFailure();
+            if (name.startsWith("execute") && ThreadLocalRandom.current().nextDouble() < transientFailureRate) {
+                injectedTransient.increment();
+                throw new SQLTransactionRollbackException("Deadlock found when trying to get lock; try restarting transaction",
+                        "40001", 1213);
+            }
+            return forward(real, method, args);
+        }
+    }
+}
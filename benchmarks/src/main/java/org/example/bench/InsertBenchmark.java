@@ -0,0 +1,86 @@
+package org.example.bench;
+
+import org.example.dao.BatchInsertResult;
+import org.example.dao.UserDAO;
+import org.example.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insertion de ROWS utilisateurs : ligne à ligne (create) contre lots JDBC (createAll).
+ * Chaque ligne a un vrai mot de passe : le hachage (pool de PasswordHasher) fait partie de la mesure,
+ * au coût réduit de LoginBenchmark. Au coût de production, compter en plus ROWS fois KdfBenchmark
+ * divisé par le nombre de threads de hachage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dtalentflow.kdf.iterations=10000")
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+    private static final int ROWS = 1_000;
+
+    @Param({"100", "500"})
+    public int batchSize;
+
+    // 0 : chaque appel re-prépare sa requête (avant) ; 64 : statements réutilisés par connexion (après)
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    private UserDAO dao;
+    private List<User> users;
+    private long round;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Chaque combinaison de @Param tourne dans sa propre JVM : le pool est créé avec cette taille
+        System.setProperty("talentflow.pool.statementCacheSize", Integer.toString(statementCacheSize));
+        BenchmarkDatabase.start();
+        dao = new UserDAO();
+    }
+
+    @Setup(Level.Invocation)
+    public void freshRows() {
+        BenchmarkDatabase.truncate();
+        users = new ArrayList<>(ROWS);
+        round++;
+        for (int i = 0; i < ROWS; i++) {
+            users.add(BenchmarkDatabase.sampleUser("insert" + round, i, BenchmarkDatabase.PASSWORD));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        BenchmarkDatabase.printStatementCacheStats();
+    }
+
+    @Benchmark
+    public int rowAtATime() {
+        int created = 0;
+        for (User user : users) {
+            if (dao.create(user).isCreated()) created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public BatchInsertResult batched() {
+        return dao.createAll(users, batchSize);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.bench;
+
+import org.example.security.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durée d'un hachage PBKDF2 selon le coût. Choisir le plus grand nombre d'itérations
+ * qui tient dans le budget de latence du login, puis le passer en -Dtalentflow.kdf.iterations=...
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KdfBenchmark {
+
+    @Param({"100000", "210000", "310000", "600000"})
+    public int iterations;
+
+    @Benchmark
+    public String hash() {
+        return PasswordHasher.hash("Secret#2024", iterations);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.bench;
+
+import org.example.dao.UserDAO;
+import org.example.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login complet (recherche par email + vérification PBKDF2) sur la base embarquée.
+ * Le coût PBKDF2 est volontairement réduit ici : KdfBenchmark mesure le hachage seul.
+ * LoginGuard est désactivé : il refuserait la rafale de tentatives sur un même email.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dtalentflow.kdf.iterations=10000", "-Dtalentflow.login.guard=false"})
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+    private static final String PASSWORD = "Secret#2024";
+
+    // 0 : chaque appel re-prépare sa requête (avant) ; 64 : statements réutilisés par connexion (après)
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    private UserDAO dao;
+    private String email;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Chaque combinaison de @Param tourne dans sa propre JVM : le pool est créé avec cette taille
+        System.setProperty("talentflow.pool.statementCacheSize", Integer.toString(statementCacheSize));
+        BenchmarkDatabase.start();
+        BenchmarkDatabase.truncate();
+        dao = new UserDAO();
+        BenchmarkDatabase.seed(dao, 10_000, "login");
+        User user = BenchmarkDatabase.sampleUser("login-target", 0, PASSWORD);
+        dao.create(user);
+        email = user.getEmail();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        BenchmarkDatabase.printStatementCacheStats();
+    }
+
+    @Benchmark
+    public User successfulLogin() {
+        return dao.login(email, PASSWORD);
+    }
+
+    @Benchmark
+    public User unknownEmail() {
+        return dao.login("inconnu@talentflow.com", PASSWORD);
+    }
+}
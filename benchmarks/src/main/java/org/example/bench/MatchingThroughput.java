@@ -0,0 +1,117 @@
+package org.example.bench;
+
+import org.example.matching.MatchingEngine;
+import org.example.model.Offre;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Débit du rapprochement candidats / offres (MatchingEngine) sur des données synthétiques, hors base :
+ * paires candidat × offre évaluées par seconde pour un classement complet, au total et par cœur,
+ * pour chaque nombre de threads du pool fork/join. Mesure aussi la mise à jour incrémentale d'un candidat.
+ * <pre>java -Xmx3g -cp target/benchmarks.jar org.example.bench.MatchingThroughput [candidats] [offres] [threads,threads,...]</pre>
+ * Compétences tirées d'un vocabulaire de SKILLS termes selon une loi de Zipf (quelques technologies très
+ * répandues, une longue traîne de rares), 3 à 10 par candidat, 3 à 8 par offre.
+ */
+public class MatchingThroughput {
+    private static final int SKILLS = 2_000;
+    private static final int TOP_K = 50;
+    private static final int RUNS = 3;
+    private static final int UPDATES = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int candidates = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int offres = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        String levels = args.length > 2 ? args[2] : "1," + Runtime.getRuntime().availableProcessors();
+
+        Zipf zipf = new Zipf(SKILLS, 1.1);
+        String[] skills = new String[candidates];
+        Random random = new Random(42);
+        for (int i = 0; i < candidates; i++) {
+            skills[i] = skills(zipf, random, 3 + random.nextInt(8));
+        }
+        List<Offre> offers = new ArrayList<>(offres);
+        for (int i = 0; i < offres; i++) {
+            offers.add(new Offre(i + 1, "Poste " + skills(zipf, random, 2), "Entreprise " + i, "Tunis", "",
+                    skills(zipf, random, 3 + random.nextInt(6)), 0));
+        }
+        MatchingEngine.Source source = new MatchingEngine.Source() {
+            @Override
+            public void forEachCandidate(ObjIntConsumer<String> sink) {
+                for (int i = 0; i < candidates; i++) sink.accept(skills[i], i + 1);
+            }
+
+            @Override
+            public List<Offre> readOffres() {
+                return offers;
+            }
+        };
+
+        System.out.printf("%,d candidats × %,d offres, top %d, %d cœur(s) disponible(s)%n",
+                candidates, offres, TOP_K, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%n%8s %12s %16s %18s %14s%n", "threads", "classement", "paires/s", "paires/s/cœur", "maj candidat");
+        for (String level : levels.split(",")) {
+            int threads = Integer.parseInt(level.trim());
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            MatchingEngine engine = new MatchingEngine(pool, TOP_K);
+            engine.rebuild(source);
+            // Premier passage à vide : compilation du parcours avant les mesures
+            engine.scoreAll();
+
+            long best = Long.MAX_VALUE;
+            long pairs = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long t0 = System.nanoTime();
+                pairs = engine.scoreAll();
+                best = Math.min(best, System.nanoTime() - t0);
+            }
+            double perSecond = pairs / (best / 1e9);
+            int cores = Math.min(threads, Runtime.getRuntime().availableProcessors());
+
+            // Candidats modifiés un à un : chaque classement gardé est tenu à jour sans reparcours
+            long t0 = System.nanoTime();
+            for (int i = 0; i < UPDATES; i++) {
+                int userId = 1 + random.nextInt(candidates);
+                engine.onCandidateChanged(userId, skills(zipf, random, 3 + random.nextInt(8)));
+            }
+            double updateMicros = (System.nanoTime() - t0) / 1e3 / UPDATES;
+
+            System.out.printf("%8d %10.0f ms %16.3e %18.3e %11.1f µs%n", threads, best / 1e6, perSecond,
+                    perSecond / cores, updateMicros);
+            pool.shutdown();
+        }
+    }
+
+    private static String skills(Zipf zipf, Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < count; k++) {
+            if (k > 0) sb.append(", ");
+            sb.append("tech").append(zipf.next(random));
+        }
+        return sb.toString();
+    }
+
+    /** Tirage de rangs 0..n-1 de probabilité proportionnelle à 1/(rang+1)^s, par table cumulée. */
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double s) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, s);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) cumulative[i] /= sum;
+        }
+
+        int next(Random random) {
+            int index = java.util.Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.bench;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surcoût de l'instrumentation par opération dans chaque mode (off, lite, full),
+ * sur 4 threads pour mesurer aussi la contention sur les compteurs partagés.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({"off", "lite", "full"})
+    public String mode;
+
+    private Timer timer;
+    private Counter counter;
+
+    @Setup
+    public void setup() {
+        // Chaque valeur de @Param tourne dans sa propre JVM : Metrics lit le mode à son premier chargement
+        System.setProperty("talentflow.metrics.mode", mode);
+        timer = Metrics.timer("bench.timer");
+        counter = Metrics.counter("bench.counter");
+    }
+
+    @Benchmark
+    public void timedOperation() {
+        long t0 = timer.start();
+        timer.stop(t0);
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+}
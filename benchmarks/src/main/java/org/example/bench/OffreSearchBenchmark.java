@@ -0,0 +1,104 @@
+package org.example.bench;
+
+import org.example.dao.OffreDAO;
+import org.example.model.Offre;
+import org.example.search.OffreIndex;
+import org.example.utils.MyConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche d'offres à deux mots : index inversé en mémoire (OffreIndex, classé BM25) face à la requête
+ * LIKE '%...%' qu'il remplace (parcours complet de la table, sans classement), sur la base embarquée.
+ * Mesure aussi la mise à jour incrémentale de l'index et sa reconstruction complète.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffreSearchBenchmark {
+    private static final String LIKE_SEARCH = "SELECT * FROM offre WHERE "
+            + "(titre LIKE ? OR description LIKE ? OR competences LIKE ?) AND "
+            + "(titre LIKE ? OR description LIKE ? OR competences LIKE ?) LIMIT 50";
+
+    @Param({"10000"})
+    public int offres;
+
+    private OffreDAO dao;
+    private final OffreIndex index = OffreIndex.getInstance();
+    private List<Offre> all;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        BenchmarkDatabase.start();
+        BenchmarkDatabase.truncateOffres();
+        dao = new OffreDAO();
+        for (int i = 0; i < offres; i++) {
+            dao.create(BenchmarkDatabase.sampleOffre(i));
+        }
+        index.rebuild(dao::readAll);
+        all = dao.readAll();
+    }
+
+    @Benchmark
+    public List<Offre> indexSearch() {
+        return index.search("développeur docker", 50);
+    }
+
+    @Benchmark
+    public List<Offre> indexPrefixSearch() {
+        return index.search("ingénieur kube", 50);
+    }
+
+    @Benchmark
+    public List<Offre> likeScan() throws SQLException {
+        List<Offre> found = new ArrayList<>();
+        try (Connection conn = MyConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(LIKE_SEARCH)) {
+            for (int i = 0; i < 3; i++) {
+                pstmt.setString(1 + i, "%développeur%");
+                pstmt.setString(4 + i, "%docker%");
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    found.add(OffreDAO.mapOffre(rs));
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public void incrementalUpdate() {
+        Offre offre = all.get(next++ % all.size());
+        index.put(offre);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int rebuild() throws SQLException {
+        index.rebuild(() -> all);
+        return index.size();
+    }
+}
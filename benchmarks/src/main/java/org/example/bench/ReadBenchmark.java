@@ -0,0 +1,61 @@
+package org.example.bench;
+
+import org.example.dao.UserDAO;
+import org.example.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * readAll (toute la table en mémoire) contre la première page et le parcours en flux page par page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Seed haché à coût réduit : seules les lectures sont mesurées
+@Fork(value = 1, jvmArgsAppend = "-Dtalentflow.kdf.iterations=1000")
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"10000", "100000"})
+    public int tableSize;
+
+    private UserDAO dao;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkDatabase.start();
+        BenchmarkDatabase.truncate();
+        dao = new UserDAO();
+        BenchmarkDatabase.seed(dao, tableSize, "read");
+    }
+
+    @Benchmark
+    public List<User> readAll() {
+        return dao.readAll();
+    }
+
+    @Benchmark
+    public List<User> firstPage() {
+        return dao.readPage(0, 100);
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole bh) {
+        dao.streamAll(UserDAO.DEFAULT_PAGE_SIZE).forEach(bh::consume);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.bench;
+
+import org.example.dao.DataAccessException;
+import org.example.dao.DatabaseUnavailableException;
+import org.example.dao.UserDAO;
+import org.example.utils.CircuitBreaker;
+import org.example.utils.MyConnection;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Exercice de panne : des lecteurs appellent UserDAO.findById en continu pendant que FaultyDriver simule
+ * des verrous mortels puis l'arrêt et le redémarrage du serveur. Affiche seconde par seconde les lectures
+ * réussies, les échecs rapides (circuit ouvert, moins de FAST_MS) et lents, la pire latence et l'état
+ * du disjoncteur, puis le délai entre le retour de la base et la première lecture réussie.
+ * <pre>java -cp target/benchmarks.jar org.example.bench.ResilienceDrill [lecteurs] [panne ms] [taux d'erreurs transitoires]</pre>
+ * Pour comparer sans reprise ni disjoncteur :
+ * -Dtalentflow.db.retry.attempts=1 -Dtalentflow.db.breaker.failures=1000000
+ */
+public class ResilienceDrill {
+    private static final int USERS = 2_000;
+    private static final int BEFORE_S = 3;
+    private static final int AFTER_S = 4;
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    public static void main(String[] args) throws Exception {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        long outageMs = args.length > 1 ? Long.parseLong(args[1]) : 5_000;
+        double transientRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.05;
+
+        // Délais et coût de hachage du seed réduits pour que l'exercice tienne en quelques secondes (surchargeables en -D)
+        System.getProperties().putIfAbsent("talentflow.db.breaker.openMs", "1000");
+        System.getProperties().putIfAbsent("talentflow.db.probe.periodMs", "250");
+        System.getProperties().putIfAbsent("talentflow.kdf.iterations", "1000");
+        FaultyDriver.register();
+        BenchmarkDatabase.start(FaultyDriver.wrap(BenchmarkDatabase.URL));
+        BenchmarkDatabase.truncate();
+        UserDAO dao = new UserDAO();
+        BenchmarkDatabase.seed(dao, USERS, "drill");
+        int firstId = dao.readPage(0, 1).get(0).getId();
+        CircuitBreaker breaker = MyConnection.getInstance().getBreaker();
+
+        int seconds = BEFORE_S + (int) ((outageMs + 999) / 1000) + AFTER_S;
+        AtomicLongArray ok = new AtomicLongArray(seconds + 1);
+        AtomicLongArray fastFail = new AtomicLongArray(seconds + 1);
+        AtomicLongArray slowFail = new AtomicLongArray(seconds + 1);
+        AtomicLongArray worstMicros = new AtomicLongArray(seconds + 1);
+        AtomicLong restoredAt = new AtomicLong();
+        AtomicLong firstReadAfterRestore = new AtomicLong();
+        String[] states = new String[seconds + 1];
+
+        // Les DAO tracent chaque erreur SQL sur stderr (une ligne par lecture refusée) : des milliers pendant la panne
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+        FaultyDriver.setTransientFailureRate(transientRate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            Thread t = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    boolean found;
+                    try {
+                        found = dao.findById(firstId + random.nextInt(USERS)) != null;
+                    } catch (DataAccessException e) {
+                        found = false;
+                    }
+                    long done = System.nanoTime();
+                    int second = (int) TimeUnit.NANOSECONDS.toSeconds(now - start);
+                    long elapsed = done - now;
+                    if (found) {
+                        ok.incrementAndGet(second);
+                        long restored = restoredAt.get();
+                        if (restored != 0 && now >= restored) firstReadAfterRestore.compareAndSet(0, done);
+                    } else if (elapsed < FAST_NANOS) {
+                        fastFail.incrementAndGet(second);
+                    } else {
+                        slowFail.incrementAndGet(second);
+                    }
+                    worstMicros.accumulateAndGet(second, elapsed / 1_000, Math::max);
+                }
+            }, "drill-reader-" + r);
+            threads.add(t);
+            t.start();
+        }
+
+        String loginDuringOutage = "";
+        for (int s = 0; s < seconds; s++) {
+            if (s == BEFORE_S) FaultyDriver.setDown(true);
+            if (s == BEFORE_S + 1) {
+                try {
+                    dao.login("drill.0@talentflow.com", "x");
+                    loginDuringOutage = "login pendant la panne : pas d'exception";
+                } catch (DatabaseUnavailableException e) {
+                    loginDuringOutage = "login pendant la panne : DatabaseUnavailableException (Retry-After "
+                            + e.getRetryAfterSeconds() + " s), tentative non comptée";
+                }
+            }
+            long wake = start + TimeUnit.SECONDS.toNanos(s + 1);
+            if (s == BEFORE_S + (int) (outageMs / 1000) && FaultyDriver.isDown()) {
+                // Retour du serveur en cours de seconde si la panne ne dure pas un nombre entier de secondes
+                TimeUnit.NANOSECONDS.sleep(start + TimeUnit.MILLISECONDS.toNanos(BEFORE_S * 1000L + outageMs) - System.nanoTime());
+                FaultyDriver.setDown(false);
+                restoredAt.set(System.nanoTime());
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, wake - System.nanoTime()));
+            states[s] = breaker.getState().name();
+        }
+        for (Thread t : threads) t.join();
+        System.setErr(err);
+
+        System.out.printf("%d lecteurs, panne de %d ms à t=%d s, %.0f %% d'erreurs transitoires injectées%n%n",
+                readers, outageMs, BEFORE_S, transientRate * 100);
+        System.out.printf("%4s %-8s %10s %12s %12s %12s  %s%n", "t", "base", "lectures", "échecs <5ms", "échecs lents", "pire (ms)", "disjoncteur");
+        long healthyErrors = 0;
+        long healthyReads = 0;
+        for (int s = 0; s < seconds; s++) {
+            boolean outage = s >= BEFORE_S && s < BEFORE_S + (outageMs + 999) / 1000;
+            if (!outage && s < BEFORE_S) {
+                healthyErrors += fastFail.get(s) + slowFail.get(s);
+                healthyReads += ok.get(s);
+            }
+            System.out.printf("%4d %-8s %10d %12d %12d %12.1f  %s%n", s, outage ? "PANNE" : "ok", ok.get(s),
+                    fastFail.get(s), slowFail.get(s), worstMicros.get(s) / 1e3, states[s]);
+        }
+        System.out.printf("%nAvant la panne : %d lectures, %d échecs visibles, %d erreurs transitoires injectées au total%n",
+                healthyReads, healthyErrors, FaultyDriver.getInjectedTransientFailures());
+        System.out.println(loginDuringOutage);
+        if (firstReadAfterRestore.get() != 0) {
+            System.out.printf("Reprise : première lecture réussie %.0f ms après le retour de la base%n",
+                    (firstReadAfterRestore.get() - restoredAt.get()) / 1e6);
+        } else {
+            System.out.println("Reprise : aucune lecture réussie après le retour de la base");
+        }
+        System.out.printf("Ouvertures refusées par le serveur pendant la panne : %d%n", FaultyDriver.getRefusedConnects());
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.bench;
+
+import org.example.dao.UserDAO;
+import org.example.model.User;
+import org.example.model.UserStore;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Octets de tas retenus par utilisateur chargé : List&lt;User&gt; (UserDAO.mapUser) face à UserStore
+ * (UserDAO.appendTo). Mesure de mémoire vivante après GC, hors JMH (qui mesure des temps) :
+ * <pre>java -cp target/benchmarks.jar org.example.bench.UserFootprint [nombre d'utilisateurs]</pre>
+ * Les lignes viennent d'un ResultSet simulé qui, comme le pilote MySQL, décode une nouvelle chaîne
+ * à chaque getString (la base H2 en mémoire rendrait ses propres chaînes, partagées avec la table).
+ */
+public class UserFootprint {
+    private static final int NOMS = 2_000;
+    private static final int PRENOMS = 500;
+    private static final String[] FULL = {"id", "nom", "prenom", "email", "password", "role", "telephone", "version", "competences"};
+    private static final String[] COMPACT = {"id", "nom", "prenom", "email", "role", "telephone"};
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        byte[][][] rows = rows(count);
+
+        // Premier passage à vide : classes chargées et compilées avant les mesures
+        readObjects(rows);
+        readCompact(rows);
+
+        long before = usedHeap();
+        List<User> users = readObjects(rows);
+        long objects = usedHeap() - before;
+        Reference.reachabilityFence(users);
+        users = null;
+
+        // Même liste sans les empreintes, pour isoler le gain de la disposition en colonnes
+        before = usedHeap();
+        users = readObjects(rows);
+        users.forEach(u -> u.setPassword(null));
+        long withoutPasswords = usedHeap() - before;
+        Reference.reachabilityFence(users);
+        users = null;
+
+        before = usedHeap();
+        UserStore store = readCompact(rows);
+        long compact = usedHeap() - before;
+        Reference.reachabilityFence(store);
+
+        System.out.printf("%,d utilisateurs%n", count);
+        System.out.printf("List<User> : %,d octets (%d octets/utilisateur)%n", objects, objects / count);
+        System.out.printf("List<User> sans mot de passe : %,d octets (%d octets/utilisateur)%n",
+                withoutPasswords, withoutPasswords / count);
+        System.out.printf("UserStore  : %,d octets (%d octets/utilisateur)%n", compact, compact / count);
+        System.out.printf("Gain       : x%.1f (x%.1f sans mot de passe)%n",
+                (double) objects / compact, (double) withoutPasswords / compact);
+    }
+
+    private static List<User> readObjects(byte[][][] rows) throws SQLException {
+        ResultSet rs = resultSet(rows, FULL);
+        List<User> users = new ArrayList<>();
+        while (rs.next()) {
+            users.add(UserDAO.mapUser(rs));
+        }
+        return users;
+    }
+
+    private static UserStore readCompact(byte[][][] rows) throws SQLException {
+        ResultSet rs = resultSet(rows, COMPACT);
+        UserStore store = new UserStore();
+        while (rs.next()) {
+            UserDAO.appendTo(store, rs);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * Noms et prénoms tirés de listes de taille réaliste, emails uniques, empreinte de mot de passe
+     * de la taille de celles de PasswordHasher (readAll la charge, une lecture compacte jamais).
+     */
+    private static byte[][][] rows(int count) {
+        byte[][][] rows = new byte[count][][];
+        for (int i = 0; i < count; i++) {
+            String[] values = {Integer.toString(i + 1), "Nom" + (i * 7919 % NOMS), "Prenom" + (i * 104729 % PRENOMS),
+                    "candidat." + i + "@talentflow.com",
+                    "pbkdf2-sha256$310000$" + Integer.toHexString(i * 31) + "c2VsZGVtb25zZWw$ZW1wcmVpbnRlZGVtb25tb3RkZXBhc3Nl",
+                    i % 10 == 0 ? "RH" : "CANDIDAT", String.format("2%07d", i), "0", ""};
+            rows[i] = new byte[values.length][];
+            for (int c = 0; c < values.length; c++) {
+                rows[i][c] = values[c].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        return rows;
+    }
+
+    // ResultSet minimal : next, getInt et getString par position (1..n dans columns) ou par nom
+    private static ResultSet resultSet(byte[][][] rows, String[] columns) {
+        List<String> full = List.of(FULL);
+        int[] position = new int[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            position[c] = full.indexOf(columns[c]);
+        }
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.length;
+                        case "getString":
+                        case "getInt": {
+                            int column = args[0] instanceof Integer index
+                                    ? position[index - 1]
+                                    : full.indexOf((String) args[0]);
+                            String value = new String(rows[cursor[0]][column], StandardCharsets.UTF_8);
+                            return method.getName().equals("getInt") ? (Object) Integer.parseInt(value) : value;
+                        }
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
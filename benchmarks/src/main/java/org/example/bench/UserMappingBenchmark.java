@@ -0,0 +1,60 @@
+package org.example.bench;
+
+import org.example.dao.UserDAO;
+import org.example.model.User;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion ResultSet -> User isolée de la base : un ResultSet en mémoire de ROWS lignes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserMappingBenchmark {
+    private static final int ROWS = 1_000;
+    private Object[][] rows;
+
+    @Setup
+    public void setup() {
+        rows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            User u = BenchmarkDatabase.sampleUser("map", i, "pbkdf2-sha256$310000$c2VsCg$ZW1wcmVpbnRlCg");
+            rows[i] = new Object[]{i + 1, u.getNom(), u.getPrenom(), u.getEmail(), u.getPassword(), u.getRole(), u.getTelephone(), 0, u.getCompetences()};
+        }
+    }
+
+    @Benchmark
+    public void mapRows(Blackhole bh) throws SQLException {
+        SimpleResultSet rs = new SimpleResultSet();
+        rs.addColumn("id", Types.INTEGER, 10, 0);
+        for (String column : new String[]{"nom", "prenom", "email", "password", "role", "telephone"}) {
+            rs.addColumn(column, Types.VARCHAR, 255, 0);
+        }
+        rs.addColumn("version", Types.INTEGER, 10, 0);
+        rs.addColumn("competences", Types.VARCHAR, 500, 0);
+        for (Object[] row : rows) {
+            rs.addRow(row);
+        }
+        while (rs.next()) {
+            bh.consume(UserDAO.mapUser(rs));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.bench;
+
+import org.example.model.User;
+import org.example.utils.UserValidator;
+import org.example.utils.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Contrôles de saisie : scanneurs de UserValidator (via ValidationUtils) face aux appels
+ * Pattern.matches qu'ils remplacent, plus la validation d'un lot d'utilisateurs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+    // Anciennes règles de ValidationUtils, recompilées à chaque appel comme avant
+    private static final String NAME_REGEX = "^[a-zA-ZÀ-ÿ\\s]{2,20}$";
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@(.+)$";
+    private static final String TEL_REGEX = "^[0-9]{8}$";
+    private static final String PWD_REGEX = "^(?=.*[A-Z])(?=.*[0-9])(?=.*[@#$%^&+=!*])(?=\\S+$).{8,}$";
+
+    private final String name = "Ben Salah";
+    private final String email = "ahmed.bensalah@talentflow.tn";
+    private final String tel = "22334455";
+    private final String password = "Secret#2024";
+
+    @Param({"10000"})
+    private int batchSize;
+
+    private List<User> batch;
+
+    @Setup
+    public void setUp() {
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(BenchmarkDatabase.sampleUser("bench", i, i % 3 == 0 ? "faible" : "Secret#2024"));
+        }
+    }
+
+    @Benchmark
+    public boolean nameRegex() {
+        return !Pattern.matches(NAME_REGEX, name);
+    }
+
+    @Benchmark
+    public boolean name() {
+        return ValidationUtils.isInvalidName(name);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return !Pattern.matches(EMAIL_REGEX, email);
+    }
+
+    @Benchmark
+    public boolean email() {
+        return ValidationUtils.isInvalidEmail(email);
+    }
+
+    @Benchmark
+    public boolean telephoneRegex() {
+        return !Pattern.matches(TEL_REGEX, tel);
+    }
+
+    @Benchmark
+    public boolean telephone() {
+        return ValidationUtils.isInvalidTel(tel);
+    }
+
+    @Benchmark
+    public boolean passwordRegex() {
+        return !Pattern.matches(PWD_REGEX, password);
+    }
+
+    @Benchmark
+    public boolean password() {
+        return ValidationUtils.isInvalidPassword(password);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int batchSequential() {
+        int invalid = 0;
+        for (User user : batch) {
+            if (UserValidator.validate(user, true) != 0) invalid++;
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int[] batchParallel() {
+        return UserValidator.validateAll(batch, true);
+    }
+}
@@ -4,6 +4,8 @@ module org.example.talentflow {
     requires java.sql;
     requires javafx.graphics;
     requires mysql.connector.j; // Ajout important pour la base de données
+    requires jdk.httpserver; // API HTTP du mode sans interface (org.example.api)
+    requires java.management; // Durée depuis le lancement de la JVM (mesure de la première image)
 
     // Autorise JavaFX à accéder aux contrôleurs
     opens org.example.GUI to javafx.fxml;
@@ -19,4 +21,8 @@ module org.example.talentflow {
     exports org.example.GUI;
     exports org.example.model;
     exports org.example.dao;
+    exports org.example.service;
+    exports org.example.io;
+    exports org.example.security;
+    exports org.example.metrics;
 }
\ No newline at end of file
@@ -1,36 +1,54 @@
 package org.example;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.GUI.ViewRegistry;
+import org.example.metrics.Metrics;
+import org.example.metrics.MetricsExporter;
+import org.example.service.ServiceRegistry;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 
 public class App extends Application {
+    // Instant de chargement de la classe, au plus près de main()
+    private static final long MAIN_NANOS = System.nanoTime();
+    private static volatile double firstFrameMillis = -1;
+
+    static {
+        Metrics.gauge("startup.firstFrameMs", () -> firstFrameMillis);
+    }
 
     @Override
     public void start(Stage stage) {
+        // Export périodique des métriques si -Dtalentflow.metrics.file est défini
+        MetricsExporter.startFromProperties();
         try {
             // 1. On charge la vue de CONNEXION au démarrage
-            // C'est le point d'entrée sécurisé de TalentFlow
-            Parent root = FXMLLoader.load(getClass().getResource("/org/example/LoginView.fxml"));
-
-            // 2. Créer la scène initiale
-            Scene scene = new Scene(root);
-
-            // 3. Configurer la fenêtre principale
-            stage.setTitle("TalentFlow - Connexion");
-            stage.setScene(scene);
+            // C'est le point d'entrée sécurisé de TalentFlow ; sa scène est ensuite réutilisée par toutes les vues.
+            // Aucun accès à la base ici : les DAO sont créés à la première opération (ServiceRegistry)
+            ViewRegistry registry = ViewRegistry.getInstance();
+            registry.show(stage, ViewRegistry.LOGIN, "TalentFlow - Connexion");
 
             // Définir une taille minimale raisonnable pour le Login
             stage.setMinWidth(600);
             stage.setMinHeight(450);
 
-            // 4. Afficher la fenêtre
+            // 2. Afficher la fenêtre
             stage.show();
 
+            // 3. Après la première image : base et DAO préparés en arrière-plan, pages suivantes probables
+            // analysées quand le thread JavaFX est libre, pendant la saisie, sans retarder l'affichage
+            onFirstFrame(stage.getScene(), () -> {
+                ServiceRegistry.getInstance().warmUp().whenComplete((ignored, error) -> {
+                    // Exécution d'entraînement de l'archive CDS (profil Maven cds) : classes du démarrage chargées
+                    if (Boolean.getBoolean("talentflow.startup.exitAfterWarmUp")) Platform.exit();
+                });
+                registry.preload(ViewRegistry.REGISTER, ViewRegistry.DASHBOARD);
+            });
+
             System.out.println("Page de connexion lancée avec succès !");
 
         } catch (IOException e) {
@@ -42,6 +60,24 @@ public class App extends Application {
         }
     }
 
+    /**
+     * Exécute action une fois, à la première impulsion de rendu de la scène (mise en page faite, image
+     * sur le point d'être peinte), et enregistre le temps écoulé depuis le lancement (startup.firstFrameMs).
+     */
+    private static void onFirstFrame(Scene scene, Runnable action) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (firstFrameMillis >= 0) return;
+            firstFrameMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            System.out.printf("Première image : %.0f ms après le lancement de la JVM (%.0f ms depuis main)%n",
+                    firstFrameMillis, (System.nanoTime() - MAIN_NANOS) / 1e6);
+            // Retiré hors de l'itération des écouteurs en cours
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(listener[0]));
+            action.run();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
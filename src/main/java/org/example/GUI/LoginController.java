@@ -1,23 +1,38 @@
 package org.example.GUI;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import org.example.dao.UserDAO;
+import org.example.dao.DatabaseUnavailableException;
 import org.example.model.User;
+import org.example.security.LoginThrottledException;
+import org.example.service.AsyncUserService;
+import org.example.utils.ValidationUtils;
 import java.io.IOException;
-import java.util.regex.Pattern;
 
-public class LoginController {
+public class LoginController implements Refreshable {
 
     @FXML private TextField emailField;
     @FXML private PasswordField passwordField;
     @FXML private Label errorLabel;
 
-    private UserDAO userDAO = new UserDAO();
+    private final AsyncUserService userService = new AsyncUserService();
+
+    @FXML
+    public void initialize() {
+        // Affiche l'état de la requête en cours sans bloquer l'interface
+        userService.statusProperty().addListener((obs, oldMsg, msg) -> {
+            if (!msg.isEmpty()) errorLabel.setText(msg);
+        });
+    }
+
+    /** Vue réutilisée : on efface le mot de passe et le message de la session précédente. */
+    @Override
+    public void onShow() {
+        userService.cancelAll();
+        passwordField.clear();
+        errorLabel.setText("");
+    }
 
     @FXML
     private void handleLogin() {
@@ -30,32 +45,38 @@ public class LoginController {
         }
 
         // Contrôle de saisie Email
-        if (!Pattern.matches("^[A-Za-z0-9+_.-]+@(.+)$", email)) {
+        if (ValidationUtils.isInvalidEmail(email)) {
             errorLabel.setText("Format d'email invalide !");
             return;
         }
 
-        try {
-            User user = userDAO.login(email, password);
+        userService.cancelAll();
+        AsyncUserService.onFx(userService.login(email, password), user -> {
             if (user != null) {
                 UserSession.setInstance(user);
                 loadDashboard();
             } else {
                 errorLabel.setText("Email ou mot de passe incorrect !");
             }
-        } catch (Exception e) {
+        }, e -> {
+            if (e instanceof LoginThrottledException throttled) {
+                errorLabel.setText("Trop de tentatives. Réessayez dans " + throttled.getRetryAfterSeconds() + " s.");
+                return;
+            }
+            if (e instanceof DatabaseUnavailableException unavailable) {
+                errorLabel.setText("Base de données indisponible. Réessayez dans " + unavailable.getRetryAfterSeconds() + " s.");
+                return;
+            }
             errorLabel.setText("Erreur de connexion.");
             e.printStackTrace();
-        }
+        });
     }
 
     @FXML
     private void handleShowRegister() {
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/org/example/RegisterView.fxml"));
             Stage stage = (Stage) emailField.getScene().getWindow();
-            stage.getScene().setRoot(root);
-            stage.setTitle("TalentFlow - Inscription");
+            ViewRegistry.getInstance().show(stage, ViewRegistry.REGISTER, "TalentFlow - Inscription");
         } catch (IOException e) {
             errorLabel.setText("Erreur de chargement de la page d'inscription.");
             e.printStackTrace();
@@ -64,11 +85,16 @@ public class LoginController {
 
     private void loadDashboard() {
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/org/example/MainDashboard.fxml"));
             Stage stage = (Stage) emailField.getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.setTitle("TalentFlow - Dashboard");
+            ViewRegistry registry = ViewRegistry.getInstance();
+            registry.show(stage, ViewRegistry.DASHBOARD, "TalentFlow - Dashboard");
             stage.centerOnScreen();
+            // Pages que l'utilisateur ouvrira probablement ensuite, selon son rôle
+            if (UserSession.isAdmin()) {
+                registry.preload(ViewRegistry.USERS, ViewRegistry.OFFRES);
+            } else {
+                registry.preload(ViewRegistry.OFFRES);
+            }
         } catch (IOException e) {
             System.err.println("Erreur chargement Dashboard FXML: " + e.getMessage());
         }
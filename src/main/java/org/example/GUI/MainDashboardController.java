@@ -1,28 +1,31 @@
 package org.example.GUI;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
 import org.example.model.User;
 
 import java.io.IOException;
-import java.net.URL;
 
-public class MainDashboardController {
+public class MainDashboardController implements Refreshable {
 
     @FXML private StackPane contentArea;
     @FXML private Button btnUsers;
     @FXML private Button btnOffres;
     @FXML private Label welcomeLabel;
 
-    @FXML
-    public void initialize() {
+    /**
+     * La vue est gardée en cache entre deux sessions : l'utilisateur connecté et ses droits
+     * sont relus à chaque affichage, et la page de la session précédente est retirée.
+     */
+    @Override
+    public void onShow() {
+        contentArea.getChildren().clear();
         User currentUser = UserSession.getInstance();
 
         if (currentUser == null) {
@@ -34,61 +37,60 @@ public class MainDashboardController {
             welcomeLabel.setText("Bienvenue, " + currentUser.getPrenom() + " [" + currentUser.getRole().toUpperCase() + "]");
         }
 
-        applySecurityRestrictions(currentUser.getRole().toUpperCase());
+        applySecurityRestrictions();
     }
 
-    private void applySecurityRestrictions(String role) {
-        if (!role.equalsIgnoreCase("ADMIN")) {
-            if (btnUsers != null) {
-                btnUsers.setVisible(false);
-                btnUsers.setManaged(false);
-            }
+    // Droits lus dans la session (rôle tenu à jour par le SessionStore)
+    private void applySecurityRestrictions() {
+        boolean admin = UserSession.isAdmin();
+        if (btnUsers != null) {
+            btnUsers.setVisible(admin);
+            btnUsers.setManaged(admin);
         }
     }
 
     @FXML
     private void showUsers() {
         // Chemin absolu à partir de la racine des ressources
-        loadView("/org/example/UserView.fxml");
+        loadView(ViewRegistry.USERS);
     }
 
     @FXML
     private void showOffres() {
-        loadView("/org/example/OffresView.fxml");
+        loadView(ViewRegistry.OFFRES);
     }
 
     /**
-     * Charge dynamiquement un fichier FXML dans la zone centrale
+     * Affiche une vue dans la zone centrale : analysée au premier affichage (ou préchargée après le login),
+     * puis réutilisée. Durée mesurée par vue dans ui.loadView.NomDeLaVue.
      */
     private void loadView(String fxmlPath) {
+        Timer timer = Metrics.timer("ui.loadView." + viewName(fxmlPath));
+        long t0 = timer.start();
         try {
-            URL resource = getClass().getResource(fxmlPath);
-
-            if (resource == null) {
-                throw new IOException("Fichier introuvable : " + fxmlPath);
-            }
-
-            FXMLLoader loader = new FXMLLoader(resource);
-            Parent view = loader.load();
-
-            // On vide et on remplace le contenu de la zone centrale
-            contentArea.getChildren().clear();
-            contentArea.getChildren().add(view);
-
+            // On remplace le contenu de la zone centrale
+            ViewRegistry.getInstance().showIn(contentArea, fxmlPath);
         } catch (IOException e) {
+            timer.error();
             showErrorAlert("Erreur de navigation", "Impossible de charger la page : " + fxmlPath);
             e.printStackTrace();
+        } finally {
+            timer.stop(t0);
         }
     }
 
+    // "/org/example/UserView.fxml" -> "UserView"
+    private static String viewName(String fxmlPath) {
+        String name = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1);
+        return name.endsWith(".fxml") ? name.substring(0, name.length() - 5) : name;
+    }
+
     @FXML
     private void handleLogout() {
         UserSession.cleanUserSession();
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/org/example/LoginView.fxml"));
             Stage stage = (Stage) contentArea.getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.setTitle("TalentFlow - Connexion");
+            ViewRegistry.getInstance().show(stage, ViewRegistry.LOGIN, "TalentFlow - Connexion");
             stage.centerOnScreen();
         } catch (IOException e) {
             System.err.println("Erreur lors de la déconnexion : " + e.getMessage());
@@ -0,0 +1,240 @@
+package org.example.GUI;
+
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+import org.example.model.Offre;
+import org.example.model.Role;
+import org.example.model.User;
+import org.example.service.AsyncOffreService;
+import org.example.service.AsyncUserService;
+import org.example.utils.SqlErrorLog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offres d'emploi : recherche pendant la saisie (index en mémoire, sans requête SQL) pour tous,
+ * publication, modification et suppression pour les rôles RH et ADMIN.
+ */
+public class OffresController implements Refreshable {
+    private static final int MAX_RESULTS = 200;
+    private static final int MAX_CANDIDATS = 20;
+
+    @FXML private TextField searchField;
+    @FXML private Label resultLabel, statusLabel;
+    @FXML private TableView<Offre> offreTable;
+    @FXML private TableColumn<Offre, String> colTitre, colEntreprise, colLieu, colCompetences;
+    @FXML private TextArea detailArea;
+
+    @FXML private VBox editorPane;
+    @FXML private TextField titreField, entrepriseField, lieuField, competencesField;
+    @FXML private TextArea descriptionArea;
+
+    private final AsyncOffreService offreService = new AsyncOffreService();
+    private Offre selectedOffre;
+    // Numéro de la dernière recherche lancée : les réponses plus anciennes sont ignorées
+    private int searchSeq;
+
+    @FXML
+    public void initialize() {
+        colTitre.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getTitre()));
+        colEntreprise.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getEntreprise()));
+        colLieu.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getLieu()));
+        colCompetences.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getCompetences()));
+
+        offreTable.getSelectionModel().selectedItemProperty().addListener((obs, oldOffre, offre) -> {
+            selectedOffre = offre;
+            detailArea.setText(offre == null ? "" : offre.getDescription());
+            if (offre != null && editorPane.isVisible()) remplirFormulaire(offre);
+        });
+
+        // Chaque frappe relance la recherche : l'index répond en quelques millisecondes
+        searchField.textProperty().addListener((obs, oldText, text) -> rechercher());
+    }
+
+    /** Droits relus à chaque affichage (la vue est partagée entre les sessions), résultats rafraîchis. */
+    @Override
+    public void onShow() {
+        String role = UserSession.getRole();
+        boolean recruteur = Role.ADMIN.name().equals(role) || Role.RH.name().equals(role);
+        editorPane.setVisible(recruteur);
+        editorPane.setManaged(recruteur);
+        clearFields();
+        statusLabel.setText("");
+        rechercher();
+    }
+
+    private void rechercher() {
+        int seq = ++searchSeq;
+        String query = searchField.getText();
+        long t0 = System.nanoTime();
+        AsyncUserService.onFx(offreService.search(query, MAX_RESULTS), offres -> {
+            if (seq != searchSeq) return;
+            afficher(offres, (System.nanoTime() - t0) / 1_000_000.0);
+        }, this::afficherErreur);
+    }
+
+    private void afficher(List<Offre> offres, double millis) {
+        offreTable.setItems(FXCollections.observableArrayList(offres));
+        String count = offres.size() >= MAX_RESULTS ? MAX_RESULTS + "+ offres" : offres.size() + " offre(s)";
+        resultLabel.setText(String.format("%s (%.1f ms)", count, millis));
+    }
+
+    @FXML
+    private void handleReload() {
+        AsyncUserService.onFx(offreService.reloadIndex(), ignored -> {
+            statusLabel.setText("✅ Offres rechargées.");
+            statusLabel.setStyle("-fx-text-fill: green;");
+            rechercher();
+        }, this::afficherErreur);
+    }
+
+    // --- CANDIDATS CORRESPONDANTS (RH / ADMIN) ---
+    @FXML
+    private void handleCandidats() {
+        if (selectedOffre == null) {
+            statusLabel.setText("⚠️ Sélectionnez une offre.");
+            statusLabel.setStyle("-fx-text-fill: #e67e22;");
+            return;
+        }
+        Offre offre = selectedOffre;
+        detailArea.setText("Recherche des candidats...");
+        AsyncUserService.onFx(offreService.topCandidates(offre.getId(), MAX_CANDIDATS), candidats -> {
+            if (selectedOffre != offre) return;
+            afficherCandidats(offre, candidats);
+        }, this::afficherErreur);
+    }
+
+    private void afficherCandidats(Offre offre, Map<User, Float> candidats) {
+        if (candidats.isEmpty()) {
+            detailArea.setText("Aucun candidat ne possède les compétences de \"" + offre.getTitre() + "\".");
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Meilleurs candidats pour \"" + offre.getTitre() + "\" :\n");
+        int rang = 1;
+        for (Map.Entry<User, Float> entry : candidats.entrySet()) {
+            User user = entry.getKey();
+            sb.append(String.format("%2d. %3.0f %%  %s %s (%s) — %s%n", rang++, entry.getValue() * 100,
+                    user.getPrenom(), user.getNom(), user.getEmail(), user.getCompetences()));
+        }
+        detailArea.setText(sb.toString());
+    }
+
+    // --- PUBLICATION (RH / ADMIN) ---
+    @FXML
+    private void handleInsert() {
+        if (!validerSaisie()) return;
+        User auteur = UserSession.getInstance();
+        Offre offre = new Offre(0, titreField.getText().trim(), entrepriseField.getText().trim(),
+                lieuField.getText().trim(), descriptionArea.getText().trim(), competencesField.getText().trim(),
+                auteur == null ? 0 : auteur.getId());
+        AsyncUserService.onFx(offreService.create(offre), id -> {
+            if (id < 0) {
+                afficherErreur(new IllegalStateException("publication refusée"));
+                return;
+            }
+            statusLabel.setText("✅ Offre publiée !");
+            statusLabel.setStyle("-fx-text-fill: green;");
+            clearFields();
+            rechercher();
+        }, this::afficherErreur);
+    }
+
+    @FXML
+    private void handleUpdate() {
+        if (selectedOffre == null) {
+            statusLabel.setText("⚠️ Sélectionnez une offre à modifier.");
+            statusLabel.setStyle("-fx-text-fill: #e67e22;");
+            return;
+        }
+        if (!validerSaisie()) return;
+        Offre edited = selectedOffre;
+        edited.setTitre(titreField.getText().trim());
+        edited.setEntreprise(entrepriseField.getText().trim());
+        edited.setLieu(lieuField.getText().trim());
+        edited.setCompetences(competencesField.getText().trim());
+        edited.setDescription(descriptionArea.getText().trim());
+        AsyncUserService.onFx(offreService.update(edited), ignored -> {
+            statusLabel.setText("✅ Offre modifiée !");
+            statusLabel.setStyle("-fx-text-fill: green;");
+            rechercher();
+        }, this::afficherErreur);
+    }
+
+    @FXML
+    private void handleDelete() {
+        if (selectedOffre == null) {
+            statusLabel.setText("⚠️ Sélectionnez une offre à supprimer.");
+            statusLabel.setStyle("-fx-text-fill: #e67e22;");
+            return;
+        }
+        if (!confirmerAction("Supprimer l'offre \"" + selectedOffre.getTitre() + "\" ?")) return;
+        AsyncUserService.onFx(offreService.delete(selectedOffre.getId()), ignored -> {
+            statusLabel.setText("✅ Offre supprimée !");
+            statusLabel.setStyle("-fx-text-fill: green;");
+            clearFields();
+            rechercher();
+        }, this::afficherErreur);
+    }
+
+    @FXML
+    private void clearFields() {
+        titreField.clear();
+        entrepriseField.clear();
+        lieuField.clear();
+        competencesField.clear();
+        descriptionArea.clear();
+        offreTable.getSelectionModel().clearSelection();
+        selectedOffre = null;
+    }
+
+    private void remplirFormulaire(Offre offre) {
+        titreField.setText(offre.getTitre());
+        entrepriseField.setText(offre.getEntreprise());
+        lieuField.setText(offre.getLieu());
+        competencesField.setText(offre.getCompetences());
+        descriptionArea.setText(offre.getDescription());
+    }
+
+    private boolean validerSaisie() {
+        statusLabel.setStyle("-fx-text-fill: red;");
+        if (titreField.getText().isBlank() || entrepriseField.getText().isBlank()) {
+            statusLabel.setText("⚠️ Titre et entreprise sont obligatoires.");
+            return false;
+        }
+        if (titreField.getText().length() > 150 || entrepriseField.getText().length() > 100
+                || lieuField.getText().length() > 100) {
+            statusLabel.setText("⚠️ Titre : 150 caractères maximum, entreprise et lieu : 100.");
+            return false;
+        }
+        if (competencesField.getText().length() > 500) {
+            statusLabel.setText("⚠️ Compétences : 500 caractères maximum.");
+            return false;
+        }
+        return true;
+    }
+
+    private void afficherErreur(Throwable e) {
+        statusLabel.setText("❌ Erreur base de données : " + e.getMessage());
+        statusLabel.setStyle("-fx-text-fill: red;");
+        SqlErrorLog.report(e);
+    }
+
+    private boolean confirmerAction(String message) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmation de l'action");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+
+        ButtonType boutonOui = new ButtonType("Oui");
+        ButtonType boutonNon = new ButtonType("Non", ButtonBar.ButtonData.CANCEL_CLOSE);
+        alert.getButtonTypes().setAll(boutonOui, boutonNon);
+
+        Optional<ButtonType> result = alert.showAndWait();
+        return result.isPresent() && result.get() == boutonOui;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.GUI;
+
+/**
+ * Contrôleur d'une vue gardée en cache par ViewRegistry : initialize() n'est appelé qu'au premier
+ * chargement, onShow() à chaque affichage (remise à zéro du formulaire, session, données).
+ */
+public interface Refreshable {
+    void onShow();
+}
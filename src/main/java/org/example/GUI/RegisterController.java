@@ -1,22 +1,43 @@
 package org.example.GUI;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.control.*;
-import org.example.dao.UserDAO;
+import javafx.stage.Stage;
 import org.example.model.User;
+import org.example.service.AsyncUserService;
+import org.example.utils.SqlErrorLog;
 import org.example.utils.ValidationUtils;
 
 import java.io.IOException;
 
-public class RegisterController {
+public class RegisterController implements Refreshable {
 
-    @FXML private TextField nomField, prenomField, emailField, telField;
+    @FXML private TextField nomField, prenomField, emailField, telField, competencesField;
     @FXML private PasswordField passwordField, confirmPasswordField;
     @FXML private Label statusLabel;
 
-    private UserDAO userDAO = new UserDAO();
+    private final AsyncUserService userService = new AsyncUserService();
+
+    @FXML
+    public void initialize() {
+        userService.statusProperty().addListener((obs, oldMsg, msg) -> {
+            if (!msg.isEmpty()) statusLabel.setText(msg);
+        });
+    }
+
+    /** Vue réutilisée : formulaire vide à chaque ouverture. */
+    @Override
+    public void onShow() {
+        nomField.clear();
+        prenomField.clear();
+        emailField.clear();
+        telField.clear();
+        competencesField.clear();
+        passwordField.clear();
+        confirmPasswordField.clear();
+        statusLabel.setText("");
+        statusLabel.setStyle("");
+    }
 
     @FXML
     private void handleRegister() {
@@ -34,17 +55,29 @@ public class RegisterController {
                 "CANDIDAT",
                 telField.getText().trim()
         );
+        newUser.setCompetences(competencesField.getText().trim());
 
-        try {
-            userDAO.create(newUser);
-            statusLabel.setStyle("-fx-text-fill: green;");
-            statusLabel.setText("✅ Compte créé avec succès !");
-            handleBackToLogin();
-        } catch (Exception e) {
+        AsyncUserService.onFx(userService.create(newUser), result -> {
+            switch (result) {
+                case CREATED -> {
+                    statusLabel.setStyle("-fx-text-fill: green;");
+                    statusLabel.setText("✅ Compte créé avec succès !");
+                    handleBackToLogin();
+                }
+                case DUPLICATE_EMAIL -> {
+                    statusLabel.setStyle("-fx-text-fill: red;");
+                    statusLabel.setText("❌ Cet email est déjà utilisé.");
+                }
+                default -> {
+                    statusLabel.setStyle("-fx-text-fill: red;");
+                    statusLabel.setText("❌ Erreur : problème BDD, réessayez plus tard.");
+                }
+            }
+        }, e -> {
             statusLabel.setStyle("-fx-text-fill: red;");
-            statusLabel.setText("❌ Erreur : Email déjà utilisé ou problème BDD.");
-            e.printStackTrace();
-        }
+            statusLabel.setText("❌ Erreur : problème BDD, réessayez plus tard.");
+            SqlErrorLog.report(e);
+        });
     }
 
     private boolean validerChamps() {
@@ -68,15 +101,19 @@ public class RegisterController {
             statusLabel.setText("⚠️ Password: 8 caractères, 1 Maj, 1 Chiffre, 1 Symbole.");
             return false;
         }
+        if (competencesField.getText().length() > 500) {
+            statusLabel.setText("⚠️ Compétences : 500 caractères maximum.");
+            return false;
+        }
         return true;
     }
 
     @FXML
     private void handleBackToLogin() {
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/org/example/LoginView.fxml"));
             if (nomField.getScene() != null) {
-                nomField.getScene().setRoot(root);
+                Stage stage = (Stage) nomField.getScene().getWindow();
+                ViewRegistry.getInstance().show(stage, ViewRegistry.LOGIN, "TalentFlow - Connexion");
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -1,10 +1,69 @@
 package org.example.GUI; // Utilise GUI en majuscules
 
 import org.example.model.User;
+import org.example.security.Session;
+import org.example.security.SessionStore;
 
+/**
+ * Session du client JavaFX : un jeton, la session elle-même vit dans le SessionStore
+ * partagé avec les autres clients (expiration, rôle à jour, fermeture si l'utilisateur est supprimé),
+ * et une copie de l'utilisateur lu à la connexion. Aucune méthode n'accède à la base :
+ * elles sont appelées depuis le thread JavaFX.
+ */
 public class UserSession {
-    private static User instance;
-    public static void setInstance(User user) { instance = user; }
-    public static User getInstance() { return instance; }
-    public static void cleanUserSession() { instance = null; }
-}
\ No newline at end of file
+    private static volatile String token;
+    private static volatile User user;
+
+    public static void setInstance(User connected) {
+        SessionStore store = SessionStore.getInstance();
+        store.invalidate(token);
+        user = connected.copy();
+        token = store.create(connected).getToken();
+    }
+
+    /**
+     * Utilisateur connecté, tel que lu à la connexion, avec le rôle tenu à jour par la session
+     * (un changement de droits fait depuis l'écran d'administration est visible sans nouvelle connexion).
+     * Null si personne n'est connecté ou si la session a expiré.
+     */
+    public static User getInstance() {
+        Session session = session();
+        User snapshot = user;
+        if (session == null || snapshot == null) return null;
+        User current = snapshot.copy();
+        current.setRole(session.getRole());
+        return current;
+    }
+
+    /** Rôle gardé par la session (sans accès à la base), ou null sans session valide. */
+    public static String getRole() {
+        Session session = session();
+        return session == null ? null : session.getRole();
+    }
+
+    public static boolean isAdmin() {
+        Session session = session();
+        return session != null && session.isAdmin();
+    }
+
+    public static String getToken() {
+        return token;
+    }
+
+    public static void cleanUserSession() {
+        SessionStore.getInstance().invalidate(token);
+        token = null;
+        user = null;
+    }
+
+    private static Session session() {
+        String current = token;
+        if (current == null) return null;
+        Session session = SessionStore.getInstance().get(current);
+        if (session == null) {
+            token = null;
+            user = null;
+        }
+        return session;
+    }
+}
@@ -1,36 +1,84 @@
 package org.example.GUI;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
-import org.example.dao.UserDAO;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import org.example.dao.CreateResult;
+import org.example.dao.DatabaseUnavailableException;
+import org.example.dao.UpdateConflictException;
+import org.example.dao.UserDelta;
+import org.example.dao.UserSearch;
 import org.example.model.User;
+import org.example.service.AsyncUserService;
+import org.example.utils.SqlErrorLog;
 import org.example.utils.ValidationUtils;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
-public class UserWindowController {
+public class UserWindowController implements Refreshable {
 
-    @FXML private TextField nomField, prenomField, emailField, telField;
+    @FXML private TextField nomField, prenomField, emailField, telField, competencesField;
     @FXML private PasswordField passwordField;
     @FXML private ComboBox<String> roleCombo;
     @FXML private Label statusLabel;
 
+    @FXML private TextField searchField;
+    @FXML private ComboBox<String> roleFilter;
+
     @FXML private TableView<User> userTable;
     @FXML private TableColumn<User, String> colNom, colEmail, colRole, colTel;
 
-    private UserDAO userDAO = new UserDAO();
+    private final AsyncUserService userService = new AsyncUserService();
     private User selectedUser = null;
 
+    // Liste virtuelle : seules les pages proches de la zone affichée sont gardées en mémoire
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 20;
+    private final VirtualUserList rows = new VirtualUserList(userService, PAGE_SIZE, MAX_PAGES);
+
+    // Recherche côté serveur : la saisie est temporisée, une nouvelle recherche annule la précédente
+    private static final String TOUS_LES_ROLES = "Tous les rôles";
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(300));
+    private UserSearch criteria = UserSearch.ALL;
+
+    // Synchronisation périodique des modifications faites par les autres postes
+    private static final Duration SYNC_PERIOD = Duration.seconds(15);
+    private static final int SYNC_BATCH = 500;
+    private final Timeline syncTimeline = new Timeline(new KeyFrame(SYNC_PERIOD, e -> synchroniser()));
+    // Curseur (updated_at, id) de la dernière ligne modifiée lue, et plus grand id connu de la liste
+    private Timestamp lastSync;
+    private int lastSyncId;
+    private int knownMaxId;
+    // Lignes ajoutées depuis cet écran, déjà placées : la synchronisation ne les ajoute pas une seconde fois
+    private final Set<Integer> insertedHere = new HashSet<>();
+    private int placing;
+    private CompletableFuture<?> deltaSync;
+    private boolean shownOnce = false;
+
     @FXML
     public void initialize() {
-        // 1. Liaison des colonnes avec le modèle User
-        colNom.setCellValueFactory(new PropertyValueFactory<>("nom"));
-        colEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
-        colRole.setCellValueFactory(new PropertyValueFactory<>("role"));
-        colTel.setCellValueFactory(new PropertyValueFactory<>("telephone"));
+        // 1. Liaison des colonnes avec le modèle User (ligne null = page pas encore chargée)
+        colNom.setCellValueFactory(cell -> texte(cell.getValue(), User::getNom));
+        colEmail.setCellValueFactory(cell -> texte(cell.getValue(), User::getEmail));
+        colRole.setCellValueFactory(cell -> texte(cell.getValue(), User::getRole));
+        colTel.setCellValueFactory(cell -> texte(cell.getValue(), User::getTelephone));
 
         // 2. Remplir le ComboBox
         roleCombo.setItems(FXCollections.observableArrayList("ADMIN", "RH", "CANDIDAT"));
@@ -43,12 +91,192 @@ public class UserWindowController {
             }
         });
 
-        refreshTable();
+        // 4. Recherche, filtre par rôle et tri délégués à la base
+        roleFilter.setItems(FXCollections.observableArrayList(TOUS_LES_ROLES, "ADMIN", "RH", "CANDIDAT"));
+        roleFilter.setValue(TOUS_LES_ROLES);
+        searchDebounce.setOnFinished(e -> rechercher());
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
+        roleFilter.valueProperty().addListener((obs, oldRole, newRole) -> rechercher());
+        colTel.setSortable(false);
+        userTable.setSortPolicy(table -> {
+            rechercher();
+            return true;
+        });
+
+        // 4 bis. État des requêtes en cours (exécutées hors du thread JavaFX)
+        userService.statusProperty().addListener((obs, oldMsg, msg) -> {
+            if (!msg.isEmpty()) {
+                statusLabel.setText(msg);
+                statusLabel.setStyle("-fx-text-fill: #7f8c8d;");
+            }
+        });
+
+        // 5. Les pages sont lues à la demande, quand le tableau affiche leurs lignes
+        rows.setOnError(this::afficherErreur);
+        userTable.setItems(rows);
+
+        // 6. Synchronisation incrémentale tant que la vue est affichée
+        syncTimeline.setCycleCount(Animation.INDEFINITE);
+        userTable.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) syncTimeline.stop(); else syncTimeline.play();
+        });
+    }
+
+    private static ObservableValue<String> texte(User user, Function<User, String> getter) {
+        return new ReadOnlyStringWrapper(user == null ? null : getter.apply(user));
+    }
+
+    /**
+     * Premier affichage : comptage puis lecture des lignes visibles. Ensuite la vue est réutilisée :
+     * seules les modifications intervenues depuis sont relues (ou la recherche courante rejouée).
+     */
+    @Override
+    public void onShow() {
+        clearFields();
+        statusLabel.setText("");
+        if (!shownOnce || !criteria.isUnfiltered()) {
+            shownOnce = true;
+            refreshTable();
+        } else {
+            synchroniser();
+        }
     }
 
+    /**
+     * L'heure du serveur est lue avant les pages : la synchronisation suivante reprend à cet instant,
+     * et une ligne modifiée ailleurs pendant le chargement n'est pas perdue.
+     */
     private void refreshTable() {
-        List<User> list = userDAO.readAll();
-        userTable.setItems(FXCollections.observableArrayList(list));
+        if (deltaSync != null) deltaSync.cancel(true);
+        lastSync = null;
+        insertedHere.clear();
+        var future = userService.readDelta(null, 0, SYNC_BATCH, new int[0]);
+        deltaSync = future;
+        AsyncUserService.onFx(future, delta -> {
+            if (delta != null) depart(delta);
+            // Les pages encore en vol appartiennent à l'ancien contenu : la liste les abandonne
+            rows.reload(criteria);
+        }, e -> rows.reload(criteria));
+    }
+
+    private void rechercher() {
+        searchDebounce.stop();
+        String role = roleFilter.getValue();
+        UserSearch.SortField sort = UserSearch.SortField.ID;
+        boolean descending = false;
+        if (!userTable.getSortOrder().isEmpty()) {
+            TableColumn<User, ?> column = userTable.getSortOrder().get(0);
+            if (column == colNom) sort = UserSearch.SortField.NOM;
+            else if (column == colEmail) sort = UserSearch.SortField.EMAIL;
+            else if (column == colRole) sort = UserSearch.SortField.ROLE;
+            descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        UserSearch next = new UserSearch(searchField.getText(),
+                TOUS_LES_ROLES.equals(role) ? null : role, sort, descending);
+        if (next.equals(criteria)) return;
+        criteria = next;
+        refreshTable();
+    }
+
+    private void depart(UserDelta delta) {
+        lastSync = delta.getResumeAt();
+        lastSyncId = delta.getResumeAfterId();
+        knownMaxId = delta.getMaxId();
+    }
+
+    /**
+     * Applique sur place, par lots de SYNC_BATCH, les lignes modifiées ailleurs : remplacées (ou déplacées)
+     * si leur page est en mémoire, ajoutées en bout de liste si elles sont nouvelles et la liste triée par id.
+     * Les lignes en mémoire supprimées ailleurs sont retirées. Un nombre de lignes resté différent (écritures
+     * hors des pages en mémoire) fait relire les seules pages en mémoire.
+     * Sans point de départ (heure du serveur illisible au chargement), les pages en mémoire sont relues.
+     */
+    private void synchroniser() {
+        if (deltaSync != null && !deltaSync.isDone()) return;
+        Timestamp since = lastSync;
+        int gen = rows.generation();
+        var future = userService.readDelta(since, lastSyncId, SYNC_BATCH, rows.loadedIds());
+        deltaSync = future;
+        AsyncUserService.onFx(future, delta -> {
+            if (delta == null) return;
+            if (since == null) {
+                depart(delta);
+                rows.refresh();
+                return;
+            }
+            lastSync = delta.getResumeAt();
+            lastSyncId = delta.getResumeAfterId();
+            // Liste rechargée entre-temps : elle est plus récente que ce lot
+            if (gen != rows.generation()) return;
+            appliquerDelta(delta);
+            if (!delta.isComplete()) {
+                synchroniser();
+            } else if (placing == 0) {
+                rows.recount(false);
+            }
+        }, e -> System.err.println("❌ Synchronisation impossible : " + e.getMessage()));
+    }
+
+    private void appliquerDelta(UserDelta delta) {
+        for (int id : delta.getDeletedIds()) {
+            rows.removeRow(id);
+        }
+        List<User> added = new ArrayList<>();
+        for (User user : delta.getChanged()) {
+            if (user.getId() > knownMaxId) {
+                if (!insertedHere.remove(user.getId())) added.add(user);
+                continue;
+            }
+            User shown = rows.findLoaded(user.getId());
+            if (shown != null) remplacer(shown, user);
+        }
+        // Ids neufs : en tri par id, leur place est connue (fin de liste, ou début en ordre décroissant) ;
+        // dans un autre ordre, le recomptage relit les pages en mémoire
+        added.sort(Comparator.comparingInt(User::getId));
+        for (User user : added) {
+            knownMaxId = Math.max(knownMaxId, user.getId());
+            if (criteria.getSort() != UserSearch.SortField.ID || !criteria.matches(user)) continue;
+            rows.insertRow(criteria.isDescending() ? 0 : rows.size(), user);
+        }
+    }
+
+    // --- MISES À JOUR CIBLÉES DE LA LISTE ---
+    /** Insère user à sa place dans la recherche affichée (position lue en base), sans relire les pages. */
+    private void placer(User user) {
+        if (!criteria.matches(user)) return;
+        int gen = rows.generation();
+        placing++;
+        AsyncUserService.onFx(userService.positionOf(criteria, user), index -> {
+            placing--;
+            // Liste rechargée entre-temps : elle contient déjà la ligne
+            if (gen != rows.generation()) return;
+            if (index < 0) rows.refresh(); else rows.insertRow(index, user);
+        }, e -> {
+            placing--;
+            afficherErreur(e);
+        });
+    }
+
+    /**
+     * Ligne affichée (shown) devenue user : remplacée sur place, déplacée si sa valeur de tri a changé,
+     * retirée si elle ne correspond plus à la recherche.
+     */
+    private void remplacer(User shown, User user) {
+        if (!criteria.matches(user)) {
+            rows.removeRow(user.getId());
+        } else if (criteria.sameSortKey(shown, user)) {
+            rows.replaceLoaded(user);
+        } else if (rows.removeRow(user.getId())) {
+            placer(user);
+        }
+    }
+
+    /** Relit la seule ligne shown (modifiée ou supprimée par quelqu'un d'autre). */
+    private void recharger(User shown) {
+        int id = shown.getId();
+        AsyncUserService.onFx(userService.findById(id), user -> {
+            if (user == null) rows.removeRow(id); else remplacer(shown, user);
+        }, this::afficherErreur);
     }
 
     private void remplirFormulaire(User user) {
@@ -56,8 +284,11 @@ public class UserWindowController {
         prenomField.setText(user.getPrenom());
         emailField.setText(user.getEmail());
         telField.setText(user.getTelephone());
+        competencesField.setText(user.getCompetences());
         roleCombo.setValue(user.getRole());
-        passwordField.setText(user.getPassword());
+        // Le mot de passe stocké est une empreinte : champ vide = mot de passe inchangé
+        passwordField.clear();
+        passwordField.setPromptText("Laisser vide pour ne pas changer");
     }
 
     @FXML
@@ -69,11 +300,23 @@ public class UserWindowController {
             User newUser = new User(0, nomField.getText(), prenomField.getText(),
                     emailField.getText(), passwordField.getText(),
                     roleCombo.getValue(), telField.getText());
-            userDAO.create(newUser);
-            statusLabel.setText("✅ Utilisateur ajouté !");
-            statusLabel.setStyle("-fx-text-fill: green;");
-            refreshTable();
-            clearFields();
+            newUser.setCompetences(competencesField.getText().trim());
+            AsyncUserService.onFx(userService.create(newUser), result -> {
+                if (result == CreateResult.DUPLICATE_EMAIL) {
+                    statusLabel.setText("⚠️ Cet email est déjà utilisé.");
+                    statusLabel.setStyle("-fx-text-fill: #e67e22;");
+                    return;
+                }
+                if (!result.isCreated()) {
+                    afficherErreur(new IllegalStateException("insertion refusée"));
+                    return;
+                }
+                statusLabel.setText("✅ Utilisateur ajouté !");
+                statusLabel.setStyle("-fx-text-fill: green;");
+                insertedHere.add(newUser.getId());
+                placer(newUser);
+                clearFields();
+            }, this::afficherErreur);
         }
     }
 
@@ -89,17 +332,35 @@ public class UserWindowController {
         if (confirmerAction("Voulez-vous enregistrer les modifications pour " + selectedUser.getNom() + " ?")) {
             if (!validerSaisie()) return;
 
-            selectedUser.setNom(nomField.getText());
-            selectedUser.setPrenom(prenomField.getText());
-            selectedUser.setEmail(emailField.getText());
-            selectedUser.setTelephone(telField.getText());
-            selectedUser.setRole(roleCombo.getValue());
-            selectedUser.setPassword(passwordField.getText());
+            // Les modifications portent sur une copie : la ligne affichée ne change qu'une fois l'écriture réussie
+            User shown = selectedUser;
+            User edited = shown.copy();
+            edited.setNom(nomField.getText());
+            edited.setPrenom(prenomField.getText());
+            edited.setEmail(emailField.getText());
+            edited.setTelephone(telField.getText());
+            edited.setCompetences(competencesField.getText().trim());
+            edited.setRole(roleCombo.getValue());
+            edited.setPassword(passwordField.getText());
 
-            userDAO.update(selectedUser);
-            statusLabel.setText("✅ Modification réussie !");
-            statusLabel.setStyle("-fx-text-fill: green;");
-            refreshTable();
+            // Seuls les champs réellement changés sont envoyés, avec la version lue pour détecter un conflit
+            AsyncUserService.onFx(userService.update(edited), ignored -> {
+                statusLabel.setText("✅ Modification réussie !");
+                statusLabel.setStyle("-fx-text-fill: green;");
+                if (selectedUser == shown) selectedUser = edited;
+                remplacer(shown, edited);
+            }, e -> {
+                if (e instanceof UpdateConflictException) {
+                    // Modifié par un autre administrateur : on recharge ses valeurs au lieu d'écraser les siennes
+                    statusLabel.setText("⚠️ Cet utilisateur a été modifié entre-temps par quelqu'un d'autre. "
+                            + "Ses valeurs actuelles ont été rechargées : refaites vos changements.");
+                    statusLabel.setStyle("-fx-text-fill: #e67e22;");
+                    clearFields();
+                    recharger(shown);
+                } else {
+                    afficherErreur(e);
+                }
+            });
         }
     }
 
@@ -113,21 +374,58 @@ public class UserWindowController {
 
         // --- MODIFICATION : AJOUT CONFIRMATION ---
         if (confirmerAction("Êtes-vous sûr de vouloir supprimer l'utilisateur " + selectedUser.getNom() + " ?")) {
-            userDAO.delete(selectedUser.getId());
-            statusLabel.setText("✅ Utilisateur supprimé !");
-            statusLabel.setStyle("-fx-text-fill: green;");
-            refreshTable();
-            clearFields();
+            int id = selectedUser.getId();
+            AsyncUserService.onFx(userService.delete(id), ignored -> {
+                statusLabel.setText("✅ Utilisateur supprimé !");
+                statusLabel.setStyle("-fx-text-fill: green;");
+                rows.removeRow(id);
+                clearFields();
+            }, this::afficherErreur);
         }
     }
 
+    @FXML
+    private void handleImport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Importer des utilisateurs (CSV)");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Fichiers CSV", "*.csv"));
+        File file = chooser.showOpenDialog(userTable.getScene().getWindow());
+        if (file == null) return;
+
+        Path csv = file.toPath();
+        Path errors = csv.resolveSibling(file.getName().replaceFirst("\\.csv$", "") + "-rejets.csv");
+        AsyncUserService.onFx(userService.importCsv(csv, errors), report -> {
+            statusLabel.setText("✅ Import terminé : " + report
+                    + (report.getRejected() > 0 ? " (détail dans " + errors.getFileName() + ")" : ""));
+            statusLabel.setStyle("-fx-text-fill: green;");
+            // Nouveaux ids : en tri par id, la synchronisation les ajoute sur place comme ceux des autres postes
+            if (criteria.getSort() == UserSearch.SortField.ID) synchroniser(); else rows.refresh();
+        }, this::afficherErreur);
+    }
+
+    @FXML
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Exporter les utilisateurs (CSV)");
+        chooser.setInitialFileName("utilisateurs.csv");
+        File file = chooser.showSaveDialog(userTable.getScene().getWindow());
+        if (file == null) return;
+
+        AsyncUserService.onFx(userService.exportCsv(file.toPath()), count -> {
+            statusLabel.setText("✅ " + count + " utilisateur(s) exporté(s).");
+            statusLabel.setStyle("-fx-text-fill: green;");
+        }, this::afficherErreur);
+    }
+
     @FXML
     private void clearFields() {
         nomField.clear();
         prenomField.clear();
         emailField.clear();
         telField.clear();
+        competencesField.clear();
         passwordField.clear();
+        passwordField.setPromptText("Mot de passe");
         roleCombo.setValue(null);
         selectedUser = null;
     }
@@ -155,9 +453,24 @@ public class UserWindowController {
             statusLabel.setText("⚠️ Mot de passe trop faible.");
             return false;
         }
+        if (competencesField.getText().length() > 500) {
+            statusLabel.setText("⚠️ Compétences : 500 caractères maximum.");
+            return false;
+        }
         return true;
     }
 
+    private void afficherErreur(Throwable e) {
+        if (e instanceof DatabaseUnavailableException unavailable) {
+            statusLabel.setText("❌ Base de données indisponible. Réessayez dans "
+                    + unavailable.getRetryAfterSeconds() + " s.");
+        } else {
+            statusLabel.setText("❌ Erreur base de données : " + e.getMessage());
+        }
+        statusLabel.setStyle("-fx-text-fill: red;");
+        SqlErrorLog.report(e);
+    }
+
     private boolean confirmerAction(String message) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirmation de l'action");
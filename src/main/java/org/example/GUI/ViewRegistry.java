@@ -0,0 +1,153 @@
+package org.example.GUI;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des vues FXML : chaque vue est analysée une seule fois puis gardée avec son contrôleur.
+ * Les vues probables suivantes peuvent être préchargées quand le thread JavaFX est libre, une vue par tour
+ * de boucle pour laisser passer les saisies. L'analyse reste sur le thread JavaFX : FXMLLoader y lance
+ * initialize() des contrôleurs, qui créent animations, écouteurs et services partagés.
+ * À chaque affichage, le contrôleur est prévenu par Refreshable.onShow().
+ * Toutes les méthodes s'exécutent sur le thread JavaFX.
+ */
+public final class ViewRegistry {
+    public static final String LOGIN = "/org/example/LoginView.fxml";
+    public static final String REGISTER = "/org/example/RegisterView.fxml";
+    public static final String DASHBOARD = "/org/example/MainDashboard.fxml";
+    public static final String USERS = "/org/example/UserView.fxml";
+    public static final String OFFRES = "/org/example/OffresView.fxml";
+
+    private static final ViewRegistry INSTANCE = new ViewRegistry();
+
+    private final Map<String, CompletableFuture<View>> views = new ConcurrentHashMap<>();
+
+    private ViewRegistry() {
+    }
+
+    public static ViewRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    // --- ACCÈS AUX VUES ---
+    /**
+     * Vue analysée (une seule fois) avec son contrôleur. Une vue dont le préchargement n'a pas encore
+     * eu son tour est analysée tout de suite ; le préchargement la trouvera prête.
+     */
+    public View get(String fxmlPath) throws IOException {
+        CompletableFuture<View> created = new CompletableFuture<>();
+        CompletableFuture<View> existing = views.putIfAbsent(fxmlPath, created);
+        if (existing == null) {
+            parseInto(fxmlPath, created);
+            existing = created;
+        } else if (!existing.isDone()) {
+            parseInto(fxmlPath, existing);
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            views.remove(fxmlPath, existing);
+            // Échec du préchargement : nouvel essai
+            if (existing != created) return get(fxmlPath);
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException("Impossible de charger " + fxmlPath, e.getCause());
+        }
+    }
+
+    /** Analyse les vues pas encore chargées après les événements en attente (les fichiers absents sont ignorés). */
+    public void preload(String... fxmlPaths) {
+        for (String path : fxmlPaths) {
+            if (views.containsKey(path) || ViewRegistry.class.getResource(path) == null) continue;
+            CompletableFuture<View> created = new CompletableFuture<>();
+            if (views.putIfAbsent(path, created) == null) {
+                Platform.runLater(() -> {
+                    if (!created.isDone()) parseInto(path, created);
+                });
+            }
+        }
+    }
+
+    /** Retire une vue du cache : elle sera de nouveau analysée au prochain affichage. */
+    public void evict(String fxmlPath) {
+        views.remove(fxmlPath);
+    }
+
+    // --- AFFICHAGE ---
+    /**
+     * Affiche la vue comme contenu de la fenêtre. La scène de la fenêtre est réutilisée
+     * (seule la racine change) puis la fenêtre est redimensionnée à la taille de la vue.
+     */
+    public View show(Stage stage, String fxmlPath, String title) throws IOException {
+        View view = get(fxmlPath);
+        Scene scene = stage.getScene();
+        if (scene == null) {
+            stage.setScene(new Scene(view.getRoot()));
+        } else if (scene.getRoot() != view.getRoot()) {
+            scene.setRoot(view.getRoot());
+        }
+        stage.setTitle(title);
+        stage.sizeToScene();
+        view.notifyShown();
+        return view;
+    }
+
+    /** Affiche la vue comme unique enfant de container (zone centrale du dashboard). */
+    public View showIn(Pane container, String fxmlPath) throws IOException {
+        View view = get(fxmlPath);
+        container.getChildren().setAll(view.getRoot());
+        view.notifyShown();
+        return view;
+    }
+
+    private static void parseInto(String fxmlPath, CompletableFuture<View> target) {
+        Timer timer = Metrics.timer("ui.parseView." + fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1));
+        long t0 = timer.start();
+        try {
+            URL resource = ViewRegistry.class.getResource(fxmlPath);
+            if (resource == null) {
+                throw new IOException("Fichier introuvable : " + fxmlPath);
+            }
+            FXMLLoader loader = new FXMLLoader(resource);
+            Parent root = loader.load();
+            target.complete(new View(root, loader.getController()));
+        } catch (IOException | RuntimeException e) {
+            timer.error();
+            target.completeExceptionally(e);
+        } finally {
+            timer.stop(t0);
+        }
+    }
+
+    /** Racine d'une vue et son contrôleur, réutilisés à chaque affichage. */
+    public static final class View {
+        private final Parent root;
+        private final Object controller;
+
+        private View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        public Parent getRoot() { return root; }
+
+        @SuppressWarnings("unchecked")
+        public <T> T getController() { return (T) controller; }
+
+        private void notifyShown() {
+            if (controller instanceof Refreshable refreshable) refreshable.onShow();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package org.example.GUI;
+
+import javafx.collections.ObservableListBase;
+import org.example.dao.UserSearch;
+import org.example.model.User;
+import org.example.service.AsyncUserService;
+import org.example.utils.SqlErrorLog;
+
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Liste virtuelle du TableView des utilisateurs : size() annonce toutes les lignes des critères courants,
+ * mais seules quelques pages autour de la zone affichée sont en mémoire (au plus maxPages pages,
+ * les moins récemment lues sont oubliées). Une ligne pas encore chargée vaut null (ligne vide) et
+ * déclenche la lecture de sa page : par clé à partir de la fin de la page précédente quand elle est
+ * connue, par position (OFFSET) pour un saut lointain. Une page en échec n'est pas gardée : ses lignes
+ * restent vides et elle est relue au prochain accès. Une insertion ou une suppression décale sur place
+ * les pages en mémoire qui suivent ; une page dont le décalage dépend d'une ligne absente est oubliée.
+ * Toutes les méthodes s'exécutent sur le thread JavaFX.
+ */
+final class VirtualUserList extends ObservableListBase<User> {
+    private final AsyncUserService service;
+    private final int pageSize;
+    private final Map<Integer, List<User>> pages;
+    private final Map<Integer, CompletableFuture<?>> loading = new HashMap<>();
+    // Pages en mémoire dont la fin manque (ligne remontée d'une page absente) : relues à l'affichage de ces lignes
+    private final Set<Integer> incomplete = new HashSet<>();
+    private UserSearch criteria = UserSearch.ALL;
+    private int size;
+    // Incrémenté à chaque rechargement : les réponses des requêtes plus anciennes sont ignorées
+    private int generation;
+    private CompletableFuture<?> counting;
+    private Consumer<Throwable> onError = SqlErrorLog::report;
+
+    VirtualUserList(AsyncUserService service, int pageSize, int maxPages) {
+        this.service = service;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<User>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    void setOnError(Consumer<Throwable> onError) {
+        this.onError = onError;
+    }
+
+    // --- ACCÈS (appelé par le TableView pour les seules lignes visibles) ---
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public User get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / pageSize;
+        List<User> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        // Dernier quart de la page atteint : la suivante est lue avant d'être visible
+        int offset = index % pageSize;
+        if (offset >= pageSize * 3 / 4 && (page + 1) * pageSize < size && !pages.containsKey(page + 1)) {
+            load(page + 1);
+        }
+        if (offset < rows.size()) return rows.get(offset);
+        if (incomplete.contains(page)) load(page);
+        return null;
+    }
+
+    // Recherches limitées aux pages en mémoire : parcourir toute la liste chargerait toutes les pages
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof User user ? loadedIndexOf(user.getId()) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    // --- RECHARGEMENTS ---
+    /** Nouveaux critères : la liste repart du début. */
+    void reload(UserSearch next) {
+        criteria = next;
+        invalidate();
+        resize(0);
+        recount(true);
+    }
+
+    /** Mêmes critères, contenu relu (après insertion, suppression, import) sans revenir en haut. */
+    void refresh() {
+        invalidate();
+        fireReplaced(0, size);
+        recount(false);
+    }
+
+    /**
+     * Relit le nombre de lignes en arrière-plan. S'il a changé malgré les mises à jour ciblées (ajouts ou
+     * suppressions faits ailleurs, hors des pages en mémoire), la place de ces lignes est inconnue : la taille
+     * est corrigée et seules les pages en mémoire sont relues, par position, en restant affichées jusque-là.
+     */
+    void recount(boolean announce) {
+        if (counting != null && !counting.isDone()) return;
+        int gen = generation;
+        var future = service.count(criteria, !announce);
+        counting = future;
+        AsyncUserService.onFx(future, count -> {
+            if (gen != generation || count < 0 || count == size) return;
+            resize(count);
+            pages.keySet().removeIf(page -> page * pageSize >= count);
+            incomplete.clear();
+            cancelLoads(0);
+            for (int page : new ArrayList<>(pages.keySet())) {
+                load(page, true);
+            }
+        }, onError);
+    }
+
+    /** Ids des lignes en mémoire : celles dont la synchronisation vérifie qu'elles existent encore. */
+    int[] loadedIds() {
+        return pages.values().stream().flatMap(List::stream).mapToInt(User::getId).toArray();
+    }
+
+    /** Incrémenté à chaque rechargement : une réponse préparée pour l'ancien contenu se reconnaît. */
+    int generation() {
+        return generation;
+    }
+
+    /**
+     * Ajoute user à l'index donné (sa place dans la recherche, lue en base) : la taille grandit d'une ligne
+     * et les pages en mémoire à partir de la sienne descendent d'un cran, sans relecture.
+     */
+    void insertRow(int index, User user) {
+        if (index < 0 || index > size) return;
+        int page = index / pageSize;
+        int offset = index % pageSize;
+        cancelLoads(page);
+        // Chaque page passe sa dernière ligne à la suivante ; après une page absente, le décalage est inconnu
+        for (User carry = user; carry != null; page++, offset = 0) {
+            List<User> rows = pages.get(page);
+            if (rows == null || offset > rows.size()) {
+                dropFrom(page + 1);
+                break;
+            }
+            rows.add(offset, carry);
+            carry = rows.size() > pageSize ? rows.remove(pageSize) : null;
+        }
+        size++;
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    /**
+     * Retire la ligne d'id donné si sa page est en mémoire : la taille diminue d'une ligne et les pages
+     * suivantes remontent d'un cran. Faux si la ligne n'est pas en mémoire (sa position est inconnue).
+     */
+    boolean removeRow(int id) {
+        int index = loadedIndexOf(id);
+        if (index < 0) return false;
+        int page = index / pageSize;
+        cancelLoads(page);
+        User removed = pages.get(page).remove(index % pageSize);
+        // La première ligne de chaque page suivante remonte ; après une page absente, le décalage est inconnu
+        for (; (page + 1) * pageSize < size; page++) {
+            List<User> next = pages.get(page + 1);
+            if (next == null || next.isEmpty()) {
+                incomplete.add(page);
+                dropFrom(page + 2);
+                break;
+            }
+            List<User> rows = pages.get(page);
+            User moved = next.remove(0);
+            if (rows.size() == pageSize - 1) rows.add(moved);
+        }
+        size--;
+        beginChange();
+        nextRemove(index, removed);
+        endChange();
+        return true;
+    }
+
+    /** Ligne d'id donné si sa page est en mémoire, sinon null. */
+    User findLoaded(int id) {
+        int index = loadedIndexOf(id);
+        return index < 0 ? null : pages.get(index / pageSize).get(index % pageSize);
+    }
+
+    /** Remplace une ligne modifiée si sa page est en mémoire. */
+    boolean replaceLoaded(User user) {
+        for (Map.Entry<Integer, List<User>> entry : pages.entrySet()) {
+            List<User> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId() == user.getId()) {
+                    User old = rows.set(i, user);
+                    beginChange();
+                    nextSet(entry.getKey() * pageSize + i, old);
+                    endChange();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void invalidate() {
+        generation++;
+        for (CompletableFuture<?> future : loading.values()) {
+            future.cancel(true);
+        }
+        loading.clear();
+        if (counting != null) counting.cancel(true);
+        counting = null;
+        pages.clear();
+        incomplete.clear();
+    }
+
+    // Pages décalées d'une ligne inconnue : oubliées, elles sont relues quand elles s'affichent
+    private void dropFrom(int first) {
+        pages.keySet().removeIf(page -> page >= first);
+        incomplete.removeIf(page -> page >= first);
+        cancelLoads(first);
+    }
+
+    // Lectures en vol à partir de first : leur contenu précède le décalage
+    private void cancelLoads(int first) {
+        loading.entrySet().removeIf(entry -> {
+            if (entry.getKey() < first) return false;
+            entry.getValue().cancel(true);
+            return true;
+        });
+    }
+
+    private int loadedIndexOf(int id) {
+        for (Map.Entry<Integer, List<User>> entry : pages.entrySet()) {
+            List<User> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId() == id) return entry.getKey() * pageSize + i;
+            }
+        }
+        return -1;
+    }
+
+    // --- LECTURE D'UNE PAGE ---
+    private void load(int page) {
+        load(page, false);
+    }
+
+    // byPosition : relecture d'une page peut-être décalée, sans se fier à la fin de la précédente
+    private void load(int page, boolean byPosition) {
+        if (loading.containsKey(page)) return;
+        int gen = generation;
+        List<User> previous = page == 0 ? null : pages.get(page - 1);
+        CompletableFuture<List<User>> future;
+        if (page == 0) {
+            future = service.fetchPage(criteria, null, pageSize);
+        } else if (!byPosition && previous != null && previous.size() == pageSize) {
+            future = service.fetchPage(criteria, previous.get(pageSize - 1), pageSize);
+        } else {
+            future = service.fetchPageAt(criteria, page * pageSize, pageSize);
+        }
+        loading.put(page, future);
+        AsyncUserService.onFx(future, rows -> {
+            if (gen != generation || loading.get(page) != future) return;
+            loading.remove(page);
+            // Copie modifiable : insertions et suppressions décalent les lignes sur place
+            pages.put(page, new ArrayList<>(rows));
+            incomplete.remove(page);
+            int from = page * pageSize;
+            fireReplaced(from, Math.min(pageSize, size - from));
+        }, e -> {
+            if (gen != generation || loading.get(page) != future) return;
+            // Rien dans pages : le prochain get() sur ces lignes relance la lecture
+            loading.remove(page);
+            onError.accept(e);
+        });
+    }
+
+    // --- NOTIFICATIONS AU TABLEVIEW ---
+    private void resize(int newSize) {
+        int old = size;
+        if (newSize == old) return;
+        size = newSize;
+        beginChange();
+        if (newSize > old) {
+            nextAdd(old, newSize);
+        } else {
+            nextRemove(newSize, Collections.nCopies(old - newSize, null));
+        }
+        endChange();
+    }
+
+    // Les lignes [from, from + count) ont changé : le TableView redessine celles qui sont visibles
+    private void fireReplaced(int from, int count) {
+        if (count <= 0) return;
+        beginChange();
+        nextReplace(from, from + count, Collections.nCopies(count, null));
+        endChange();
+    }
+}
@@ -0,0 +1,428 @@
+package org.example.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.controller.UserController;
+import org.example.dao.DatabaseUnavailableException;
+import org.example.dao.UpdateConflictException;
+import org.example.dao.UserDAO;
+import org.example.dao.UserSearch;
+import org.example.metrics.Metrics;
+import org.example.metrics.MetricsExporter;
+import org.example.metrics.Timer;
+import org.example.model.User;
+import org.example.model.UserStore;
+import org.example.security.LoginThrottledException;
+import org.example.security.Session;
+import org.example.security.SessionStore;
+import org.example.utils.CircuitBreaker;
+import org.example.utils.ConnectionPool;
+import org.example.utils.MyConnection;
+import org.example.utils.UserValidator;
+import org.example.utils.ValidationError;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mode sans interface : API HTTP/JSON au-dessus de UserController, servie par le serveur HTTP du JDK.
+ * <pre>
+ * POST   /api/login          {"email", "password"} -> {"token", "userId", "role"}
+ * POST   /api/logout         (jeton)
+ * GET    /api/users          ?after=id&amp;limit=n&amp;q=texte&amp;role=RH : tableau JSON envoyé au fil de la lecture
+ * GET    /api/users/{id}
+ * POST   /api/users          {"nom", "prenom", "email", "password", "role", "telephone"} -> 201 {"id"} (409 si l'email est déjà utilisé)
+ * PUT    /api/users/{id}     mêmes champs, password et version facultatifs (409 si la version a changé)
+ * DELETE /api/users/{id}
+ * GET    /api/health         état de la base (disjoncteur, pool), 503 tant qu'elle est injoignable
+ * </pre>
+ * Base injoignable : 503 avec Retry-After, au lieu d'attendre le délai du pilote.
+ * Les routes /api/users demandent l'en-tête "Authorization: Bearer &lt;jeton&gt;" d'une session ADMIN.
+ * Un thread virtuel par requête quand la JVM en dispose (Java 21+), sinon un pool de threads borné.
+ */
+public final class ApiServer {
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int PAGE_SIZE = UserDAO.DEFAULT_PAGE_SIZE;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private static final Timer REQUESTS = Metrics.timer("api.request");
+
+    private final UserController users;
+    private final SessionStore sessions;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ApiServer(UserController users, SessionStore sessions, InetSocketAddress address) throws IOException {
+        this.users = users;
+        this.sessions = sessions;
+        this.executor = newRequestExecutor();
+        // Sans TCP_NODELAY, en-têtes et corps partent en deux segments et l'accusé de réception différé
+        // du client ajoute ~40 ms à chaque réponse. Lu une seule fois, à la création du premier serveur.
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/api/login", ex -> handle(ex, this::login));
+        server.createContext("/api/logout", ex -> handle(ex, this::logout));
+        server.createContext("/api/users", ex -> handle(ex, this::users));
+        server.createContext("/api/health", ex -> handle(ex, this::health));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** Arrête d'accepter des requêtes et laisse delaySeconds à celles en cours. */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Un thread virtuel par requête si la JVM le permet. Le projet compile en Java 17 :
+     * la méthode est cherchée par réflexion, avec repli sur un pool fixe (talentflow.api.threads).
+     */
+    public static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger n = new AtomicInteger();
+            return Executors.newFixedThreadPool(Integer.getInteger("talentflow.api.threads", 64), r -> {
+                Thread t = new Thread(r, "talentflow-api-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // --- ROUTES ---
+    private void login(HttpExchange ex) throws IOException {
+        requireMethod(ex, "POST");
+        Map<String, Object> body = readBody(ex);
+        String email = text(body, "email");
+        String password = text(body, "password");
+        if (email == null || password == null) throw new ApiException(400, "email et password sont obligatoires");
+
+        User user = users.login(email.trim(), password, ex.getRemoteAddress().getAddress().getHostAddress());
+        if (user == null) throw new ApiException(401, "Email ou mot de passe incorrect");
+        Session session = sessions.create(user);
+        send(ex, 200, Json.object("token", session.getToken(), "userId", user.getId(), "role", user.getRole()));
+    }
+
+    private void logout(HttpExchange ex) throws IOException {
+        requireMethod(ex, "POST");
+        Session session = requireSession(ex);
+        sessions.invalidate(session.getToken());
+        sendEmpty(ex, 204);
+    }
+
+    // Sans jeton : destinée aux sondes de supervision. Ne fait aucune requête, lit l'état du disjoncteur.
+    private void health(HttpExchange ex) throws IOException {
+        requireMethod(ex, "GET");
+        MyConnection db = MyConnection.getInstance();
+        CircuitBreaker.State state = db.getBreaker().getState();
+        ConnectionPool pool = db.getPool();
+        send(ex, state == CircuitBreaker.State.CLOSED ? 200 : 503, Json.object("database", state.name(),
+                "connections", pool.getTotalConnections(), "idle", pool.getIdleConnections(),
+                "active", pool.getActiveConnections()));
+    }
+
+    private void users(HttpExchange ex) throws IOException {
+        Session session = requireSession(ex);
+        if (!session.isAdmin()) throw new ApiException(403, "Réservé aux administrateurs");
+
+        String path = ex.getRequestURI().getPath();
+        String rest = path.length() > "/api/users".length() ? path.substring("/api/users".length() + 1) : "";
+        String method = ex.getRequestMethod();
+        if (rest.isEmpty()) {
+            switch (method) {
+                case "GET" -> listUsers(ex);
+                case "POST" -> createUser(ex);
+                default -> throw methodNotAllowed(ex, "GET, POST");
+            }
+            return;
+        }
+        int id;
+        try {
+            id = Integer.parseInt(rest);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Ressource inconnue : " + path);
+        }
+        switch (method) {
+            case "GET" -> getUser(ex, id);
+            case "PUT" -> updateUser(ex, id);
+            case "DELETE" -> deleteUser(ex, id);
+            default -> throw methodNotAllowed(ex, "GET, PUT, DELETE");
+        }
+    }
+
+    private void getUser(HttpExchange ex, int id) throws IOException {
+        User user = requireUser(id);
+        StringBuilder json = new StringBuilder();
+        Json.writeUser(json, user);
+        send(ex, 200, json.toString());
+    }
+
+    private void createUser(HttpExchange ex) throws IOException {
+        User user = userFromBody(readBody(ex), 0);
+        int mask = UserValidator.validate(user, true);
+        if (mask != 0) throw new ApiException(400, ValidationError.firstMessage(mask));
+        switch (users.addUser(user)) {
+            case CREATED -> send(ex, 201, Json.object("id", user.getId()));
+            case DUPLICATE_EMAIL -> throw new ApiException(409, "Email déjà utilisé");
+            default -> throw new ApiException(500, "Insertion impossible");
+        }
+    }
+
+    private void updateUser(HttpExchange ex, int id) throws IOException {
+        Map<String, Object> body = readBody(ex);
+        User user = userFromBody(body, id);
+        int mask = UserValidator.validate(user, false);
+        if (mask != 0) throw new ApiException(400, ValidationError.firstMessage(mask));
+        requireUser(id);
+        // "version" (lue par GET /api/users/{id}) active le contrôle de concurrence : 409 si la ligne a changé
+        Object version = body.get("version");
+        if (version != null && !(version instanceof Long)) throw new ApiException(400, "version doit être un entier");
+        try {
+            users.updateUser(id, user.getNom(), user.getPrenom(), user.getEmail(), user.getPassword(),
+                    user.getRole(), user.getTelephone(), version == null ? User.NO_VERSION : ((Long) version).intValue());
+        } catch (UpdateConflictException e) {
+            throw new ApiException(409, e.getMessage());
+        }
+        sendEmpty(ex, 204);
+    }
+
+    private void deleteUser(HttpExchange ex, int id) throws IOException {
+        requireUser(id);
+        users.deleteUser(id);
+        sendEmpty(ex, 204);
+    }
+
+    /**
+     * Liste envoyée au fil de la lecture (réponse chunked) : une page en mémoire à la fois,
+     * quelle que soit la taille de la table. Sans recherche, les pages sont lues en UserStore compact.
+     * Les en-têtes ne partent qu'après la première page : une base indisponible donne encore un 503.
+     * Une erreur après leur envoi coupe la réponse : le client reçoit un JSON incomplet.
+     */
+    private void listUsers(HttpExchange ex) throws IOException {
+        Map<String, String> query = query(ex);
+        int after = intParam(query, "after", 0);
+        int limit = intParam(query, "limit", Integer.MAX_VALUE);
+        if (after < 0 || limit < 0) throw new ApiException(400, "after et limit doivent être positifs");
+        String role = query.get("role");
+        UserSearch criteria = new UserSearch(query.get("q"), role == null || role.isEmpty() ? null : role,
+                UserSearch.SortField.ID, false);
+
+        Writer out = null;
+        try {
+            int remaining = limit;
+            int lastId = after;
+            boolean first = true;
+            UserStore page = new UserStore(PAGE_SIZE);
+            UserStore.View row = page.view();
+            while (remaining > 0) {
+                int wanted = Math.min(PAGE_SIZE, remaining);
+                int read;
+                List<User> found = null;
+                if (criteria.isUnfiltered()) {
+                    page.clear();
+                    read = users.getUsersPage(lastId, wanted, page);
+                } else {
+                    User cursor = new User(lastId, null, null, null, null, null, null);
+                    found = users.searchUsers(criteria, lastId == 0 ? null : cursor, wanted);
+                    read = found.size();
+                }
+                if (out == null) out = openList(ex);
+                for (int i = 0; i < read; i++) {
+                    if (!first) out.write(',');
+                    first = false;
+                    if (found == null) Json.writeUser(out, row.moveTo(i)); else Json.writeUser(out, found.get(i));
+                }
+                if (read > 0) lastId = found == null ? row.getId() : found.get(read - 1).getId();
+                out.flush();
+                remaining -= read;
+                if (read < wanted) break;
+            }
+            if (out == null) out = openList(ex);
+            out.write(']');
+        } finally {
+            if (out != null) out.close();
+        }
+    }
+
+    private static Writer openList(HttpExchange ex) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", JSON);
+        ex.sendResponseHeaders(200, 0);
+        Writer out = new BufferedWriter(new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8), 1 << 14);
+        out.write('[');
+        return out;
+    }
+
+    // --- OUTILS ---
+    @FunctionalInterface
+    private interface Route {
+        void handle(HttpExchange ex) throws IOException;
+    }
+
+    private static final class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private void handle(HttpExchange ex, Route route) {
+        long t0 = REQUESTS.start();
+        try {
+            route.handle(ex);
+        } catch (ApiException e) {
+            sendError(ex, e.status, e.getMessage());
+        } catch (LoginThrottledException e) {
+            ex.getResponseHeaders().set("Retry-After", Long.toString(e.getRetryAfterSeconds()));
+            sendError(ex, 429, e.getMessage());
+        } catch (DatabaseUnavailableException e) {
+            ex.getResponseHeaders().set("Retry-After", Long.toString(e.getRetryAfterSeconds()));
+            sendError(ex, 503, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(ex, 400, e.getMessage());
+        } catch (Exception e) {
+            REQUESTS.error();
+            e.printStackTrace();
+            sendError(ex, 500, "Erreur interne");
+        } finally {
+            ex.close();
+            REQUESTS.stop(t0);
+        }
+    }
+
+    private static void sendError(HttpExchange ex, int status, String message) {
+        try {
+            // Réponse déjà commencée (liste en flux) : on ne peut plus que couper
+            if (ex.getResponseCode() != -1) return;
+            send(ex, status, Json.object("error", message));
+        } catch (IOException ignored) {
+            // Client déjà parti
+        }
+    }
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", JSON);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendEmpty(HttpExchange ex, int status) throws IOException {
+        ex.sendResponseHeaders(status, -1);
+    }
+
+    private static void requireMethod(HttpExchange ex, String method) {
+        if (!method.equals(ex.getRequestMethod())) throw methodNotAllowed(ex, method);
+    }
+
+    private static ApiException methodNotAllowed(HttpExchange ex, String allowed) {
+        ex.getResponseHeaders().set("Allow", allowed);
+        return new ApiException(405, "Méthode non autorisée");
+    }
+
+    private Session requireSession(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            ex.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+            throw new ApiException(401, "Jeton de session manquant");
+        }
+        Session session = sessions.get(header.substring(7).trim());
+        if (session == null) {
+            ex.getResponseHeaders().set("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+            throw new ApiException(401, "Session inconnue ou expirée");
+        }
+        return session;
+    }
+
+    private User requireUser(int id) {
+        User user = users.getUser(id);
+        if (user == null) throw new ApiException(404, "Utilisateur " + id + " introuvable");
+        return user;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) throw new ApiException(413, "Corps de requête trop volumineux");
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static User userFromBody(Map<String, Object> body, int id) {
+        String role = text(body, "role");
+        return new User(id, text(body, "nom"), text(body, "prenom"), text(body, "email"),
+                text(body, "password"), role == null ? null : role.toUpperCase(), text(body, "telephone"));
+    }
+
+    private static String text(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (value == null) return null;
+        if (!(value instanceof String s)) throw new ApiException(400, key + " doit être une chaîne");
+        return s;
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> params = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, name + " doit être un entier");
+        }
+    }
+
+    // --- POINT D'ENTRÉE ---
+    /**
+     * Usage : ApiServer [port]. Écoute par défaut sur 127.0.0.1:8080 ;
+     * -Dtalentflow.api.host=0.0.0.0 pour accepter les connexions des autres machines.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("talentflow.api.port", 8080);
+        String host = System.getProperty("talentflow.api.host", "127.0.0.1");
+        MetricsExporter.startFromProperties();
+        ApiServer api = new ApiServer(new UserController(), SessionStore.getInstance(), new InetSocketAddress(host, port));
+        api.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> api.stop(2), "talentflow-api-shutdown"));
+        System.out.println("✅ API TalentFlow démarrée sur http://" + host + ":" + api.getPort() + "/api");
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.api;
+
+import org.example.model.User;
+import org.example.model.UserStore;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON minimal de l'API : écriture des utilisateurs et lecture des corps de requête,
+ * qui sont des objets plats (chaînes, nombres, booléens, null).
+ */
+final class Json {
+    private Json() {
+    }
+
+    // --- ÉCRITURE ---
+    static void writeUser(Appendable out, User user) throws IOException {
+        writeUser(out, user.getId(), user.getNom(), user.getPrenom(), user.getEmail(), user.getRole(),
+                user.getTelephone(), user.getVersion());
+    }
+
+    static void writeUser(Appendable out, UserStore.View user) throws IOException {
+        writeUser(out, user.getId(), user.getNom(), user.getPrenom(), user.getEmail(), user.getRole(),
+                user.getTelephone(), User.NO_VERSION);
+    }
+
+    // Le mot de passe n'est jamais renvoyé ; la version (si connue) est à renvoyer dans PUT
+    private static void writeUser(Appendable out, int id, String nom, String prenom, String email,
+                                  String role, String telephone, int version) throws IOException {
+        out.append("{\"id\":").append(Integer.toString(id));
+        field(out, "nom", nom);
+        field(out, "prenom", prenom);
+        field(out, "email", email);
+        field(out, "role", role);
+        field(out, "telephone", telephone);
+        if (version != User.NO_VERSION) out.append(",\"version\":").append(Integer.toString(version));
+        out.append('}');
+    }
+
+    private static void field(Appendable out, String name, String value) throws IOException {
+        out.append(",\"").append(name).append("\":");
+        string(out, value);
+    }
+
+    static void string(Appendable out, String value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /** {"cle":"valeur", ...} à partir de couples clé / valeur (chaînes ou nombres). */
+    static String object(Object... keyValues) {
+        StringBuilder sb = new StringBuilder("{");
+        try {
+            for (int i = 0; i < keyValues.length; i += 2) {
+                if (i > 0) sb.append(',');
+                string(sb, (String) keyValues[i]);
+                sb.append(':');
+                Object value = keyValues[i + 1];
+                if (value instanceof Number || value instanceof Boolean) sb.append(value);
+                else string(sb, value == null ? null : value.toString());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // impossible sur un StringBuilder
+        }
+        return sb.append('}').toString();
+    }
+
+    // --- LECTURE ---
+    /**
+     * Lit un objet plat. Les nombres sont rendus en Long ou Double, les objets et tableaux imbriqués refusés.
+     * @throws IllegalArgumentException si le texte n'est pas un objet JSON de cette forme
+     */
+    static Map<String, Object> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, Object> result = new LinkedHashMap<>();
+        p.skipSpaces();
+        p.expect('{');
+        p.skipSpaces();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skipSpaces();
+                String key = p.string();
+                p.skipSpaces();
+                p.expect(':');
+                p.skipSpaces();
+                result.put(key, p.value());
+                p.skipSpaces();
+                if (p.peek() == ',') {
+                    p.pos++;
+                } else {
+                    p.expect('}');
+                    break;
+                }
+            }
+        }
+        p.skipSpaces();
+        if (p.pos != text.length()) throw p.error("fin de texte attendue");
+        return result;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        char peek() {
+            if (pos >= text.length()) throw error("fin de texte inattendue");
+            return text.charAt(pos);
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw error("'" + c + "' attendu");
+            pos++;
+        }
+
+        void skipSpaces() {
+            while (pos < text.length() && (text.charAt(pos) == ' ' || text.charAt(pos) == '\t'
+                    || text.charAt(pos) == '\n' || text.charAt(pos) == '\r')) {
+                pos++;
+            }
+        }
+
+        Object value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '-' || (c >= '0' && c <= '9')) return number();
+            if (text.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+            if (text.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+            if (text.startsWith("null", pos)) { pos += 4; return null; }
+            throw error("valeur non prise en charge");
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') return sb.toString();
+                if (c < 0x20) throw error("caractère de contrôle dans une chaîne");
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = peek();
+                pos++;
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) throw error("séquence \\u incomplète");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("séquence \\u invalide");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("échappement inconnu");
+                }
+            }
+        }
+
+        Object number() {
+            int start = pos;
+            if (peek() == '-') pos++;
+            boolean decimal = false;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    decimal = true;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            String literal = text.substring(start, pos);
+            try {
+                return decimal ? (Object) Double.parseDouble(literal) : (Object) Long.parseLong(literal);
+            } catch (NumberFormatException e) {
+                throw error("nombre invalide");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("JSON invalide (position " + pos + ") : " + message);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.cache;
+
+import org.example.metrics.Metrics;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Filtre de Bloom des emails déjà enregistrés (en minuscules), partagé par tous les DAO.
+ * "Absent" est certain : l'email est nouveau, inutile d'interroger la base. "Peut-être présent"
+ * (faux positifs ~1 %, emails supprimés depuis) doit être confirmé par une requête.
+ * Le filtre n'est qu'un raccourci : l'index unique sur user.email reste seul juge, ce qui couvre
+ * aussi les emails insérés par un autre processus. Tant que le premier chargement n'est pas fini,
+ * tout email est "peut-être présent".
+ */
+public class EmailRegistry {
+    private static final int BITS_PER_EMAIL = 10;
+    private static final int HASHES = 7;
+    private static EmailRegistry instance;
+
+    /** Lecture des emails existants, fournie par le DAO. */
+    public interface Source {
+        int count() throws SQLException;
+
+        void forEach(Consumer<String> sink) throws SQLException;
+    }
+
+    private final int minCapacity;
+    // null tant que le premier chargement n'est pas terminé
+    private volatile Filter filter;
+    // Filtre en cours de (re)construction : reçoit aussi les ajouts faits pendant le chargement
+    private volatile Filter building;
+    private Source source;
+    private CompletableFuture<Void> loading;
+
+    public EmailRegistry(int minCapacity) {
+        this.minCapacity = minCapacity;
+    }
+
+    public static synchronized EmailRegistry getInstance() {
+        if (instance == null) {
+            instance = new EmailRegistry(Integer.getInteger("talentflow.emails.minCapacity", 100_000));
+            EmailRegistry registry = instance;
+            Metrics.gauge("emails.registry.size", registry::size);
+            Metrics.gauge("emails.registry.capacity", registry::capacity);
+        }
+        return instance;
+    }
+
+    /** Forme normalisée d'un email, celle des clés du filtre. */
+    public static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // --- CONSULTATION ---
+    /** Faux seulement si l'email n'a certainement jamais été enregistré. */
+    public boolean mightContain(String email) {
+        Filter current = filter;
+        return current == null || current.mightContain(key(email));
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /** Emails ajoutés depuis le dernier chargement (doublons compris). */
+    public int size() {
+        Filter current = filter;
+        return current == null ? 0 : current.count.get();
+    }
+
+    public int capacity() {
+        Filter current = filter;
+        return current == null ? 0 : current.capacity;
+    }
+
+    // --- MISE À JOUR (appelée par les écritures du DAO) ---
+    public void add(String email) {
+        String key = key(email);
+        Filter current = filter;
+        if (current != null) current.add(key);
+        Filter next = building;
+        if (next != null) next.add(key);
+        // Trop d'emails pour la taille du filtre : le taux de faux positifs grimpe, on le reconstruit
+        if (current != null && current.count.get() > current.capacity) reload();
+    }
+
+    // --- CHARGEMENT ---
+    /**
+     * Lance le chargement en arrière-plan s'il n'a pas encore eu lieu ; retourne le chargement
+     * en cours, ou une tâche terminée si le filtre est déjà prêt.
+     */
+    public synchronized CompletableFuture<Void> warmUp(Source from) {
+        if (source == null) source = from;
+        if (loading != null) return loading;
+        if (filter != null) return CompletableFuture.completedFuture(null);
+        return startLoading();
+    }
+
+    /** Reconstruit le filtre depuis la base (taille recalculée), l'ancien restant utilisé d'ici là. */
+    public synchronized CompletableFuture<Void> reload() {
+        if (loading != null) return loading;
+        if (source == null) return CompletableFuture.completedFuture(null);
+        return startLoading();
+    }
+
+    private CompletableFuture<Void> startLoading() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        loading = future;
+        Source from = source;
+        Thread thread = new Thread(() -> {
+            try {
+                load(from);
+                future.complete(null);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Chargement des emails impossible : " + e.getMessage());
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    loading = null;
+                }
+            }
+        }, "talentflow-email-registry");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private void load(Source from) throws SQLException {
+        int existing = from.count();
+        Filter next = new Filter((int) Math.min(Integer.MAX_VALUE / BITS_PER_EMAIL, Math.max(minCapacity, 2L * existing)));
+        building = next;
+        try {
+            from.forEach(email -> next.add(key(email)));
+            filter = next;
+        } finally {
+            building = null;
+        }
+    }
+
+    /** Bits partagés sans verrou : un ajout ne fait que mettre des bits à 1. */
+    private static final class Filter {
+        final int capacity;
+        final long bitCount;
+        final AtomicLongArray words;
+        final AtomicInteger count = new AtomicInteger();
+
+        Filter(int capacity) {
+            this.capacity = capacity;
+            this.bitCount = (long) capacity * BITS_PER_EMAIL;
+            this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        void add(String key) {
+            long h1 = hash(key, 0x9E3779B97F4A7C15L);
+            long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0) words.getAndAccumulate(word, mask, (a, b) -> a | b);
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key, 0x9E3779B97F4A7C15L);
+            long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // Deux empreintes 64 bits indépendantes (graines différentes), combinées en HASHES positions
+        private static long hash(String key, long seed) {
+            long h = seed;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x100000001B3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.cache;
+
+import org.example.metrics.Metrics;
+import org.example.model.User;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Cache partagé des utilisateurs, indexé par id et par email.
+ * Taille bornée (éviction LRU), durée de vie par entrée et statistiques de succès / échecs.
+ * Les copies sont stockées et rendues : un écran qui modifie son User ne pollue pas le cache.
+ * Stockées ou rendues, les copies n'ont pas de mot de passe : l'empreinte ne reste pas en mémoire partagée,
+ * et un User relu du cache puis modifié laisse le mot de passe inchangé (mot de passe vide pour UserDAO.update).
+ */
+public class UserCache {
+    private static UserCache instance;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Integer, Entry> byId;
+    private final Map<String, Integer> byEmail = new HashMap<>();
+    // Incrémenté à chaque invalidation : un chargement commencé avant n'est pas mis en cache
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserCache(int maxSize, long ttl, TimeUnit unit) {
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() <= UserCache.this.maxSize) return false;
+                byEmail.remove(emailKey(eldest.getValue().user.getEmail()));
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public static synchronized UserCache getInstance() {
+        if (instance == null) {
+            instance = new UserCache(
+                    Integer.getInteger("talentflow.cache.maxSize", 10_000),
+                    Long.getLong("talentflow.cache.ttlSeconds", 300L), TimeUnit.SECONDS);
+            UserCache cache = instance;
+            Metrics.gauge("cache.user.size", cache::size);
+            Metrics.gauge("cache.user.hitRate", cache::getHitRate);
+            Metrics.gauge("cache.user.evictions", cache::getEvictions);
+        }
+        return instance;
+    }
+
+    // --- LECTURE (read-through) ---
+    public User getById(int id, IntFunction<User> loader) {
+        User cached = lookup(id);
+        if (cached != null) return cached;
+        long generation = generation();
+        User loaded = loader.apply(id);
+        if (loaded == null) return null;
+        putIfCurrent(loaded, generation);
+        return withoutPassword(loaded);
+    }
+
+    public User getByEmail(String email, Function<String, User> loader) {
+        Integer id;
+        lock.lock();
+        try {
+            id = byEmail.get(emailKey(email));
+        } finally {
+            lock.unlock();
+        }
+        User cached = id != null ? lookup(id) : null;
+        if (cached != null) return cached;
+        if (id == null) misses.increment();
+        long generation = generation();
+        User loaded = loader.apply(email);
+        if (loaded == null) return null;
+        putIfCurrent(loaded, generation);
+        return withoutPassword(loaded);
+    }
+
+    // --- ÉCRITURE / INVALIDATION ---
+    public void put(User user) {
+        putIfCurrent(user, generation());
+    }
+
+    public void invalidate(int id) {
+        lock.lock();
+        try {
+            invalidations++;
+            Entry removed = byId.remove(id);
+            if (removed != null) byEmail.remove(emailKey(removed.user.getEmail()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidations++;
+            byId.clear();
+            byEmail.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- STATISTIQUES ---
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    public int size() {
+        lock.lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getHitRate() {
+        long h = hits.sum(), total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserCache[taille=%d/%d, succès=%d, échecs=%d, évictions=%d, taux=%.1f%%]",
+                size(), maxSize, getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+    }
+
+    private User lookup(int id) {
+        lock.lock();
+        try {
+            Entry entry = byId.get(id);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - entry.loadedAt > ttlNanos) {
+                byId.remove(id);
+                byEmail.remove(emailKey(entry.user.getEmail()));
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return copy(entry.user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long generation() {
+        lock.lock();
+        try {
+            return invalidations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putIfCurrent(User user, long generation) {
+        lock.lock();
+        try {
+            if (generation != invalidations) return;
+            Entry previous = byId.put(user.getId(), new Entry(withoutPassword(user)));
+            if (previous != null) byEmail.remove(emailKey(previous.user.getEmail()));
+            byEmail.put(emailKey(user.getEmail()), user.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+
+    private static User copy(User u) {
+        return u == null ? null : u.copy();
+    }
+
+    private static User withoutPassword(User u) {
+        User stored = u.copy();
+        int dirty = stored.getDirtyFields();
+        stored.setPassword(null);
+        stored.markClean();
+        stored.markDirty(dirty & ~User.PASSWORD);
+        return stored;
+    }
+
+    private static final class Entry {
+        final User user;
+        final long loadedAt = System.nanoTime();
+
+        Entry(User user) {
+            this.user = user;
+        }
+    }
+}
@@ -1,17 +1,57 @@
 package org.example.controller;
 
 import org.example.model.User;
+import org.example.model.UserStore;
+import org.example.dao.BatchInsertResult;
+import org.example.dao.CreateResult;
+import org.example.dao.DataAccessException;
 import org.example.dao.UserDAO;
+import org.example.dao.UserSearch;
+import org.example.io.ImportReport;
+import org.example.io.UserCsvExporter;
+import org.example.io.UserCsvImporter;
+import org.example.service.ServiceRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 public class UserController {
 
     // IL FAUT ABSOLUMENT CETTE LIGNE POUR RÉPARER TES ERREURS ROUGES
-    private UserDAO userDAO = new UserDAO();
+    private UserDAO userDAO = ServiceRegistry.getInstance().userDAO();
 
-    public void addUser(String nom, String prenom, String email, String password, String role, String telephone) {
+    /** Retourne l'id attribué, ou -1 si l'insertion a échoué (email déjà utilisé compris). */
+    public int addUser(String nom, String prenom, String email, String password, String role, String telephone) {
         User user = new User(0, nom, prenom, email, password, role, telephone);
-        userDAO.create(user);
+        return userDAO.create(user).isCreated() ? user.getId() : -1;
+    }
+
+    /** Insère user ; en cas de succès, son id est renseigné. */
+    public CreateResult addUser(User user) {
+        return userDAO.create(user);
+    }
+
+    /** Connexion d'un client distant : source est son adresse, pour le limiteur de tentatives. */
+    public User login(String email, String password, String source) {
+        return userDAO.login(email, password, source);
+    }
+
+    public User getUser(int id) {
+        return userDAO.findByIdCached(id);
+    }
+
+    public BatchInsertResult addUsers(Collection<User> users) {
+        return userDAO.createAll(users);
+    }
+
+    public ImportReport importUsers(Path csv, Path errorFile) throws IOException {
+        return new UserCsvImporter(userDAO).importFile(csv, errorFile);
+    }
+
+    public long exportUsers(Path csv) throws IOException {
+        return new UserCsvExporter(userDAO).exportFile(csv);
     }
 
     public void displayUsers() {
@@ -27,8 +67,43 @@ public class UserController {
         return userDAO.readAll();
     }
 
+    public List<User> getUsersPage(int afterId, int pageSize) {
+        return userDAO.readPage(afterId, pageSize);
+    }
+
+    /**
+     * Ajoute une page à into (lecture compacte) ; retourne le nombre de lignes lues.
+     * @throws DataAccessException si la lecture échoue (DatabaseUnavailableException si la base est injoignable)
+     */
+    public int getUsersPage(int afterId, int pageSize, UserStore into) {
+        try {
+            return userDAO.fetchPage(afterId, pageSize, into);
+        } catch (SQLException e) {
+            throw DataAccessException.of(e);
+        }
+    }
+
+    /** @throws DataAccessException si la lecture échoue, au lieu d'une page vide */
+    public List<User> searchUsers(UserSearch criteria, User after, int pageSize) {
+        try {
+            return userDAO.fetchPage(criteria, after, pageSize);
+        } catch (SQLException e) {
+            throw DataAccessException.of(e);
+        }
+    }
+
     public void updateUser(int id, String nom, String prenom, String email, String password, String role, String telephone) {
+        updateUser(id, nom, prenom, email, password, role, telephone, User.NO_VERSION);
+    }
+
+    /**
+     * Mise à jour avec contrôle de concurrence quand version est connue (sinon User.NO_VERSION).
+     * @throws org.example.dao.UpdateConflictException si la ligne a changé depuis la lecture de cette version
+     */
+    public void updateUser(int id, String nom, String prenom, String email, String password, String role,
+                           String telephone, int version) {
         User user = new User(id, nom, prenom, email, password, role, telephone);
+        user.setVersion(version);
         userDAO.update(user);
     }
 
@@ -0,0 +1,43 @@
+package org.example.dao;
+
+import org.example.model.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan d'une insertion en masse : nombre de lignes insérées et détail des lignes rejetées.
+ */
+public class BatchInsertResult {
+
+    public static class RowFailure {
+        private final int index;
+        private final User user;
+        private final String message;
+
+        public RowFailure(int index, User user, String message) {
+            this.index = index;
+            this.user = user;
+            this.message = message;
+        }
+
+        /** Position de la ligne dans la collection passée à createAll (à partir de 0). */
+        public int getIndex() { return index; }
+        public User getUser() { return user; }
+        public String getMessage() { return message; }
+    }
+
+    private int inserted;
+    private final List<RowFailure> failures = new ArrayList<>();
+
+    void addInserted(int count) { inserted += count; }
+
+    void addFailure(int index, User user, String message) {
+        failures.add(new RowFailure(index, user, message));
+    }
+
+    public int getInserted() { return inserted; }
+    public List<RowFailure> getFailures() { return Collections.unmodifiableList(failures); }
+    public boolean hasFailures() { return !failures.isEmpty(); }
+}
@@ -0,0 +1,16 @@
+package org.example.dao;
+
+/**
+ * Issue de UserDAO.create. En cas de succès, l'id généré est renseigné sur le User inséré.
+ */
+public enum CreateResult {
+    CREATED,
+    /** Un compte utilise déjà cet email (sans distinction de casse) : rien n'a été inséré. */
+    DUPLICATE_EMAIL,
+    /** Échec SQL (connexion perdue, contrainte non respectée...) : rien n'a été inséré. */
+    ERROR;
+
+    public boolean isCreated() {
+        return this == CREATED;
+    }
+}
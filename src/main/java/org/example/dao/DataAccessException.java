@@ -0,0 +1,24 @@
+package org.example.dao;
+
+import org.example.utils.SqlErrorLog;
+
+import java.sql.SQLException;
+
+/**
+ * Échec SQL d'une opération qui ne peut pas se contenter d'une valeur par défaut (écriture, lecture
+ * d'une ligne précise) : l'appelant doit savoir qu'elle n'a pas eu lieu.
+ * Base injoignable : DatabaseUnavailableException, sous-classe que l'on peut proposer de réessayer.
+ */
+public class DataAccessException extends RuntimeException {
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    /** DatabaseUnavailableException si e signale une base injoignable, sinon DataAccessException. */
+    public static DataAccessException of(SQLException e) {
+        return SqlErrorLog.isUnavailable(e)
+                ? new DatabaseUnavailableException(e)
+                : new DataAccessException(e.getMessage(), e);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.dao;
+
+import org.example.utils.CircuitOpenException;
+
+import java.sql.SQLException;
+
+/**
+ * La base n'a pas répondu (connexion perdue, circuit ouvert), même après les nouveaux essais.
+ * Distingue une panne d'une réponse négative : un login échoué pour cette raison n'est pas compté comme
+ * une tentative ratée, et l'appelant peut proposer de réessayer plus tard.
+ */
+public class DatabaseUnavailableException extends DataAccessException {
+    private final long retryAfterMillis;
+
+    public DatabaseUnavailableException(SQLException cause) {
+        super("Base de données indisponible, réessayer dans quelques instants", cause);
+        this.retryAfterMillis = cause instanceof CircuitOpenException open ? open.getRetryAfterMillis() : 0;
+    }
+
+    /** Délai arrondi à la seconde supérieure (au moins 1), pour l'affichage et l'en-tête Retry-After. */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+}
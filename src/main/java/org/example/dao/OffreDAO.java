@@ -0,0 +1,274 @@
+package org.example.dao;
+
+import org.example.matching.Match;
+import org.example.matching.MatchingEngine;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+import org.example.model.Offre;
+import org.example.search.OffreIndex;
+import org.example.utils.MyConnection;
+import org.example.utils.RetryPolicy;
+import org.example.utils.SqlErrorLog;
+import org.example.utils.UnitOfWork;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.ObjIntConsumer;
+
+public class OffreDAO {
+
+    private static final Timer CREATE = Metrics.timer("dao.offre.create");
+    private static final Timer FIND_BY_ID = Metrics.timer("dao.offre.findById");
+    private static final Timer READ_ALL = Metrics.timer("dao.offre.readAll");
+    private static final Timer UPDATE = Metrics.timer("dao.offre.update");
+    private static final Timer DELETE = Metrics.timer("dao.offre.delete");
+
+    private final MyConnection db = MyConnection.getInstance();
+    // Index partagé : chaque écriture réussie y est reportée, la recherche ne touche pas la base
+    private final OffreIndex index = OffreIndex.getInstance();
+    // Classements des candidats par offre, chargés à la première demande puis tenus à jour de la même façon
+    private final MatchingEngine matching = MatchingEngine.getInstance();
+
+    public OffreDAO() {
+        // Le premier DAO créé lance la construction de l'index, en arrière-plan
+        index.warmUp(this::loadAll);
+    }
+
+    // --- MÉTHODE CREATE ---
+    /**
+     * Insère l'offre et renseigne son id généré. Retourne cet id, ou -1 en cas d'échec.
+     * Dans une UnitOfWork, index et classements ne voient l'offre qu'au commit ; annulée, l'offre perd son id.
+     */
+    public int create(Offre offre) {
+        long t0 = CREATE.start();
+        try (Connection conn = db.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(OffreQueries.INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            bind(pstmt, offre);
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    offre.setId(keys.getInt(1));
+                }
+            }
+            UnitOfWork.onRollback(() -> offre.setId(0));
+            publish(offre);
+            return offre.getId();
+        } catch (SQLException e) {
+            CREATE.error();
+            UnitOfWork.setRollbackOnly();
+            SqlErrorLog.report("Erreur SQL lors de l'insertion de l'offre", e);
+        } finally {
+            CREATE.stop(t0);
+        }
+        return -1;
+    }
+
+    // --- RECHERCHE (index en mémoire) ---
+    /**
+     * Offres classées par pertinence pour les mots de query (titre, compétences, description), au plus limit.
+     * Requête vide : les dernières offres. Attend la fin de la construction initiale de l'index si besoin.
+     */
+    public List<Offre> search(String query, int limit) {
+        awaitIndex();
+        return index.search(query, limit);
+    }
+
+    /** Relit toutes les offres dans l'index, et les candidats s'ils ont été chargés (modifications faites depuis un autre poste). */
+    public void reloadIndex() {
+        try {
+            if (matching.isReady()) matching.reload();
+            index.reload().join();
+        } catch (CompletionException e) {
+            // Déjà signalé par l'index ; l'ancien contenu reste utilisé
+        }
+    }
+
+    // --- RAPPROCHEMENT CANDIDATS ---
+    /**
+     * Les k candidats dont les compétences correspondent le mieux à l'offre, du meilleur score au moins bon.
+     * Le premier appel charge tous les candidats en mémoire (une fois pour toutes).
+     */
+    public List<Match> topCandidates(int offreId, int k) {
+        try {
+            matching.warmUp(new MatchingScan()).join();
+        } catch (CompletionException e) {
+            // Base indisponible : classement sur ce qui a pu être chargé
+        }
+        return matching.topCandidates(offreId, k);
+    }
+
+    private void awaitIndex() {
+        if (index.isReady()) return;
+        try {
+            index.warmUp(this::loadAll).join();
+        } catch (CompletionException e) {
+            // Base indisponible : la recherche porte sur ce qui est déjà indexé
+        }
+    }
+
+    // --- MÉTHODE FIND BY ID ---
+    public Offre findById(int id) {
+        long t0 = FIND_BY_ID.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(OffreQueries.FIND_BY_ID)) {
+                    pstmt.setInt(1, id);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? mapOffre(rs) : null;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            FIND_BY_ID.error();
+            SqlErrorLog.report(e);
+        } finally {
+            FIND_BY_ID.stop(t0);
+        }
+        return null;
+    }
+
+    // --- MÉTHODE READ ALL ---
+    public List<Offre> readAll() {
+        try {
+            return loadAll();
+        } catch (SQLException e) {
+            SqlErrorLog.report(e);
+            return new ArrayList<>();
+        }
+    }
+
+    // Lecture complète, erreur propagée : l'index ne doit pas se croire chargé avec une liste vide
+    private List<Offre> loadAll() throws SQLException {
+        long t0 = READ_ALL.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                List<Offre> offres = new ArrayList<>();
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(OffreQueries.READ_ALL);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        offres.add(mapOffre(rs));
+                    }
+                }
+                return offres;
+            });
+        } catch (SQLException e) {
+            READ_ALL.error();
+            throw e;
+        } finally {
+            READ_ALL.stop(t0);
+        }
+    }
+
+    // --- MÉTHODE UPDATE ---
+    /** Dans une UnitOfWork, index et classements ne changent qu'au commit. */
+    public void update(Offre offre) {
+        long t0 = UPDATE.start();
+        try (Connection conn = db.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(OffreQueries.UPDATE)) {
+            bind(pstmt, offre);
+            pstmt.setInt(7, offre.getId());
+            if (pstmt.executeUpdate() > 0) {
+                publish(offre);
+            } else {
+                // Supprimée entre-temps par un autre poste
+                unpublish(offre.getId());
+            }
+        } catch (SQLException e) {
+            UPDATE.error();
+            UnitOfWork.setRollbackOnly();
+            SqlErrorLog.report(e);
+        } finally {
+            UPDATE.stop(t0);
+        }
+    }
+
+    // --- MÉTHODE DELETE ---
+    /** Dans une UnitOfWork, l'offre ne quitte l'index et les classements qu'au commit. */
+    public void delete(int id) {
+        long t0 = DELETE.start();
+        try (Connection conn = db.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(OffreQueries.DELETE)) {
+            pstmt.setInt(1, id);
+            pstmt.executeUpdate();
+            unpublish(id);
+        } catch (SQLException e) {
+            DELETE.error();
+            UnitOfWork.setRollbackOnly();
+            SqlErrorLog.report(e);
+        } finally {
+            DELETE.stop(t0);
+        }
+    }
+
+    // Reports dans l'index et les classements, au commit de l'unité ouverte (tout de suite hors unité) :
+    // les autres threads ne voient jamais une offre non validée. L'offre est copiée dans son état écrit
+    private void publish(Offre offre) {
+        Offre written = offre.copy();
+        UnitOfWork.afterCommit(() -> {
+            index.put(written);
+            matching.onOffreChanged(written);
+        });
+    }
+
+    private void unpublish(int id) {
+        UnitOfWork.afterCommit(() -> {
+            index.remove(id);
+            matching.onOffreRemoved(id);
+        });
+    }
+
+    private static void bind(PreparedStatement pstmt, Offre offre) throws SQLException {
+        pstmt.setString(1, offre.getTitre());
+        pstmt.setString(2, offre.getEntreprise());
+        pstmt.setString(3, offre.getLieu() == null ? "" : offre.getLieu());
+        pstmt.setString(4, offre.getDescription() == null ? "" : offre.getDescription());
+        pstmt.setString(5, offre.getCompetences() == null ? "" : offre.getCompetences());
+        if (offre.getRecruteurId() > 0) {
+            pstmt.setInt(6, offre.getRecruteurId());
+        } else {
+            pstmt.setNull(6, Types.INTEGER);
+        }
+    }
+
+    /** Source du chargement de MatchingEngine : compétences des candidats par curseur, puis toutes les offres. */
+    private final class MatchingScan implements MatchingEngine.Source {
+        @Override
+        public void forEachCandidate(ObjIntConsumer<String> sink) throws SQLException {
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UserQueries.READ_CANDIDATES)) {
+                pstmt.setFetchSize(UserDAO.FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        sink.accept(rs.getString(2), rs.getInt(1));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public List<Offre> readOffres() throws SQLException {
+            return loadAll();
+        }
+    }
+
+    public static Offre mapOffre(ResultSet rs) throws SQLException {
+        return new Offre(
+                rs.getInt("id"),
+                rs.getString("titre"),
+                rs.getString("entreprise"),
+                rs.getString("lieu"),
+                rs.getString("description"),
+                rs.getString("competences"),
+                rs.getInt("recruteur_id")
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.dao;
+
+/**
+ * Catalogue des requêtes SQL de la table offre (textes constants, réutilisés par le cache de statements du pool).
+ * Pas de requête de recherche : elle est servie par l'index en mémoire (OffreIndex).
+ */
+final class OffreQueries {
+
+    static final String FIND_BY_ID = "SELECT * FROM offre WHERE id = ?";
+    static final String READ_ALL = "SELECT * FROM offre ORDER BY id";
+    static final String INSERT = "INSERT INTO offre (titre, entreprise, lieu, description, competences, recruteur_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    static final String UPDATE = "UPDATE offre SET titre=?, entreprise=?, lieu=?, description=?, competences=?, "
+            + "recruteur_id=? WHERE id=?";
+    static final String DELETE = "DELETE FROM offre WHERE id=?";
+
+    private OffreQueries() {
+    }
+}
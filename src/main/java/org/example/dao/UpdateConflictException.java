@@ -0,0 +1,24 @@
+package org.example.dao;
+
+/**
+ * Mise à jour refusée : la ligne a été modifiée (ou supprimée) depuis sa lecture.
+ * L'appelant doit relire l'utilisateur avant de réappliquer ses changements.
+ */
+public class UpdateConflictException extends RuntimeException {
+    private final int userId;
+    private final int expectedVersion;
+
+    public UpdateConflictException(int userId, int expectedVersion) {
+        super("L'utilisateur " + userId + " a été modifié ou supprimé entre-temps (version " + expectedVersion + " attendue)");
+        this.userId = userId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+}
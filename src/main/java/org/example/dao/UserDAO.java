@@ -1,125 +1,1123 @@
 package org.example.dao;
 
+import org.example.cache.EmailRegistry;
+import org.example.cache.UserCache;
+import org.example.matching.MatchingEngine;
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+import org.example.model.Role;
 import org.example.model.User;
+import org.example.model.UserStore;
+import org.example.security.LoginGuard;
+import org.example.security.PasswordHasher;
+import org.example.security.SessionStore;
 import org.example.utils.MyConnection;
+import org.example.utils.RetryPolicy;
+import org.example.utils.SqlErrorLog;
+import org.example.utils.UnitOfWork;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class UserDAO {
-    private Connection conn;
+    // Taille de page par défaut et nombre de lignes ramenées par aller-retour JDBC
+    public static final int DEFAULT_PAGE_SIZE = Integer.getInteger("talentflow.dao.pageSize", 200);
+    static final int FETCH_SIZE = Integer.getInteger("talentflow.dao.fetchSize", 500);
+    // Nombre de lignes par lot (et par transaction) pour les insertions en masse
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("talentflow.dao.batchSize", 500);
+
+    // Métriques : latence et nombre d'échecs de chaque méthode, et issue des tentatives de connexion
+    private static final Timer LOGIN = Metrics.timer("dao.user.login");
+    private static final Timer FIND_BY_EMAIL = Metrics.timer("dao.user.findByEmail");
+    private static final Timer FIND_BY_ID = Metrics.timer("dao.user.findById");
+    private static final Timer FIND_BY_EMAIL_CACHED = Metrics.timer("dao.user.findByEmailCached");
+    private static final Timer FIND_BY_ID_CACHED = Metrics.timer("dao.user.findByIdCached");
+    private static final Timer FIND_BY_IDS = Metrics.timer("dao.user.findByIds");
+    private static final Timer UPDATE_PASSWORD_HASH = Metrics.timer("dao.user.updatePasswordHash");
+    private static final Timer CREATE = Metrics.timer("dao.user.create");
+    private static final Timer CREATE_ALL = Metrics.timer("dao.user.createAll");
+    private static final Timer EMAIL_EXISTS = Metrics.timer("dao.user.emailExists");
+    private static final Timer EXISTING_EMAILS = Metrics.timer("dao.user.existingEmails");
+    private static final Timer READ_ALL = Metrics.timer("dao.user.readAll");
+    private static final Timer READ_PAGE = Metrics.timer("dao.user.readPage");
+    private static final Timer READ_ALL_COMPACT = Metrics.timer("dao.user.readAllCompact");
+    private static final Timer READ_PAGE_COMPACT = Metrics.timer("dao.user.readPageCompact");
+    private static final Timer SEARCH = Metrics.timer("dao.user.search");
+    private static final Timer SEARCH_AT = Metrics.timer("dao.user.searchAt");
+    private static final Timer COUNT = Metrics.timer("dao.user.count");
+    private static final Timer POSITION_OF = Metrics.timer("dao.user.positionOf");
+    private static final Timer READ_DELTA = Metrics.timer("dao.user.readDelta");
+    private static final Timer UPDATE = Metrics.timer("dao.user.update");
+    private static final Timer DELETE = Metrics.timer("dao.user.delete");
+    private static final Counter LOGIN_SUCCESS = Metrics.counter("auth.login.success");
+    private static final Counter LOGIN_UNKNOWN_EMAIL = Metrics.counter("auth.login.unknownEmail");
+    private static final Counter LOGIN_BAD_PASSWORD = Metrics.counter("auth.login.badPassword");
+    private static final Counter LOGIN_REHASHED = Metrics.counter("auth.login.rehashed");
+    private static final Counter LOGIN_UNAVAILABLE = Metrics.counter("auth.login.databaseUnavailable");
+    private static final Counter UPDATE_CONFLICTS = Metrics.counter("dao.user.updateConflicts");
+    private static final Counter DUPLICATE_EMAILS = Metrics.counter("dao.user.duplicateEmails");
+    private static final Counter EMAIL_CHECKS_SKIPPED = Metrics.counter("dao.user.emailChecksSkipped");
+
+    // Chaque méthode emprunte sa propre connexion au pool : les appels concurrents ne partagent plus un socket
+    private final MyConnection db = MyConnection.getInstance();
+    // Cache partagé par tous les DAO : chaque écriture invalide les entrées concernées
+    private final UserCache cache = UserCache.getInstance();
+    // Limiteur des tentatives de connexion, partagé par tous les DAO
+    private final LoginGuard guard = LoginGuard.getInstance();
+    // Sessions ouvertes : rôle mis à jour, ou session fermée, quand l'utilisateur change
+    private final SessionStore sessions = SessionStore.getInstance();
+    // Emails déjà enregistrés (filtre de Bloom) : un email certainement nouveau n'est pas vérifié en base
+    private final EmailRegistry emails = EmailRegistry.getInstance();
+    // Vecteurs de compétences des candidats : chaque écriture d'un candidat met ses classements à jour
+    private final MatchingEngine matching = MatchingEngine.getInstance();
 
     public UserDAO() {
-        // Initialisation sécurisée dans le constructeur
+        // Le premier DAO créé lance le chargement des emails existants, en arrière-plan
+        emails.warmUp(new EmailScan(db));
+    }
+
+    // --- MÉTHODE LOGIN ---
+    /** Connexion depuis l'application de bureau (source LoginGuard.LOCAL_SOURCE). */
+    public User login(String email, String password) {
+        return login(email, password, LoginGuard.LOCAL_SOURCE);
+    }
+
+    /**
+     * Cherche l'utilisateur par email (colonne indexée) puis vérifie le mot de passe en temps constant,
+     * sans garder de connexion pendant le calcul. Si le coût du hachage a changé (ou si le mot de passe
+     * était encore en clair), l'empreinte est recalculée et enregistrée de façon transparente.
+     * LoginGuard filtre d'abord les tentatives : au-delà des limites, LoginThrottledException est levée
+     * sans aucune requête. source identifie l'origine de la tentative (poste, adresse IP).
+     * Base injoignable (même après les nouveaux essais) : DatabaseUnavailableException, et la tentative
+     * n'est pas comptée comme un échec.
+     */
+    public User login(String email, String password, String source) {
+        guard.acquire(email, source);
+        long t0 = LOGIN.start();
+        boolean verdict = false;
         try {
-            this.conn = MyConnection.getInstance().getConnection();
-            if (this.conn == null) {
-                System.err.println("❌ UserDAO : La connexion est nulle. Vérifiez XAMPP / MySQL.");
+            User user = lookupByEmail(email);
+            String stored = user != null ? user.getPassword() : PasswordHasher.dummyHash();
+            boolean valid = PasswordHasher.verifyAsync(password, stored).join();
+            verdict = true;
+            if (user == null) {
+                LOGIN_UNKNOWN_EMAIL.increment();
+                guard.onFailure(email, source);
+                return null;
+            }
+            if (!valid) {
+                LOGIN_BAD_PASSWORD.increment();
+                guard.onFailure(email, source);
+                return null;
             }
-        } catch (Exception e) {
-            System.err.println("❌ UserDAO : Erreur lors de l'accès à MyConnection : " + e.getMessage());
+            guard.onSuccess(email, source);
+
+            if (PasswordHasher.needsRehash(stored)) {
+                String rehashed = PasswordHasher.hashAsync(password).join();
+                if (updatePasswordHash(user.getId(), stored, rehashed)) {
+                    user.setPassword(rehashed);
+                    // Empreinte déjà enregistrée : un update ultérieur de cet objet ne doit pas la hacher à nouveau
+                    user.markClean();
+                    LOGIN_REHASHED.increment();
+                }
+            }
+            // L'utilisateur connecté sera relu par la session et le dashboard : on le garde au chaud
+            // (UserCache n'en garde qu'une copie sans l'empreinte du mot de passe)
+            cache.put(user);
+            LOGIN_SUCCESS.increment();
+            return user;
+        } catch (SQLException e) {
+            // Une panne n'est ni un succès ni un échec pour LoginGuard
+            LOGIN.error();
+            LOGIN_UNAVAILABLE.increment();
+            guard.release(email, source);
+            throw new DatabaseUnavailableException(e);
+        } catch (RuntimeException e) {
+            // Pool de hachage saturé ou erreur inattendue : l'appelant reçoit l'exception
+            LOGIN.error();
+            if (!verdict) guard.release(email, source);
+            throw e;
+        } finally {
+            LOGIN.stop(t0);
         }
     }
 
-    // --- MÉTHODE LOGIN ---
-    public User login(String email, String password) {
-        if (conn == null) return null;
-        String sql = "SELECT * FROM user WHERE email = ? AND password = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, email);
-            pstmt.setString(2, password);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new User(
-                            rs.getInt("id"),
-                            rs.getString("nom"),
-                            rs.getString("prenom"),
-                            rs.getString("email"),
-                            rs.getString("password"),
-                            rs.getString("role"),
-                            rs.getString("telephone")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // --- MÉTHODE FIND BY EMAIL ---
+    public User findByEmail(String email) {
+        long t0 = FIND_BY_EMAIL.start();
+        try {
+            return lookupByEmail(email);
+        } catch (SQLException e) {
+            FIND_BY_EMAIL.error();
+            SqlErrorLog.report(e);
+        } finally {
+            FIND_BY_EMAIL.stop(t0);
         }
         return null;
     }
 
+    // Variante qui propage l'erreur (après les nouveaux essais) : login distingue une panne d'un email inconnu
+    private User lookupByEmail(String email) throws SQLException {
+        return RetryPolicy.READS.execute(() -> {
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UserQueries.FIND_BY_EMAIL)) {
+                pstmt.setString(1, email);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? mapUser(rs) : null;
+                }
+            }
+        });
+    }
+
+    // --- MÉTHODE FIND BY ID ---
+    /** null si l'utilisateur n'existe pas ; échec SQL : DataAccessException (DatabaseUnavailableException en panne). */
+    public User findById(int id) {
+        long t0 = FIND_BY_ID.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.FIND_BY_ID)) {
+                    pstmt.setInt(1, id);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? mapUser(rs) : null;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            FIND_BY_ID.error();
+            throw DataAccessException.of(e);
+        } finally {
+            FIND_BY_ID.stop(t0);
+        }
+    }
+
+    /**
+     * Utilisateurs des ids donnés, par requêtes de IDS_PER_QUERY ids (une seule jusqu'à 100 ids),
+     * indexés par id ; un id inconnu est absent de la table. Échec SQL : DataAccessException.
+     */
+    public Map<Integer, User> findByIds(List<Integer> ids) {
+        Map<Integer, User> found = new HashMap<>();
+        if (ids.isEmpty()) return found;
+        long t0 = FIND_BY_IDS.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                found.clear();
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.FIND_BY_IDS)) {
+                    for (int from = 0; from < ids.size(); from += UserQueries.IDS_PER_QUERY) {
+                        int to = Math.min(from + UserQueries.IDS_PER_QUERY, ids.size());
+                        for (int i = 0; i < UserQueries.IDS_PER_QUERY; i++) {
+                            pstmt.setInt(i + 1, ids.get(Math.min(from + i, to - 1)));
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                User user = mapUser(rs);
+                                found.put(user.getId(), user);
+                            }
+                        }
+                    }
+                }
+                return found;
+            });
+        } catch (SQLException e) {
+            FIND_BY_IDS.error();
+            throw DataAccessException.of(e);
+        } finally {
+            FIND_BY_IDS.stop(t0);
+        }
+    }
+
+    // --- LECTURES VIA LE CACHE PARTAGÉ ---
+    // Dans une UnitOfWork, lecture directe : une ligne pas encore validée (ou annulée ensuite) n'entre pas dans le cache
+    public User findByIdCached(int id) {
+        long t0 = FIND_BY_ID_CACHED.start();
+        try {
+            if (UnitOfWork.isActive()) return findById(id);
+            return cache.getById(id, this::findById);
+        } finally {
+            FIND_BY_ID_CACHED.stop(t0);
+        }
+    }
+
+    public User findByEmailCached(String email) {
+        long t0 = FIND_BY_EMAIL_CACHED.start();
+        try {
+            if (UnitOfWork.isActive()) return findByEmail(email);
+            return cache.getByEmail(email, this::findByEmail);
+        } finally {
+            FIND_BY_EMAIL_CACHED.stop(t0);
+        }
+    }
+
+    // Ne remplace l'empreinte que si elle n'a pas changé entre-temps (login concurrent ou modification admin)
+    private boolean updatePasswordHash(int id, String expected, String rehashed) {
+        long t0 = UPDATE_PASSWORD_HASH.start();
+        try (Connection conn = db.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UserQueries.UPDATE_PASSWORD_HASH)) {
+            pstmt.setString(1, rehashed);
+            pstmt.setInt(2, id);
+            pstmt.setString(3, expected);
+            boolean updated = pstmt.executeUpdate() == 1;
+            cache.invalidate(id);
+            return updated;
+        } catch (SQLException e) {
+            UPDATE_PASSWORD_HASH.error();
+            SqlErrorLog.report(e);
+        } finally {
+            UPDATE_PASSWORD_HASH.stop(t0);
+        }
+        return false;
+    }
+
     // --- MÉTHODE CREATE ---
-    public void create(User user) {
-        if (conn == null) {
-            System.err.println("❌ Impossible de créer : Connexion BDD inexistante.");
-            return;
-        }
-        String sql = "INSERT INTO user (nom, prenom, email, password, role, telephone) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, user.getNom());
-            pstmt.setString(2, user.getPrenom());
-            pstmt.setString(3, user.getEmail());
-            pstmt.setString(4, user.getPassword());
-            pstmt.setString(5, user.getRole());
-            pstmt.setString(6, user.getTelephone());
-            pstmt.executeUpdate();
-            System.out.println("✅ Utilisateur inséré avec succès.");
+    /**
+     * Insère l'utilisateur et renseigne son id généré. Un email déjà utilisé est signalé par DUPLICATE_EMAIL,
+     * qu'il soit détecté avant l'insertion (sans hacher le mot de passe) ou par l'index unique.
+     * Dans une UnitOfWork, un échec condamne l'unité, et emails connus et classements ne changent qu'au commit.
+     * Base injoignable : DatabaseUnavailableException ; autre erreur SQL : CreateResult.ERROR.
+     */
+    public CreateResult create(User user) {
+        long t0 = CREATE.start();
+        try {
+            if (emailExists(user.getEmail())) {
+                DUPLICATE_EMAILS.increment();
+                return CreateResult.DUPLICATE_EMAIL;
+            }
+            String plain = user.getPassword();
+            int dirty = user.getDirtyFields();
+            hashPassword(user);
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UserQueries.INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                bindInsert(pstmt, user);
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        user.setId(keys.getInt(1));
+                    }
+                }
+                // Ligne neuve : version initiale de la colonne, rien à réécrire
+                user.setVersion(0);
+                user.markClean();
+                UnitOfWork.onRollback(() -> restore(user, 0, plain, User.NO_VERSION, dirty));
+                UnitOfWork.afterCommit(() -> {
+                    emails.add(user.getEmail());
+                    if (isCandidate(user)) matching.onCandidateChanged(user.getId(), user.getCompetences());
+                });
+                System.out.println("✅ Utilisateur inséré avec succès.");
+                return CreateResult.CREATED;
+            } catch (SQLException e) {
+                user.setPassword(plain);
+                UnitOfWork.setRollbackOnly();
+                if (isDuplicateKey(e)) {
+                    // Email enregistré entre-temps (inscription concurrente, autre processus) : refusé par l'index unique
+                    emails.add(user.getEmail());
+                    DUPLICATE_EMAILS.increment();
+                    return CreateResult.DUPLICATE_EMAIL;
+                }
+                CREATE.error();
+                // Panne : l'appelant doit pouvoir la distinguer d'un refus et proposer de réessayer
+                if (SqlErrorLog.isUnavailable(e)) throw new DatabaseUnavailableException(e);
+                SqlErrorLog.report("Erreur SQL lors de l'insertion", e);
+                return CreateResult.ERROR;
+            }
+        } finally {
+            CREATE.stop(t0);
+        }
+    }
+
+    // --- EXISTENCE DES EMAILS ---
+    /**
+     * Vrai si un compte utilise déjà cet email. Aucune requête quand EmailRegistry sait l'email nouveau.
+     * Retourne faux en cas d'erreur SQL : l'index unique tranchera à l'insertion.
+     */
+    public boolean emailExists(String email) {
+        if (email == null) return false;
+        if (!emails.mightContain(email)) {
+            EMAIL_CHECKS_SKIPPED.increment();
+            return false;
+        }
+        long t0 = EMAIL_EXISTS.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.EMAIL_EXISTS)) {
+                    pstmt.setString(1, email);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next();
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            EMAIL_EXISTS.error();
+            SqlErrorLog.report(e);
+        } finally {
+            EMAIL_EXISTS.stop(t0);
+        }
+        return false;
+    }
+
+    /**
+     * Parmi candidates, les emails déjà utilisés (forme EmailRegistry.key). Seuls ceux que le filtre ne sait pas
+     * nouveaux sont cherchés en base, par requêtes de UserQueries.EMAILS_PER_QUERY emails.
+     * En cas d'erreur SQL, le résultat est partiel : l'index unique refusera les doublons restants.
+     */
+    public Set<String> findExistingEmails(Collection<String> candidates) {
+        Set<String> existing = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String email : candidates) {
+            if (email != null && emails.mightContain(email)) unknown.add(email);
+        }
+        EMAIL_CHECKS_SKIPPED.add(candidates.size() - unknown.size());
+        if (unknown.isEmpty()) return existing;
+
+        long t0 = EXISTING_EMAILS.start();
+        try {
+            // Un nouvel essai repart du début : les emails déjà trouvés sont simplement ajoutés à nouveau
+            RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.EXISTING_EMAILS)) {
+                    for (int from = 0; from < unknown.size(); from += UserQueries.EMAILS_PER_QUERY) {
+                        int to = Math.min(from + UserQueries.EMAILS_PER_QUERY, unknown.size());
+                        for (int i = 0; i < UserQueries.EMAILS_PER_QUERY; i++) {
+                            pstmt.setString(i + 1, unknown.get(Math.min(from + i, to - 1)));
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                existing.add(EmailRegistry.key(rs.getString(1)));
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
         } catch (SQLException e) {
-            System.err.println("❌ Erreur SQL lors de l'insertion : " + e.getMessage());
-            e.printStackTrace();
+            EXISTING_EMAILS.error();
+            SqlErrorLog.report(e);
+        } finally {
+            EXISTING_EMAILS.stop(t0);
+        }
+        return existing;
+    }
+
+    /** Violation d'unicité : code MySQL ER_DUP_ENTRY, ou SQLSTATE standard 23505 (H2, PostgreSQL). */
+    static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+
+    // --- MÉTHODE CREATE ALL (insertion en masse) ---
+    public BatchInsertResult createAll(Collection<User> users) {
+        return createAll(users, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insère les utilisateurs par lots JDBC de batchSize lignes, une transaction par lot.
+     * Si un lot échoue, il est annulé puis rejoué ligne par ligne pour isoler les lignes fautives.
+     * Les ids générés sont renseignés sur les utilisateurs insérés.
+     */
+    public BatchInsertResult createAll(Collection<User> users, int batchSize) {
+        long t0 = CREATE_ALL.start();
+        BatchInsertResult result = new BatchInsertResult();
+        List<User> chunk = new ArrayList<>(Math.min(batchSize, users.size()));
+        int chunkStart = 0;
+        try (Connection conn = db.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UserQueries.INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+            try {
+                for (User user : users) {
+                    chunk.add(user);
+                    if (chunk.size() == batchSize) {
+                        insertChunk(conn, pstmt, chunk, chunkStart, result);
+                        chunkStart += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    insertChunk(conn, pstmt, chunk, chunkStart, result);
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            CREATE_ALL.error();
+            // Connexion perdue : toutes les lignes non traitées sont rejetées
+            System.err.println("❌ Erreur SQL lors de l'insertion en masse : " + e.getMessage());
+            int index = 0;
+            for (User user : users) {
+                if (index >= chunkStart) result.addFailure(index, user, e.getMessage());
+                index++;
+            }
+        } finally {
+            CREATE_ALL.stop(t0);
+        }
+        return result;
+    }
+
+    private void insertChunk(Connection conn, PreparedStatement pstmt, List<User> chunk, int chunkStart,
+                             BatchInsertResult result) throws SQLException {
+        // Hachage du lot en parallèle sur le pool borné (par vagues, sans saturer sa file), avant d'écrire quoi que ce soit
+        List<User> toHash = new ArrayList<>(chunk.size());
+        List<String> passwords = new ArrayList<>(chunk.size());
+        for (User user : chunk) {
+            if (needsHashing(user.getPassword())) {
+                toHash.add(user);
+                passwords.add(user.getPassword());
+            }
+        }
+        List<String> hashes = PasswordHasher.hashAll(passwords);
+        for (int i = 0; i < toHash.size(); i++) {
+            toHash.get(i).setPassword(hashes.get(i));
+        }
+
+        try {
+            for (User user : chunk) {
+                bindInsert(pstmt, user);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                for (int i = 0; i < chunk.size() && keys.next(); i++) {
+                    chunk.get(i).setId(keys.getInt(1));
+                }
+            }
+            conn.commit();
+            result.addInserted(chunk.size());
+            List<User> inserted = new ArrayList<>(chunk);
+            UnitOfWork.afterCommit(() -> {
+                for (User user : inserted) {
+                    emails.add(user.getEmail());
+                    if (isCandidate(user)) matching.onCandidateChanged(user.getId(), user.getCompetences());
+                }
+            });
+        } catch (SQLException batchError) {
+            conn.rollback();
+            pstmt.clearBatch();
+            // Repli ligne par ligne : seules les lignes fautives sont rejetées
+            for (int i = 0; i < chunk.size(); i++) {
+                User user = chunk.get(i);
+                try {
+                    bindInsert(pstmt, user);
+                    pstmt.executeUpdate();
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (keys.next()) user.setId(keys.getInt(1));
+                    }
+                    conn.commit();
+                    result.addInserted(1);
+                    UnitOfWork.afterCommit(() -> {
+                        emails.add(user.getEmail());
+                        if (isCandidate(user)) matching.onCandidateChanged(user.getId(), user.getCompetences());
+                    });
+                } catch (SQLException rowError) {
+                    conn.rollback();
+                    result.addFailure(chunkStart + i, user, rowError.getMessage());
+                }
+            }
         }
     }
 
+    // Toute valeur reçue est un mot de passe en clair, même si elle a la forme d'une empreinte :
+    // sinon un client choisirait lui-même son empreinte (et son coût), sans dérivation ni politique de mot de passe
+    private static boolean needsHashing(String password) {
+        return password != null && !password.isEmpty();
+    }
+
+    private void hashPassword(User user) {
+        if (needsHashing(user.getPassword())) {
+            user.setPassword(PasswordHasher.hashAsync(user.getPassword()).join());
+        }
+    }
+
+    private void bindInsert(PreparedStatement pstmt, User user) throws SQLException {
+        pstmt.setString(1, user.getNom());
+        pstmt.setString(2, user.getPrenom());
+        pstmt.setString(3, user.getEmail());
+        pstmt.setString(4, user.getPassword());
+        pstmt.setString(5, user.getRole());
+        pstmt.setString(6, user.getTelephone());
+        pstmt.setString(7, user.getCompetences());
+    }
+
     // --- MÉTHODE READ ALL ---
     public List<User> readAll() {
-        List<User> users = new ArrayList<>();
-        if (conn == null) return users;
-        String sql = "SELECT * FROM user";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                users.add(new User(
-                        rs.getInt("id"),
-                        rs.getString("nom"),
-                        rs.getString("prenom"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getString("role"),
-                        rs.getString("telephone")
-                ));
+        long t0 = READ_ALL.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                List<User> users = new ArrayList<>();
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.READ_ALL);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        users.add(mapUser(rs));
+                    }
+                }
+                return users;
+            });
+        } catch (SQLException e) {
+            READ_ALL.error();
+            SqlErrorLog.report(e);
+        } finally {
+            READ_ALL.stop(t0);
+        }
+        return new ArrayList<>();
+    }
+
+    // --- MÉTHODE READ PAGE (pagination par clé sur id) ---
+    /**
+     * Lit au plus pageSize utilisateurs dont l'id est strictement supérieur à afterId, triés par id.
+     * Pour la page suivante, repasser l'id du dernier utilisateur retourné (0 pour la première page).
+     */
+    public List<User> readPage(int afterId, int pageSize) {
+        try {
+            return fetchPage(afterId, pageSize);
+        } catch (SQLException e) {
+            SqlErrorLog.report(e);
+            return new ArrayList<>();
+        }
+    }
+
+    /** Comme readPage, erreur propagée. */
+    public List<User> fetchPage(int afterId, int pageSize) throws SQLException {
+        long t0 = READ_PAGE.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                List<User> users = new ArrayList<>(pageSize);
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.READ_PAGE)) {
+                    pstmt.setFetchSize(Math.min(pageSize, FETCH_SIZE));
+                    pstmt.setInt(1, afterId);
+                    pstmt.setInt(2, pageSize);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            users.add(mapUser(rs));
+                        }
+                    }
+                }
+                return users;
+            });
+        } catch (SQLException e) {
+            READ_PAGE.error();
+            throw e;
+        } finally {
+            READ_PAGE.stop(t0);
+        }
+    }
+
+    // --- LECTURES COMPACTES (traitements en masse) ---
+    /**
+     * Charge toute la table dans un UserStore : les lignes passent directement du ResultSet aux colonnes
+     * du store, sans objet User intermédiaire. Les mots de passe ne sont pas lus.
+     */
+    public UserStore readAllCompact() {
+        long t0 = READ_ALL_COMPACT.start();
+        UserStore store;
+        try {
+            store = RetryPolicy.READS.execute(() -> {
+                UserStore read = new UserStore();
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.READ_ALL_COMPACT)) {
+                    pstmt.setFetchSize(FETCH_SIZE);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            appendTo(read, rs);
+                        }
+                    }
+                }
+                return read;
+            });
+        } catch (SQLException e) {
+            READ_ALL_COMPACT.error();
+            SqlErrorLog.report(e);
+            store = new UserStore();
+        } finally {
+            READ_ALL_COMPACT.stop(t0);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * Variante de readPage qui ajoute la page à into (à vider au préalable pour le réutiliser d'une page à l'autre).
+     * Retourne le nombre de lignes lues, ou -1 en cas d'erreur.
+     */
+    public int readPage(int afterId, int pageSize, UserStore into) {
+        try {
+            return fetchPage(afterId, pageSize, into);
+        } catch (SQLException e) {
+            SqlErrorLog.report(e);
+            return -1;
+        }
+    }
+
+    /** Comme readPage, erreur propagée. */
+    public int fetchPage(int afterId, int pageSize, UserStore into) throws SQLException {
+        long t0 = READ_PAGE_COMPACT.start();
+        int start = into.size();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                // Nouvel essai après une coupure en pleine lecture : la page reprend après la dernière ligne
+                // déjà ajoutée (tri par id), sans doublon dans into
+                int read = into.size() - start;
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(UserQueries.READ_PAGE_COMPACT)) {
+                    pstmt.setFetchSize(Math.min(pageSize, FETCH_SIZE));
+                    pstmt.setInt(1, read == 0 ? afterId : into.getId(into.size() - 1));
+                    pstmt.setInt(2, pageSize - read);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            appendTo(into, rs);
+                        }
+                    }
+                }
+                return into.size() - start;
+            });
+        } catch (SQLException e) {
+            READ_PAGE_COMPACT.error();
+            throw e;
+        } finally {
+            READ_PAGE_COMPACT.stop(t0);
+        }
+    }
+
+    // --- MÉTHODE STREAM (exports) ---
+    /**
+     * Parcourt toute la table page par page : une seule page en mémoire à la fois,
+     * et aucune connexion n'est gardée entre deux pages. Une page illisible interrompt le parcours par
+     * DataAccessException (DatabaseUnavailableException en panne) : elle ne passe pas pour la fin de la table.
+     */
+    public Stream<User> streamAll(int pageSize) {
+        Spliterator<User> pages = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT) {
+            private Iterator<User> current = List.<User>of().iterator();
+            private int lastId = 0;
+            private boolean lastPage = false;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super User> action) {
+                if (!current.hasNext()) {
+                    if (lastPage) return false;
+                    List<User> page;
+                    try {
+                        page = fetchPage(lastId, pageSize);
+                    } catch (SQLException e) {
+                        throw DataAccessException.of(e);
+                    }
+                    lastPage = page.size() < pageSize;
+                    if (page.isEmpty()) return false;
+                    lastId = page.get(page.size() - 1).getId();
+                    current = page.iterator();
+                }
+                action.accept(current.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    // --- MÉTHODE SEARCH (recherche indexée, pagination par clé) ---
+    /**
+     * Recherche paginée. after est la dernière ligne de la page précédente (null pour la première page) :
+     * la page suivante reprend après le couple (valeur de tri, id) de cette ligne, sans OFFSET.
+     * Chaque colonne recherchée a son propre index : la recherche par préfixe est une union
+     * de trois parcours d'index plutôt qu'un OR qui forcerait un parcours de table.
+     */
+    public List<User> search(UserSearch criteria, User after, int pageSize) {
+        try {
+            return fetchPage(criteria, after, pageSize);
+        } catch (SQLException e) {
+            SqlErrorLog.report(e);
+            return new ArrayList<>();
+        }
+    }
+
+    /** Comme search, erreur propagée : une page illisible ne doit pas passer pour une page vide. */
+    public List<User> fetchPage(UserSearch criteria, User after, int pageSize) throws SQLException {
+        long t0 = SEARCH.start();
+        List<Object> params = new ArrayList<>();
+        String sql = UserQueries.search(criteria, after, pageSize, params);
+        try {
+            return query(sql, params, pageSize);
+        } catch (SQLException e) {
+            SEARCH.error();
+            throw e;
+        } finally {
+            SEARCH.stop(t0);
+        }
+    }
+
+    /**
+     * Page de recherche par position : pour afficher directement une page éloignée
+     * (défilement rapide) quand la fin de la page précédente n'est pas connue.
+     */
+    public List<User> searchAt(UserSearch criteria, int offset, int pageSize) {
+        try {
+            return fetchPageAt(criteria, offset, pageSize);
+        } catch (SQLException e) {
+            SqlErrorLog.report(e);
+            return new ArrayList<>();
+        }
+    }
+
+    /** Comme searchAt, erreur propagée. */
+    public List<User> fetchPageAt(UserSearch criteria, int offset, int pageSize) throws SQLException {
+        long t0 = SEARCH_AT.start();
+        List<Object> params = new ArrayList<>();
+        String sql = UserQueries.searchAt(criteria, offset, pageSize, params);
+        try {
+            return query(sql, params, pageSize);
+        } catch (SQLException e) {
+            SEARCH_AT.error();
+            throw e;
+        } finally {
+            SEARCH_AT.stop(t0);
+        }
+    }
+
+    private List<User> query(String sql, List<Object> params, int pageSize) throws SQLException {
+        return RetryPolicy.READS.execute(() -> {
+            List<User> users = new ArrayList<>(pageSize);
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setFetchSize(Math.min(pageSize, FETCH_SIZE));
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        users.add(mapUser(rs));
+                    }
+                }
             }
+            return users;
+        });
+    }
+
+    // --- MÉTHODE COUNT ---
+    /** Nombre d'utilisateurs correspondant aux critères, ou -1 en cas d'erreur. */
+    public int count(UserSearch criteria) {
+        long t0 = COUNT.start();
+        List<Object> params = new ArrayList<>();
+        String sql = UserQueries.count(criteria, params);
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < params.size(); i++) {
+                        pstmt.setObject(i + 1, params.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        return rs.getInt(1);
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            COUNT.error();
+            SqlErrorLog.report(e);
+        } finally {
+            COUNT.stop(t0);
+        }
+        return -1;
+    }
+
+    /**
+     * Index de user dans la recherche (lignes des critères classées avant lui), pour l'insérer à sa place
+     * dans une liste paginée sans la relire. -1 en cas d'erreur.
+     */
+    public int positionOf(UserSearch criteria, User user) {
+        long t0 = POSITION_OF.start();
+        List<Object> params = new ArrayList<>();
+        String sql = UserQueries.countBefore(criteria, user, params);
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < params.size(); i++) {
+                        pstmt.setObject(i + 1, params.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        return rs.getInt(1);
+                    }
+                }
+            });
         } catch (SQLException e) {
-            e.printStackTrace();
+            POSITION_OF.error();
+            SqlErrorLog.report(e);
+        } finally {
+            POSITION_OF.stop(t0);
         }
-        return users;
+        return -1;
+    }
+
+    // --- MÉTHODE DELTA (synchronisation incrémentale) ---
+    /**
+     * Lit, sur une seule connexion, au plus limit lignes modifiées après le curseur (since, afterId)
+     * dans l'ordre (updated_at, id), et parmi watchedIds (les lignes affichées) celles qui n'existent plus.
+     * Un lot plein laisse la suite au prochain appel, repris au curseur renvoyé.
+     * Avec since null, seuls le curseur de départ (heure du serveur) et le plus grand id sont lus.
+     */
+    public UserDelta readDelta(Timestamp since, int afterId, int limit, int[] watchedIds) {
+        long t0 = READ_DELTA.start();
+        try {
+            return RetryPolicy.READS.execute(() -> {
+                try (Connection conn = db.getConnection()) {
+                    Timestamp now;
+                    int maxId;
+                    try (PreparedStatement pstmt = conn.prepareStatement(UserQueries.SERVER_TIME);
+                         ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        now = rs.getTimestamp(1);
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(UserQueries.MAX_ID);
+                         ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        maxId = rs.getInt(1);
+                    }
+                    if (since == null) return new UserDelta(maxId, new ArrayList<>(), new int[0], now, 0, true);
+
+                    List<User> changed = new ArrayList<>();
+                    Timestamp lastAt = null;
+                    // >= : une ligne modifiée dans la même milliseconde que la lecture précédente n'est pas perdue
+                    try (PreparedStatement pstmt = conn.prepareStatement(UserQueries.CHANGED_SINCE)) {
+                        pstmt.setTimestamp(1, since);
+                        pstmt.setTimestamp(2, since);
+                        pstmt.setInt(3, afterId);
+                        pstmt.setInt(4, limit);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                changed.add(mapUser(rs));
+                                lastAt = rs.getTimestamp("updated_at");
+                            }
+                        }
+                    }
+                    int[] deletedIds = missingIds(conn, watchedIds);
+                    if (changed.size() < limit) return new UserDelta(maxId, changed, deletedIds, now, 0, true);
+                    return new UserDelta(maxId, changed, deletedIds, lastAt, changed.get(changed.size() - 1).getId(), false);
+                }
+            });
+        } catch (SQLException e) {
+            READ_DELTA.error();
+            SqlErrorLog.report(e);
+        } finally {
+            READ_DELTA.stop(t0);
+        }
+        return null;
+    }
+
+    // Ids de la liste qui n'existent plus, par requêtes de IDS_PER_QUERY ids (les derniers répétés au besoin)
+    private int[] missingIds(Connection conn, int[] ids) throws SQLException {
+        if (ids.length == 0) return ids;
+        Set<Integer> existing = new HashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(UserQueries.EXISTING_IDS)) {
+            for (int from = 0; from < ids.length; from += UserQueries.IDS_PER_QUERY) {
+                int to = Math.min(from + UserQueries.IDS_PER_QUERY, ids.length);
+                for (int i = 0; i < UserQueries.IDS_PER_QUERY; i++) {
+                    pstmt.setInt(i + 1, ids[Math.min(from + i, to - 1)]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        existing.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return Arrays.stream(ids).filter(id -> !existing.contains(id)).toArray();
     }
 
     // --- MÉTHODE UPDATE ---
+    /**
+     * N'écrit que les colonnes modifiées depuis la lecture (User.getDirtyFields) ; un mot de passe vide
+     * est laissé inchangé. Si la version du User est connue, la ligne n'est modifiée que si personne
+     * ne l'a changée entre-temps : sinon UpdateConflictException, et rien n'est écrit.
+     * Dans une UnitOfWork, un échec (conflit compris) condamne l'unité ; sessions, emails connus et classements
+     * ne sont mis à jour qu'au commit, et version et champs modifiés du User sont restaurés si elle est annulée.
+     * Échec SQL : DataAccessException (DatabaseUnavailableException si la base est injoignable), rien n'est écrit.
+     */
     public void update(User user) {
-        if (conn == null) return;
-        String sql = "UPDATE user SET nom=?, prenom=?, email=?, password=?, role=?, telephone=? WHERE id=?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, user.getNom());
-            pstmt.setString(2, user.getPrenom());
-            pstmt.setString(3, user.getEmail());
-            pstmt.setString(4, user.getPassword());
-            pstmt.setString(5, user.getRole());
-            pstmt.setString(6, user.getTelephone());
-            pstmt.setInt(7, user.getId());
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long t0 = UPDATE.start();
+        try {
+            int dirty = user.getDirtyFields();
+            int fields = dirty;
+            if (user.getPassword() == null || user.getPassword().isEmpty()) fields &= ~User.PASSWORD;
+            if (fields == 0) return;
+            String plain = user.getPassword();
+            int version = user.getVersion();
+            // Un mot de passe non modifié est l'empreinte lue en base : surtout ne pas la hacher à nouveau
+            if ((fields & User.PASSWORD) != 0) hashPassword(user);
+            boolean versioned = version != User.NO_VERSION;
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UserQueries.update(fields, versioned))) {
+                int i = 1;
+                for (int field : UserQueries.UPDATE_FIELDS) {
+                    if ((fields & field) != 0) pstmt.setString(i++, fieldValue(user, field));
+                }
+                pstmt.setInt(i++, user.getId());
+                if (versioned) pstmt.setInt(i, user.getVersion());
+                int rows = pstmt.executeUpdate();
+                forget(user.getId());
+                if (rows == 0 && versioned) {
+                    UPDATE_CONFLICTS.increment();
+                    user.setPassword(plain);
+                    UnitOfWork.setRollbackOnly();
+                    throw new UpdateConflictException(user.getId(), version);
+                }
+                if (versioned) user.setVersion(version + 1);
+                user.markClean();
+                UnitOfWork.onRollback(() -> restore(user, user.getId(), plain, version, dirty));
+                int written = fields;
+                User committed = user.copy();
+                UnitOfWork.afterCommit(() -> {
+                    if ((written & User.EMAIL) != 0) emails.add(committed.getEmail());
+                    if ((written & (User.ROLE | User.COMPETENCES)) != 0) updateMatching(committed, written);
+                    sessions.onUserUpdated(committed);
+                });
+            } catch (SQLException e) {
+                UPDATE.error();
+                user.setPassword(plain);
+                UnitOfWork.setRollbackOnly();
+                throw DataAccessException.of(e);
+            }
+        } finally {
+            UPDATE.stop(t0);
+        }
+    }
+
+    // Ligne écrite : retirée du cache tout de suite, puis de nouveau au commit (un autre thread a pu y remettre
+    // entre-temps la version encore validée) ou à l'annulation
+    private void forget(int id) {
+        cache.invalidate(id);
+        UnitOfWork.afterCommit(() -> cache.invalidate(id));
+        UnitOfWork.onRollback(() -> cache.invalidate(id));
+    }
+
+    // État du User avant une écriture annulée avec sa UnitOfWork : la ligne n'a pas changé en base
+    private static void restore(User user, int id, String password, int version, int dirty) {
+        user.setId(id);
+        user.setPassword(password);
+        user.setVersion(version);
+        user.markClean();
+        user.markDirty(dirty);
+    }
+
+    private static boolean isCandidate(User user) {
+        return Role.CANDIDAT.name().equals(user.getRole());
+    }
+
+    // Un utilisateur devenu candidat sans que ses compétences aient été lues : relues en base
+    private void updateMatching(User user, int fields) {
+        if (!isCandidate(user)) {
+            matching.onCandidateRemoved(user.getId());
+        } else if ((fields & User.COMPETENCES) != 0) {
+            matching.onCandidateChanged(user.getId(), user.getCompetences());
+        } else {
+            User stored = findById(user.getId());
+            if (stored != null) matching.onCandidateChanged(user.getId(), stored.getCompetences());
+        }
+    }
+
+    private static String fieldValue(User user, int field) {
+        switch (field) {
+            case User.NOM: return user.getNom();
+            case User.PRENOM: return user.getPrenom();
+            case User.EMAIL: return user.getEmail();
+            case User.PASSWORD: return user.getPassword();
+            case User.ROLE: return user.getRole();
+            case User.TELEPHONE: return user.getTelephone();
+            case User.COMPETENCES: return user.getCompetences();
+            default: throw new IllegalArgumentException("Champ inconnu : " + field);
         }
     }
 
     // --- MÉTHODE DELETE ---
+    /**
+     * Dans une UnitOfWork, un échec condamne l'unité, et sessions et classements ne changent qu'au commit.
+     * Échec SQL : DataAccessException (DatabaseUnavailableException si la base est injoignable).
+     */
     public void delete(int id) {
-        if (conn == null) return;
-        String sql = "DELETE FROM user WHERE id=?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long t0 = DELETE.start();
+        try (Connection conn = db.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UserQueries.DELETE)) {
             pstmt.setInt(1, id);
             pstmt.executeUpdate();
+            forget(id);
+            UnitOfWork.afterCommit(() -> {
+                sessions.onUserDeleted(id);
+                matching.onCandidateRemoved(id);
+            });
         } catch (SQLException e) {
-            e.printStackTrace();
+            DELETE.error();
+            UnitOfWork.setRollbackOnly();
+            throw DataAccessException.of(e);
+        } finally {
+            DELETE.stop(t0);
+        }
+    }
+
+    /** Convertit la ligne courante du ResultSet en User (public pour les benchmarks de mapping). */
+    public static User mapUser(ResultSet rs) throws SQLException {
+        User user = new User(
+                rs.getInt("id"),
+                rs.getString("nom"),
+                rs.getString("prenom"),
+                rs.getString("email"),
+                rs.getString("password"),
+                rs.getString("role"),
+                rs.getString("telephone")
+        );
+        user.setVersion(rs.getInt("version"));
+        user.setCompetences(rs.getString("competences"));
+        user.markClean();
+        return user;
+    }
+
+    /**
+     * Ajoute la ligne courante au store. Lecture par position : le ResultSet doit venir
+     * d'une requête compacte (id, nom, prenom, email, role, telephone).
+     */
+    public static void appendTo(UserStore store, ResultSet rs) throws SQLException {
+        store.add(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6));
+    }
+
+    /** Source du chargement de EmailRegistry : un seul parcours de la colonne email, par curseur. */
+    private static final class EmailScan implements EmailRegistry.Source {
+        private final MyConnection db;
+
+        EmailScan(MyConnection db) {
+            this.db = db;
+        }
+
+        @Override
+        public int count() throws SQLException {
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UserQueries.COUNT_ALL);
+                 ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+
+        @Override
+        public void forEach(Consumer<String> sink) throws SQLException {
+            try (Connection conn = db.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UserQueries.READ_EMAILS)) {
+                pstmt.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        sink.accept(rs.getString(1));
+                    }
+                }
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package org.example.dao;
+
+import org.example.model.User;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Résultat d'une synchronisation incrémentale : un lot de lignes modifiées depuis le dernier passage,
+ * les lignes surveillées qui ont été supprimées, et le curseur à repasser au prochain appel.
+ */
+public class UserDelta {
+    private final int maxId;
+    private final List<User> changed;
+    private final int[] deletedIds;
+    private final Timestamp resumeAt;
+    private final int resumeAfterId;
+    private final boolean complete;
+
+    public UserDelta(int maxId, List<User> changed, int[] deletedIds, Timestamp resumeAt, int resumeAfterId,
+                     boolean complete) {
+        this.maxId = maxId;
+        this.changed = changed;
+        this.deletedIds = deletedIds;
+        this.resumeAt = resumeAt;
+        this.resumeAfterId = resumeAfterId;
+        this.complete = complete;
+    }
+
+    /** Plus grand id au moment de la lecture : les ids au-delà sont des lignes ajoutées ensuite. */
+    public int getMaxId() { return maxId; }
+    /** Lignes modifiées ou ajoutées, dans l'ordre (updated_at, id). */
+    public List<User> getChanged() { return changed; }
+    /** Ids surveillés qui n'existent plus. */
+    public int[] getDeletedIds() { return deletedIds; }
+    /** Curseur du prochain appel : heure du serveur au début de la lecture, ou fin du lot s'il était plein. */
+    public Timestamp getResumeAt() { return resumeAt; }
+    public int getResumeAfterId() { return resumeAfterId; }
+    /** Faux si le lot était plein : d'autres modifications attendent après le curseur. */
+    public boolean isComplete() { return complete; }
+}
@@ -0,0 +1,193 @@
+package org.example.dao;
+
+import org.example.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Catalogue des requêtes SQL de la table user. Le texte de chaque requête est constant,
+ * ce qui permet au pool de réutiliser le PreparedStatement déjà préparé sur la connexion.
+ */
+final class UserQueries {
+
+    static final String FIND_BY_EMAIL = "SELECT * FROM user WHERE email = ?";
+    static final String FIND_BY_ID = "SELECT * FROM user WHERE id = ?";
+    static final String READ_ALL = "SELECT * FROM user";
+    static final String READ_PAGE = "SELECT * FROM user WHERE id > ? ORDER BY id LIMIT ?";
+    // Chargement compact (UserStore) : colonnes dans l'ordre lu par UserDAO.appendTo, sans le mot de passe
+    static final String READ_ALL_COMPACT = "SELECT id, nom, prenom, email, role, telephone FROM user ORDER BY id";
+    static final String READ_PAGE_COMPACT = "SELECT id, nom, prenom, email, role, telephone FROM user WHERE id > ? ORDER BY id LIMIT ?";
+
+    // Existence des emails (index unique sur email) : contrôle d'une inscription, puis d'un bloc d'import
+    static final String EMAIL_EXISTS = "SELECT 1 FROM user WHERE email = ? LIMIT 1";
+    static final int EMAILS_PER_QUERY = 100;
+    // Toujours EMAILS_PER_QUERY paramètres (les derniers répétés au besoin) : un seul texte de requête à préparer
+    static final String EXISTING_EMAILS = "SELECT email FROM user WHERE email IN ("
+            + String.join(", ", Collections.nCopies(EMAILS_PER_QUERY, "?")) + ")";
+    // Chargement du filtre d'emails (EmailRegistry)
+    static final String COUNT_ALL = "SELECT COUNT(*) FROM user";
+    static final String READ_EMAILS = "SELECT email FROM user";
+    // Chargement du rapprochement candidats / offres (MatchingEngine)
+    static final String READ_CANDIDATES = "SELECT id, competences FROM user WHERE role = 'CANDIDAT'";
+
+    static final String INSERT = "INSERT INTO user (nom, prenom, email, password, role, telephone, competences) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Ne remplace l'empreinte que si elle n'a pas changé entre-temps
+    static final String UPDATE_PASSWORD_HASH = "UPDATE user SET password=? WHERE id=? AND password=?";
+    static final String DELETE = "DELETE FROM user WHERE id=?";
+
+    // Synchronisation incrémentale : lignes modifiées par lots, dans l'ordre (updated_at, id) après un curseur
+    static final String SERVER_TIME = "SELECT CURRENT_TIMESTAMP(3)";
+    static final String MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM user";
+    static final String CHANGED_SINCE = "SELECT * FROM user WHERE updated_at >= ? AND (updated_at > ? OR id > ?) "
+            + "ORDER BY updated_at, id LIMIT ?";
+    // Lignes encore présentes, ou lues, parmi des ids connus ; même remplissage que EXISTING_EMAILS
+    static final int IDS_PER_QUERY = 100;
+    private static final String ID_LIST = "(" + String.join(", ", Collections.nCopies(IDS_PER_QUERY, "?")) + ")";
+    static final String EXISTING_IDS = "SELECT id FROM user WHERE id IN " + ID_LIST;
+    static final String FIND_BY_IDS = "SELECT * FROM user WHERE id IN " + ID_LIST;
+
+    private static final String[] SEARCH_COLUMNS = {"nom", "prenom", "email"};
+
+    // Colonnes modifiables, dans l'ordre des bits User.NOM, User.PRENOM...
+    static final int[] UPDATE_FIELDS = {User.NOM, User.PRENOM, User.EMAIL, User.PASSWORD, User.ROLE, User.TELEPHONE,
+            User.COMPETENCES};
+    private static final String[] UPDATE_COLUMNS = {"nom", "prenom", "email", "password", "role", "telephone", "competences"};
+    // Une requête par combinaison de colonnes et de contrôle de version, construites une fois pour toutes
+    private static final String[] UPDATES = new String[(User.ALL_FIELDS + 1) * 2];
+
+    static {
+        for (int fields = 1; fields <= User.ALL_FIELDS; fields++) {
+            StringBuilder sql = new StringBuilder("UPDATE user SET ");
+            for (int i = 0; i < UPDATE_FIELDS.length; i++) {
+                if ((fields & UPDATE_FIELDS[i]) != 0) sql.append(UPDATE_COLUMNS[i]).append("=?, ");
+            }
+            sql.append("version=version+1 WHERE id=?");
+            UPDATES[fields * 2] = sql.toString();
+            UPDATES[fields * 2 + 1] = sql.append(" AND version=?").toString();
+        }
+    }
+
+    private UserQueries() {
+    }
+
+    /**
+     * UPDATE des seules colonnes de fields (masque non vide de User.NOM, User.PRENOM...), paramètres dans
+     * l'ordre de UPDATE_FIELDS puis id. Avec versioned, la ligne n'est modifiée que si sa version n'a pas changé
+     * (dernier paramètre) ; la version est incrémentée dans tous les cas.
+     */
+    static String update(int fields, boolean versioned) {
+        return UPDATES[fields * 2 + (versioned ? 1 : 0)];
+    }
+
+    /**
+     * Construit la requête de recherche paginée et remplit params dans l'ordre des "?".
+     * Le texte ne dépend que de la forme des critères (terme, rôle, tri, page suivante),
+     * jamais de leurs valeurs : il n'existe que quelques variantes, toutes réutilisables.
+     */
+    static String search(UserSearch criteria, User after, int pageSize, List<Object> params) {
+        return search(criteria, after, 0, pageSize, params);
+    }
+
+    /**
+     * Variante par position (OFFSET), pour accéder directement à une page éloignée quand la page
+     * précédente n'est pas connue. Plus coûteuse que la pagination par clé : le serveur parcourt
+     * puis écarte les offset premières lignes.
+     */
+    static String searchAt(UserSearch criteria, int offset, int pageSize, List<Object> params) {
+        return search(criteria, null, offset, pageSize, params);
+    }
+
+    private static String search(UserSearch criteria, User after, int offset, int pageSize, List<Object> params) {
+        String column = criteria.getSort().column();
+        String direction = criteria.isDescending() ? " DESC" : " ASC";
+        String orderBy = criteria.getSort() == UserSearch.SortField.ID
+                ? " ORDER BY id" + direction
+                : " ORDER BY " + column + direction + ", id" + direction;
+
+        if (criteria.getTerm().isEmpty()) {
+            StringBuilder sql = new StringBuilder("SELECT * FROM user WHERE 1=1");
+            appendFilters(sql, criteria, after, false, params);
+            return appendLimit(sql.append(orderBy), offset, pageSize, params);
+        }
+
+        String prefix = escapeLike(criteria.getTerm()) + "%";
+        StringBuilder sql = new StringBuilder("SELECT * FROM (");
+        for (int i = 0; i < SEARCH_COLUMNS.length; i++) {
+            if (i > 0) sql.append(" UNION ");
+            sql.append("(SELECT * FROM user WHERE ").append(SEARCH_COLUMNS[i]).append(" LIKE ?");
+            params.add(prefix);
+            appendFilters(sql, criteria, after, false, params);
+            // Chaque branche doit fournir toutes les lignes jusqu'à la fin de la page demandée
+            sql.append(orderBy).append(" LIMIT ?)");
+            params.add(offset + pageSize);
+        }
+        return appendLimit(sql.append(") t").append(orderBy), offset, pageSize, params);
+    }
+
+    private static String appendLimit(StringBuilder sql, int offset, int pageSize, List<Object> params) {
+        params.add(pageSize);
+        if (offset == 0) return sql.append(" LIMIT ?").toString();
+        params.add(offset);
+        return sql.append(" LIMIT ? OFFSET ?").toString();
+    }
+
+    /** Nombre de lignes correspondant aux critères (l'union dédoublonne comme la recherche). */
+    static String count(UserSearch criteria, List<Object> params) {
+        return count(criteria, null, params);
+    }
+
+    /**
+     * Position de user dans la recherche : nombre de lignes des critères classées avant lui
+     * (même ordre que la recherche, id pour départager).
+     */
+    static String countBefore(UserSearch criteria, User user, List<Object> params) {
+        return count(criteria, user, params);
+    }
+
+    private static String count(UserSearch criteria, User before, List<Object> params) {
+        if (criteria.getTerm().isEmpty()) {
+            StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM user WHERE 1=1");
+            appendFilters(sql, criteria, before, true, params);
+            return sql.toString();
+        }
+        String prefix = escapeLike(criteria.getTerm()) + "%";
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (");
+        for (int i = 0; i < SEARCH_COLUMNS.length; i++) {
+            if (i > 0) sql.append(" UNION ");
+            sql.append("SELECT id FROM user WHERE ").append(SEARCH_COLUMNS[i]).append(" LIKE ?");
+            params.add(prefix);
+            appendFilters(sql, criteria, before, true, params);
+        }
+        return sql.append(") t").toString();
+    }
+
+    // bound : lignes classées après lui (page suivante), ou avant lui avec preceding (position)
+    private static void appendFilters(StringBuilder sql, UserSearch criteria, User bound, boolean preceding,
+                                      List<Object> params) {
+        if (criteria.getRole() != null) {
+            sql.append(" AND role = ?");
+            params.add(criteria.getRole());
+        }
+        if (bound != null) {
+            String cmp = criteria.isDescending() != preceding ? " < ?" : " > ?";
+            if (criteria.getSort() == UserSearch.SortField.ID) {
+                sql.append(" AND id").append(cmp);
+                params.add(bound.getId());
+            } else {
+                String column = criteria.getSort().column();
+                Object value = criteria.getSort().valueOf(bound);
+                sql.append(" AND (").append(column).append(cmp)
+                        .append(" OR (").append(column).append(" = ? AND id").append(cmp).append("))");
+                params.add(value);
+                params.add(value);
+                params.add(bound.getId());
+            }
+        }
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
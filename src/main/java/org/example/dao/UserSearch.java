@@ -0,0 +1,91 @@
+package org.example.dao;
+
+import org.example.model.User;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Critères de recherche d'utilisateurs : préfixe sur nom / prénom / email, filtre de rôle et tri.
+ */
+public class UserSearch {
+
+    /** Colonnes triables (liste blanche : seules ces colonnes indexées arrivent dans le SQL). */
+    public enum SortField {
+        ID("id", User::getId),
+        NOM("nom", User::getNom),
+        PRENOM("prenom", User::getPrenom),
+        EMAIL("email", User::getEmail),
+        ROLE("role", User::getRole);
+
+        private final String column;
+        private final Function<User, Object> extractor;
+
+        SortField(String column, Function<User, Object> extractor) {
+            this.column = column;
+            this.extractor = extractor;
+        }
+
+        public String column() { return column; }
+
+        Object valueOf(User user) { return extractor.apply(user); }
+    }
+
+    public static final UserSearch ALL = new UserSearch(null, null, SortField.ID, false);
+
+    private final String term;
+    private final String role;
+    private final SortField sort;
+    private final boolean descending;
+
+    public UserSearch(String term, String role, SortField sort, boolean descending) {
+        this.term = term == null ? "" : term.trim();
+        this.role = role == null || role.isBlank() ? null : role;
+        this.sort = sort == null ? SortField.ID : sort;
+        this.descending = descending;
+    }
+
+    public String getTerm() { return term; }
+    public String getRole() { return role; }
+    public SortField getSort() { return sort; }
+    public boolean isDescending() { return descending; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserSearch)) return false;
+        UserSearch other = (UserSearch) o;
+        return descending == other.descending && sort == other.sort
+                && term.equals(other.term) && Objects.equals(role, other.role);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(term, role, sort, descending);
+    }
+
+    /**
+     * Vrai si user fait partie des résultats : même règle que la requête (préfixe sur nom, prénom ou email,
+     * sans tenir compte de la casse, et rôle exact).
+     */
+    public boolean matches(User user) {
+        if (role != null && !role.equals(user.getRole())) return false;
+        if (term.isEmpty()) return true;
+        String prefix = term.toLowerCase(Locale.ROOT);
+        for (String value : new String[]{user.getNom(), user.getPrenom(), user.getEmail()}) {
+            if (value != null && value.toLowerCase(Locale.ROOT).startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /** Vrai si a et b ont la même valeur dans la colonne de tri : une modification ne les déplace pas. */
+    public boolean sameSortKey(User a, User b) {
+        return Objects.equals(sort.valueOf(a), sort.valueOf(b));
+    }
+
+    /** Vrai si aucun filtre n'est actif et que le tri est l'ordre naturel des ids. */
+    public boolean isUnfiltered() {
+        return term.isEmpty() && role == null && sort == SortField.ID && !descending;
+    }
+}
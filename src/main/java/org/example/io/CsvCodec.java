@@ -0,0 +1,90 @@
+package org.example.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture / écriture d'enregistrements CSV (guillemets doublés, champs multi-lignes entre guillemets).
+ */
+public class CsvCodec {
+    private final char separator;
+
+    public CsvCodec(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Lit le prochain enregistrement, ou null en fin de fichier.
+     * Un champ entre guillemets peut contenir le séparateur et des retours à la ligne.
+     */
+    public String[] readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                // Guillemet ouvert en fin de ligne : le champ continue sur la ligne suivante
+                String next = reader.readLine();
+                if (next == null) break;
+                field.append('\n');
+                line = next;
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    public void writeRecord(Appendable out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) out.append(separator);
+            appendField(out, fields[i]);
+        }
+        out.append('\n');
+    }
+
+    private void appendField(Appendable out, String value) throws IOException {
+        if (value == null) return;
+        boolean needsQuotes = value.indexOf(separator) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.append('"');
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
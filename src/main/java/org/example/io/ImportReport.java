@@ -0,0 +1,32 @@
+package org.example.io;
+
+import java.nio.file.Path;
+
+/**
+ * Bilan d'un import CSV.
+ */
+public class ImportReport {
+    private long read;
+    private long inserted;
+    private long rejected;
+    private final Path errorFile;
+
+    public ImportReport(Path errorFile) {
+        this.errorFile = errorFile;
+    }
+
+    void addRead(long count) { read += count; }
+    void addInserted(long count) { inserted += count; }
+    void addRejected(long count) { rejected += count; }
+
+    public long getRead() { return read; }
+    public long getInserted() { return inserted; }
+    public long getRejected() { return rejected; }
+    /** Fichier listant les lignes rejetées avec leur motif. */
+    public Path getErrorFile() { return errorFile; }
+
+    @Override
+    public String toString() {
+        return read + " ligne(s) lue(s), " + inserted + " insérée(s), " + rejected + " rejetée(s)";
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.io;
+
+import org.example.dao.UserDAO;
+import org.example.model.UserStore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Export CSV en flux : les utilisateurs sont lus page par page (pagination par clé) dans un UserStore
+ * réutilisé, et écrits directement sur disque. Les mots de passe ne sont jamais exportés.
+ */
+public class UserCsvExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final UserDAO userDAO;
+    private final CsvCodec codec;
+
+    public UserCsvExporter(UserDAO userDAO) {
+        this(userDAO, ',');
+    }
+
+    public UserCsvExporter(UserDAO userDAO, char separator) {
+        this.userDAO = userDAO;
+        this.codec = new CsvCodec(separator);
+    }
+
+    /** Retourne le nombre d'utilisateurs exportés. */
+    public long exportFile(Path csv) throws IOException {
+        long count = 0;
+        // Un seul store, vidé et rempli à chaque page : aucun objet User par ligne
+        UserStore page = new UserStore(UserDAO.DEFAULT_PAGE_SIZE);
+        UserStore.View row = page.view();
+        try (BufferedWriter out = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(csv), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            codec.writeRecord(out, "id", "nom", "prenom", "email", "role", "telephone");
+            int lastId = 0;
+            int read;
+            do {
+                page.clear();
+                read = userDAO.readPage(lastId, UserDAO.DEFAULT_PAGE_SIZE, page);
+                if (read < 0) throw new IOException("Lecture des utilisateurs impossible");
+                for (int i = 0; i < read; i++) {
+                    row.moveTo(i);
+                    codec.writeRecord(out, Integer.toString(row.getId()), row.getNom(), row.getPrenom(),
+                            row.getEmail(), row.getRole(), row.getTelephone());
+                }
+                count += read;
+                if (read > 0) lastId = row.getId();
+            } while (read == UserDAO.DEFAULT_PAGE_SIZE);
+        }
+        return count;
+    }
+}
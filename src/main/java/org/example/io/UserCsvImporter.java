@@ -0,0 +1,206 @@
+package org.example.io;
+
+import org.example.cache.EmailRegistry;
+import org.example.dao.BatchInsertResult;
+import org.example.dao.UserDAO;
+import org.example.model.User;
+import org.example.utils.UserValidator;
+import org.example.utils.ValidationError;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Import CSV en flux : le fichier est lu par blocs de CHUNK_SIZE lignes, chaque bloc est validé
+ * en parallèle puis inséré par lots. La mémoire utilisée ne dépend pas de la taille du fichier.
+ * Un email déjà utilisé (en base ou plus haut dans le fichier) est rejeté avant l'insertion.
+ * Colonnes attendues (en-tête, ordre libre) : nom, prenom, email, telephone, password, et optionnellement role.
+ * Une ligne sans mot de passe est rejetée comme une saisie invalide : aucun compte n'est créé sans mot de passe.
+ */
+public class UserCsvImporter {
+    private static final int CHUNK_SIZE = Integer.getInteger("talentflow.import.chunkSize", 5_000);
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final UserDAO userDAO;
+    private final CsvCodec codec;
+
+    public UserCsvImporter(UserDAO userDAO) {
+        this(userDAO, ',');
+    }
+
+    public UserCsvImporter(UserDAO userDAO, char separator) {
+        this.userDAO = userDAO;
+        this.codec = new CsvCodec(separator);
+    }
+
+    public ImportReport importFile(Path csv, Path errorFile) throws IOException {
+        ImportReport report = new ImportReport(errorFile);
+        try (BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(Files.newInputStream(csv), StandardCharsets.UTF_8), BUFFER_SIZE);
+             BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+
+            String[] header = codec.readRecord(reader);
+            if (header == null) return report;
+            Columns columns = new Columns(header);
+
+            String[] errorHeader = new String[header.length + 2];
+            errorHeader[0] = "ligne";
+            System.arraycopy(header, 0, errorHeader, 1, header.length);
+            errorHeader[header.length + 1] = "erreur";
+            codec.writeRecord(errors, errorHeader);
+
+            long number = 0;
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            String[] fields;
+            while ((fields = codec.readRecord(reader)) != null) {
+                if (fields.length == 1 && fields[0].isBlank()) continue; // ligne vide
+                chunk.add(new Row(++number, fields));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, columns, errors, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, columns, errors, report);
+            }
+        }
+        return report;
+    }
+
+    private void processChunk(List<Row> chunk, Columns columns, BufferedWriter errors, ImportReport report) throws IOException {
+        report.addRead(chunk.size());
+
+        // 1. Validation en parallèle (chaque ligne est indépendante)
+        chunk.parallelStream().forEach(row -> validate(row, columns));
+
+        // 2. Emails déjà pris : doublons du bloc, puis comptes existants (en quelques requêtes pour tout le bloc,
+        // seulement pour les emails que le filtre du DAO ne sait pas nouveaux). Les lots ne contiennent
+        // alors plus de doublons, qui les feraient rejouer ligne par ligne.
+        Set<String> inChunk = new HashSet<>();
+        List<String> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) continue;
+            if (!inChunk.add(EmailRegistry.key(row.user.getEmail()))) {
+                row.error = "Email en double dans le fichier";
+            } else {
+                candidates.add(row.user.getEmail());
+            }
+        }
+        Set<String> existing = userDAO.findExistingEmails(candidates);
+
+        // 3. Insertion par lots des lignes valides
+        List<Row> validRows = new ArrayList<>(chunk.size());
+        List<User> users = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error == null && existing.contains(EmailRegistry.key(row.user.getEmail()))) {
+                row.error = "Email déjà utilisé";
+            }
+            if (row.error == null) {
+                validRows.add(row);
+                users.add(row.user);
+            } else {
+                writeError(errors, row);
+            }
+        }
+        if (users.isEmpty()) {
+            report.addRejected(chunk.size());
+            return;
+        }
+        BatchInsertResult result = userDAO.createAll(users);
+        for (BatchInsertResult.RowFailure failure : result.getFailures()) {
+            Row row = validRows.get(failure.getIndex());
+            row.error = "Refusée par la base : " + failure.getMessage();
+            writeError(errors, row);
+        }
+        report.addInserted(result.getInserted());
+        report.addRejected(chunk.size() - result.getInserted());
+    }
+
+    private void validate(Row row, Columns columns) {
+        String nom = columns.get(row.fields, columns.nom);
+        String prenom = columns.get(row.fields, columns.prenom);
+        String email = columns.get(row.fields, columns.email);
+        String tel = columns.get(row.fields, columns.telephone);
+        String password = columns.get(row.fields, columns.password);
+        String role = columns.get(row.fields, columns.role).toUpperCase(Locale.ROOT);
+        if (role.isEmpty()) role = "CANDIDAT";
+
+        User user = new User(0, nom, prenom, email, password, role, tel);
+        int errors = UserValidator.validate(user, true);
+        if (errors == 0) row.user = user;
+        else row.error = describe(errors);
+    }
+
+    private static String describe(int errors) {
+        StringBuilder sb = new StringBuilder();
+        for (ValidationError error : ValidationError.fromMask(errors)) {
+            if (sb.length() > 0) sb.append(" ; ");
+            sb.append(error.getMessage());
+        }
+        return sb.toString();
+    }
+
+    private void writeError(BufferedWriter errors, Row row) throws IOException {
+        String[] out = new String[row.fields.length + 2];
+        out[0] = Long.toString(row.number);
+        System.arraycopy(row.fields, 0, out, 1, row.fields.length);
+        out[row.fields.length + 1] = row.error;
+        codec.writeRecord(errors, out);
+    }
+
+    private static final class Row {
+        final long number;
+        final String[] fields;
+        User user;
+        String error;
+
+        Row(long number, String[] fields) {
+            this.number = number;
+            this.fields = fields;
+        }
+    }
+
+    /** Position de chaque colonne connue dans l'en-tête (-1 si absente). */
+    private static final class Columns {
+        final int nom, prenom, email, telephone, role, password;
+
+        Columns(String[] header) {
+            int nom = -1, prenom = -1, email = -1, telephone = -1, role = -1, password = -1;
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                switch (name) {
+                    case "nom": nom = i; break;
+                    case "prenom": case "prénom": prenom = i; break;
+                    case "email": email = i; break;
+                    case "telephone": case "téléphone": case "tel": telephone = i; break;
+                    case "role": case "rôle": role = i; break;
+                    case "password": case "mot de passe": password = i; break;
+                    default: break;
+                }
+            }
+            if (nom < 0 || prenom < 0 || email < 0 || telephone < 0) {
+                throw new IllegalArgumentException("En-tête CSV incomplet : colonnes nom, prenom, email et telephone obligatoires.");
+            }
+            this.nom = nom;
+            this.prenom = prenom;
+            this.email = email;
+            this.telephone = telephone;
+            this.role = role;
+            this.password = password;
+        }
+
+        String get(String[] fields, int index) {
+            return index >= 0 && index < fields.length ? fields[index].trim() : "";
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.matching;
+
+import java.util.Arrays;
+
+/**
+ * Vecteurs de compétences des candidats, en lignes compressées (CSR) : pour la ligne r, les termes
+ * terms[rowStart[r]..rowStart[r + 1]) et leurs poids, tous égaux à 1/√n (vecteur binaire normé).
+ * Un candidat modifié est ajouté en fin de tableau et son ancienne ligne marquée supprimée (userIds = -1) ;
+ * les lignes supprimées sont purgées quand elles dépassent le quart des lignes.
+ */
+final class CandidateMatrix {
+    private static final int NO_ROW = 0;
+
+    int[] userIds = new int[1024];
+    int[] rowStart = new int[1025];
+    int[] terms = new int[8192];
+    float[] weights = new float[8192];
+    int rows;
+    private int live;
+    private int dead;
+    // Id utilisateur -> ligne + 1 (0 : pas de ligne) ; les ids sont denses (auto-incrément)
+    private int[] rowById = new int[1024];
+
+    int rows() {
+        return rows;
+    }
+
+    int live() {
+        return live;
+    }
+
+    /** Termes (ids triés) du candidat, ou null s'il n'a pas de ligne. */
+    int[] termsOf(int userId) {
+        int row = rowOf(userId);
+        return row < 0 ? null : Arrays.copyOfRange(terms, rowStart[row], rowStart[row + 1]);
+    }
+
+    /** Remplace le vecteur du candidat ; termIds triés, sans doublon, non vide. */
+    void put(int userId, int[] termIds) {
+        remove(userId);
+        if (rows == userIds.length) {
+            userIds = Arrays.copyOf(userIds, rows * 2);
+            rowStart = Arrays.copyOf(rowStart, rows * 2 + 1);
+        }
+        int start = rowStart[rows];
+        int end = start + termIds.length;
+        if (end > terms.length) {
+            int grown = Math.max(end, terms.length * 2);
+            terms = Arrays.copyOf(terms, grown);
+            weights = Arrays.copyOf(weights, grown);
+        }
+        float weight = (float) (1.0 / Math.sqrt(termIds.length));
+        System.arraycopy(termIds, 0, terms, start, termIds.length);
+        Arrays.fill(weights, start, end, weight);
+        userIds[rows] = userId;
+        rowStart[rows + 1] = end;
+        if (userId >= rowById.length) {
+            rowById = Arrays.copyOf(rowById, Math.max(userId + 1, rowById.length + (rowById.length >> 1)));
+        }
+        rowById[userId] = rows + 1;
+        rows++;
+        live++;
+    }
+
+    boolean remove(int userId) {
+        int row = rowOf(userId);
+        if (row < 0) return false;
+        userIds[row] = -1;
+        rowById[userId] = NO_ROW;
+        live--;
+        dead++;
+        if (dead > 1024 && dead * 4 > rows) compact();
+        return true;
+    }
+
+    private int rowOf(int userId) {
+        return userId >= 0 && userId < rowById.length ? rowById[userId] - 1 : -1;
+    }
+
+    // Recopie des lignes vivantes, dans l'ordre : les numéros de ligne changent, pas les ids
+    private void compact() {
+        int to = 0;
+        int next = 0;
+        for (int row = 0; row < rows; row++) {
+            int userId = userIds[row];
+            if (userId < 0) continue;
+            int start = rowStart[row];
+            int length = rowStart[row + 1] - start;
+            System.arraycopy(terms, start, terms, next, length);
+            System.arraycopy(weights, start, weights, next, length);
+            userIds[to] = userId;
+            rowStart[to] = next;
+            rowById[userId] = to + 1;
+            next += length;
+            to++;
+        }
+        rowStart[to] = next;
+        rows = to;
+        dead = 0;
+    }
+}
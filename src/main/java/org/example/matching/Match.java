@@ -0,0 +1,5 @@
+package org.example.matching;
+
+/** Candidat proposé pour une offre : id de l'utilisateur et score de rapprochement (cosinus, entre 0 et 1). */
+public record Match(int userId, float score) {
+}
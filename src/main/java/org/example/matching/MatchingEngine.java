@@ -0,0 +1,568 @@
+package org.example.matching;
+
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+import org.example.model.Offre;
+import org.example.search.TextAnalyzer;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Rapprochement candidats / offres, en mémoire. Chaque candidat (rôle CANDIDAT) est un vecteur binaire
+ * normé de ses compétences ; chaque offre un vecteur de ses compétences (poids 1) et des mots de son titre
+ * (poids 0,5), pondéré par la rareté du terme chez les candidats (idf) puis normé. Le score est le cosinus.
+ *
+ * Le calcul parcourt les candidats une seule fois pour un lot d'offres, en parallèle (fork/join, par tranches
+ * de lignes) : pour chaque candidat, seules les offres partageant un de ses termes sont touchées (index
+ * inversé des offres du lot), et chaque tranche garde ses meilleurs candidats par offre dans des tas bornés,
+ * fusionnés en remontant. Le résultat est gardé par offre (2 × topK candidats) et tenu à jour quand un
+ * candidat change ; une offre modifiée, ou dont la liste est devenue trop courte, est recalculée à la demande.
+ */
+public final class MatchingEngine {
+    private static final float TITLE_WEIGHT = 0.5f;
+    private static final float SKILL_WEIGHT = 1.0f;
+    // En dessous, une tranche n'est plus découpée : le coût de la fusion des tas dépasserait le gain
+    private static final int MIN_ROWS_PER_TASK = 4096;
+    private static final Timer SCORE = Metrics.timer("matching.score");
+    private static final Timer UPDATE = Metrics.timer("matching.update");
+    private static final MatchingEngine INSTANCE = new MatchingEngine(
+            new ForkJoinPool(Integer.getInteger("talentflow.matching.threads", Runtime.getRuntime().availableProcessors())),
+            Integer.getInteger("talentflow.matching.topK", 50));
+
+    /** Lecture complète des candidats et des offres, fournie par le DAO. */
+    public interface Source {
+        /** Passe au sink les compétences et l'id de chaque candidat. */
+        void forEachCandidate(ObjIntConsumer<String> sink) throws SQLException;
+
+        List<Offre> readOffres() throws SQLException;
+    }
+
+    private final ForkJoinPool pool;
+    private final int topK;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state;
+    // Modifications reçues pendant un chargement : rejouées sur le nouvel état avant de le publier
+    private List<Consumer<State>> journal;
+    private boolean ready;
+    private Source source;
+    private CompletableFuture<Void> loading;
+
+    /** Moteur sur son propre pool (benchmarks) ; l'application utilise getInstance(). */
+    public MatchingEngine(ForkJoinPool pool, int topK) {
+        this.pool = pool;
+        this.topK = topK;
+        this.state = new State(2 * topK);
+    }
+
+    public static MatchingEngine getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        Metrics.gauge("matching.candidates", () -> INSTANCE.candidateCount());
+        Metrics.gauge("matching.offres", () -> INSTANCE.offreCount());
+    }
+
+    // --- CHARGEMENT ---
+    /** Lance le chargement en arrière-plan s'il n'a pas déjà eu lieu. */
+    public synchronized CompletableFuture<Void> warmUp(Source from) {
+        if (source == null) source = from;
+        if (loading != null) return loading;
+        if (isReady()) return CompletableFuture.completedFuture(null);
+        return startLoading();
+    }
+
+    /** Relit candidats et offres (modifiés depuis un autre poste) ; les classements seront recalculés. */
+    public synchronized CompletableFuture<Void> reload() {
+        if (loading != null) return loading;
+        if (source == null) return CompletableFuture.completedFuture(null);
+        return startLoading();
+    }
+
+    private CompletableFuture<Void> startLoading() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        loading = future;
+        Source from = source;
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild(from);
+                future.complete(null);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Chargement du rapprochement candidats / offres impossible : " + e.getMessage());
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    loading = null;
+                }
+            }
+        }, "talentflow-matching");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /** Chargement synchrone : lecture complète hors verrou, puis remplacement de l'état. */
+    public void rebuild(Source from) throws SQLException {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        State next = new State(2 * topK);
+        try {
+            // Candidats d'abord : aucune offre n'a encore de classement à tenir à jour
+            from.forEachCandidate((competences, userId) -> next.putCandidate(userId, competences));
+            for (Offre offre : from.readOffres()) {
+                next.putOffre(offre);
+            }
+        } catch (SQLException | RuntimeException e) {
+            lock.writeLock().lock();
+            journal = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Consumer<State> change : journal) {
+                change.accept(next);
+            }
+            state = next;
+            journal = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- MISES À JOUR (appelées par les DAO après chaque écriture réussie) ---
+    /** Compétences du candidat créées ou modifiées (vides : il ne correspond plus à aucune offre). */
+    public void onCandidateChanged(int userId, String competences) {
+        apply(s -> s.putCandidate(userId, competences));
+    }
+
+    /** Candidat supprimé, ou passé à un autre rôle. */
+    public void onCandidateRemoved(int userId) {
+        apply(s -> s.removeCandidate(userId));
+    }
+
+    public void onOffreChanged(Offre offre) {
+        Offre copy = offre.copy();
+        apply(s -> s.putOffre(copy));
+    }
+
+    public void onOffreRemoved(int offreId) {
+        apply(s -> s.offers.remove(offreId));
+    }
+
+    private void apply(Consumer<State> change) {
+        long t0 = UPDATE.start();
+        lock.writeLock().lock();
+        try {
+            // Rien de chargé : le chargement, s'il a lieu un jour, lira l'état de la base
+            if (ready) change.accept(state);
+            if (journal != null) journal.add(change);
+        } finally {
+            lock.writeLock().unlock();
+            UPDATE.stop(t0);
+        }
+    }
+
+    // --- CLASSEMENTS ---
+    /** Les k meilleurs candidats pour l'offre (k borné à topK), calculés si besoin. Liste vide si l'offre est inconnue. */
+    public List<Match> topCandidates(int offreId, int k) {
+        int limit = Math.min(k, topK);
+        State s;
+        OfferEntry entry;
+        long modCount;
+        lock.readLock().lock();
+        try {
+            s = state;
+            entry = s.offers.get(offreId);
+            if (entry == null) return new ArrayList<>();
+            if (entry.top != null) return entry.top.best(limit);
+            modCount = s.modCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+        Scored scored = score(s, Collections.singletonList(entry));
+        install(s, modCount, scored);
+        return scored.tops[0].best(limit);
+    }
+
+    /**
+     * Recalcule le classement de toutes les offres en un seul passage sur les candidats.
+     * Retourne le nombre de paires candidat / offre évaluées (candidats × offres).
+     */
+    public long scoreAll() {
+        State s;
+        List<OfferEntry> batch;
+        long modCount;
+        lock.readLock().lock();
+        try {
+            s = state;
+            batch = new ArrayList<>(s.offers.values());
+            modCount = s.modCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (batch.isEmpty()) return 0;
+        Scored scored = score(s, batch);
+        install(s, modCount, scored);
+        return (long) scored.candidates * batch.size();
+    }
+
+    // Calcul sous verrou de lecture (les candidats ne bougent pas pendant le parcours), sans rien modifier
+    private Scored score(State s, List<OfferEntry> batch) {
+        long t0 = SCORE.start();
+        lock.readLock().lock();
+        try {
+            int vocabulary = s.termIds.size();
+            float[][] vectors = new float[batch.size()][];
+            for (int i = 0; i < batch.size(); i++) {
+                vectors[i] = s.weigh(batch.get(i));
+            }
+            // Index inversé du lot : pour chaque terme, les offres qui le contiennent et leur poids
+            int[] postStart = new int[vocabulary + 1];
+            for (OfferEntry entry : batch) {
+                for (int term : entry.terms) postStart[term + 1]++;
+            }
+            for (int t = 0; t < vocabulary; t++) postStart[t + 1] += postStart[t];
+            int[] postOffer = new int[postStart[vocabulary]];
+            float[] postWeight = new float[postOffer.length];
+            int[] fill = Arrays.copyOf(postStart, vocabulary);
+            for (int i = 0; i < batch.size(); i++) {
+                int[] terms = batch.get(i).terms;
+                for (int j = 0; j < terms.length; j++) {
+                    int p = fill[terms[j]]++;
+                    postOffer[p] = i;
+                    postWeight[p] = vectors[i][j];
+                }
+            }
+
+            CandidateMatrix m = s.candidates;
+            int leaf = Math.max(MIN_ROWS_PER_TASK, m.rows() / (pool.getParallelism() * 8));
+            ScoreTask task = new ScoreTask(m.userIds, m.rowStart, m.terms, m.weights, postStart, postOffer, postWeight,
+                    batch.size(), s.capacity, leaf, 0, m.rows());
+            TopK[] tops = pool.invoke(task);
+            for (int i = 0; i < tops.length; i++) {
+                if (tops[i] == null) tops[i] = new TopK(s.capacity);
+            }
+            return new Scored(batch, vectors, tops, m.live());
+        } finally {
+            lock.readLock().unlock();
+            SCORE.stop(t0);
+        }
+    }
+
+    // Publié seulement si aucun candidat n'a changé depuis le calcul, et pour les offres non modifiées entre-temps
+    private void install(State s, long modCount, Scored scored) {
+        lock.writeLock().lock();
+        try {
+            if (state != s || s.modCount != modCount) return;
+            for (int i = 0; i < scored.batch.size(); i++) {
+                OfferEntry entry = scored.batch.get(i);
+                if (s.offers.get(entry.offreId) != entry) continue;
+                TopK top = scored.tops[i];
+                entry.weights = scored.vectors[i];
+                entry.top = top;
+                // Les candidats hors de la liste ont au plus ce score
+                entry.floor = top.isFull() ? top.min() : 0f;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int candidateCount() {
+        lock.readLock().lock();
+        try {
+            return state.candidates.live();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int offreCount() {
+        lock.readLock().lock();
+        try {
+            return state.offers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Scored {
+        final List<OfferEntry> batch;
+        final float[][] vectors;
+        final TopK[] tops;
+        final int candidates;
+
+        Scored(List<OfferEntry> batch, float[][] vectors, TopK[] tops, int candidates) {
+            this.batch = batch;
+            this.vectors = vectors;
+            this.tops = tops;
+            this.candidates = candidates;
+        }
+    }
+
+    /**
+     * Tranche [from, to) des lignes de candidats : scores accumulés par offre touchée, puis meilleurs
+     * candidats par offre (un tas par offre, créé à la première correspondance).
+     */
+    private static final class ScoreTask extends RecursiveTask<TopK[]> {
+        private final int[] userIds, rowStart, terms;
+        private final float[] weights;
+        private final int[] postStart, postOffer;
+        private final float[] postWeight;
+        private final int offers, capacity, leaf, from, to;
+
+        ScoreTask(int[] userIds, int[] rowStart, int[] terms, float[] weights,
+                  int[] postStart, int[] postOffer, float[] postWeight,
+                  int offers, int capacity, int leaf, int from, int to) {
+            this.userIds = userIds;
+            this.rowStart = rowStart;
+            this.terms = terms;
+            this.weights = weights;
+            this.postStart = postStart;
+            this.postOffer = postOffer;
+            this.postWeight = postWeight;
+            this.offers = offers;
+            this.capacity = capacity;
+            this.leaf = leaf;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK[] compute() {
+            if (to - from > leaf) {
+                int mid = (from + to) >>> 1;
+                ScoreTask left = split(from, mid);
+                left.fork();
+                TopK[] right = split(mid, to).compute();
+                TopK[] merged = left.join();
+                for (int i = 0; i < offers; i++) {
+                    if (merged[i] == null) merged[i] = right[i];
+                    else if (right[i] != null) merged[i].merge(right[i]);
+                }
+                return merged;
+            }
+            TopK[] tops = new TopK[offers];
+            float[] acc = new float[offers];
+            int[] touched = new int[offers];
+            int vocabulary = postStart.length - 1;
+            for (int row = from; row < to; row++) {
+                int userId = userIds[row];
+                if (userId < 0) continue;
+                int count = 0;
+                for (int j = rowStart[row], end = rowStart[row + 1]; j < end; j++) {
+                    int term = terms[j];
+                    if (term >= vocabulary) continue;
+                    float w = weights[j];
+                    for (int p = postStart[term], pEnd = postStart[term + 1]; p < pEnd; p++) {
+                        int offer = postOffer[p];
+                        if (acc[offer] == 0f) touched[count++] = offer;
+                        acc[offer] += w * postWeight[p];
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    int offer = touched[i];
+                    float score = acc[offer];
+                    acc[offer] = 0f;
+                    TopK top = tops[offer];
+                    if (top == null) top = tops[offer] = new TopK(capacity);
+                    top.offer(userId, score);
+                }
+            }
+            return tops;
+        }
+
+        private ScoreTask split(int start, int end) {
+            return new ScoreTask(userIds, rowStart, terms, weights, postStart, postOffer, postWeight,
+                    offers, capacity, leaf, start, end);
+        }
+    }
+
+    /** Offre connue du moteur : termes (ids triés), poids bruts, et classement gardé (null : à recalculer). */
+    private static final class OfferEntry {
+        final int offreId;
+        final int[] terms;
+        final float[] raw;
+        // Poids idf normés du dernier calcul, utilisés pour noter un candidat modifié
+        float[] weights;
+        TopK top;
+        // Score maximal des candidats absents de top ; 0 si top les contient tous
+        float floor;
+
+        OfferEntry(int offreId, int[] terms, float[] raw) {
+            this.offreId = offreId;
+            this.terms = terms;
+            this.raw = raw;
+        }
+    }
+
+    /** Vocabulaire des compétences, vecteurs des candidats, offres et leurs classements. */
+    private static final class State {
+        final int capacity;
+        final Map<String, Integer> termIds = new HashMap<>();
+        // Nombre de candidats ayant chaque terme (idf)
+        int[] df = new int[256];
+        final CandidateMatrix candidates = new CandidateMatrix();
+        final Map<Integer, OfferEntry> offers = new HashMap<>();
+        long modCount;
+
+        State(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private int termId(String term) {
+            Integer id = termIds.get(term);
+            if (id != null) return id;
+            int next = termIds.size();
+            termIds.put(term, next);
+            if (next == df.length) df = Arrays.copyOf(df, next * 2);
+            return next;
+        }
+
+        void putCandidate(int userId, String competences) {
+            List<String> words = TextAnalyzer.terms(competences);
+            int[] termList = new int[words.size()];
+            for (int i = 0; i < termList.length; i++) termList[i] = termId(words.get(i));
+            int[] terms = distinct(termList);
+            if (terms.length == 0) {
+                removeCandidate(userId);
+                return;
+            }
+            dropTerms(userId);
+            candidates.put(userId, terms);
+            for (int term : terms) df[term]++;
+            modCount++;
+            float weight = (float) (1.0 / Math.sqrt(terms.length));
+            for (OfferEntry entry : offers.values()) {
+                if (entry.top == null) continue;
+                entry.top.remove(userId);
+                rank(entry, userId, dot(terms, weight, entry));
+            }
+        }
+
+        void removeCandidate(int userId) {
+            if (!dropTerms(userId)) return;
+            candidates.remove(userId);
+            modCount++;
+            for (OfferEntry entry : offers.values()) {
+                if (entry.top != null && entry.top.remove(userId)) checkLength(entry);
+            }
+        }
+
+        private boolean dropTerms(int userId) {
+            int[] old = candidates.termsOf(userId);
+            if (old == null) return false;
+            for (int term : old) df[term]--;
+            return true;
+        }
+
+        /**
+         * Place le nouveau score du candidat, retiré de la liste au préalable. La liste reste exacte :
+         * elle contient les meilleurs candidats, et aucun candidat absent ne dépasse floor.
+         */
+        private void rank(OfferEntry entry, int userId, float score) {
+            TopK top = entry.top;
+            if (score > entry.floor) {
+                if (top.isFull()) {
+                    float evicted = top.min();
+                    if (!top.offer(userId, score)) evicted = score;
+                    entry.floor = Math.max(entry.floor, evicted);
+                } else {
+                    top.offer(userId, score);
+                }
+            }
+            checkLength(entry);
+        }
+
+        // Liste devenue plus courte que topK alors que des candidats en sont absents : recalcul à la demande
+        private void checkLength(OfferEntry entry) {
+            if (entry.floor > 0f && entry.top.size() < capacity / 2) entry.top = null;
+        }
+
+        void putOffre(Offre offre) {
+            Map<Integer, Float> raw = new HashMap<>();
+            TextAnalyzer.forEachTerm(offre.getTitre(), term -> raw.merge(termId(term), TITLE_WEIGHT, Math::max));
+            TextAnalyzer.forEachTerm(offre.getCompetences(), term -> raw.merge(termId(term), SKILL_WEIGHT, Math::max));
+            int[] terms = new int[raw.size()];
+            int i = 0;
+            for (int term : raw.keySet()) terms[i++] = term;
+            Arrays.sort(terms);
+            float[] weights = new float[terms.length];
+            for (i = 0; i < terms.length; i++) weights[i] = raw.get(terms[i]);
+            offers.put(offre.getId(), new OfferEntry(offre.getId(), terms, weights));
+        }
+
+        /** Poids de l'offre pondérés par l'idf des candidats actuels, puis normés. */
+        float[] weigh(OfferEntry entry) {
+            int total = candidates.live();
+            float[] weights = new float[entry.terms.length];
+            double norm = 0;
+            for (int i = 0; i < weights.length; i++) {
+                int term = entry.terms[i];
+                int frequency = term < df.length ? df[term] : 0;
+                double w = entry.raw[i] * Math.log(1 + (double) total / (1 + frequency));
+                weights[i] = (float) w;
+                norm += w * w;
+            }
+            if (norm > 0) {
+                float scale = (float) (1 / Math.sqrt(norm));
+                for (int i = 0; i < weights.length; i++) weights[i] *= scale;
+            }
+            return weights;
+        }
+
+        // Produit scalaire creux : deux listes de termes triées
+        private static float dot(int[] terms, float weight, OfferEntry entry) {
+            int[] offerTerms = entry.terms;
+            float sum = 0f;
+            for (int i = 0, j = 0; i < terms.length && j < offerTerms.length; ) {
+                if (terms[i] < offerTerms[j]) {
+                    i++;
+                } else if (terms[i] > offerTerms[j]) {
+                    j++;
+                } else {
+                    sum += weight * entry.weights[j];
+                    i++;
+                    j++;
+                }
+            }
+            return sum;
+        }
+
+        private static int[] distinct(int[] sorted) {
+            Arrays.sort(sorted);
+            int n = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (n == 0 || sorted[i] != sorted[n - 1]) sorted[n++] = sorted[i];
+            }
+            return Arrays.copyOf(sorted, n);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Les capacity meilleurs (score, id) vus : tas-min sur deux tableaux primitifs, sans objet par candidat.
+ * À score égal, le plus petit id l'emporte, pour un classement identique quel que soit le découpage du calcul.
+ */
+final class TopK {
+    private final int capacity;
+    private int[] ids;
+    private float[] scores;
+    private int size;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+        int initial = Math.min(capacity, 16);
+        this.ids = new int[initial];
+        this.scores = new float[initial];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    /** Plus petit score retenu ; un score inférieur n'entrera pas dans un tas plein. */
+    float min() {
+        return size == 0 ? 0f : scores[0];
+    }
+
+    /** Retient le candidat s'il fait partie des capacity meilleurs. Retourne faux s'il est écarté. */
+    boolean offer(int id, float score) {
+        if (size < capacity) {
+            if (size == ids.length) {
+                int grown = Math.min(capacity, size * 2);
+                ids = Arrays.copyOf(ids, grown);
+                scores = Arrays.copyOf(scores, grown);
+            }
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+            return true;
+        }
+        if (!better(score, id, scores[0], ids[0])) return false;
+        ids[0] = id;
+        scores[0] = score;
+        siftDown(0);
+        return true;
+    }
+
+    /** Retire le candidat s'il est retenu (recherche linéaire : appelé à chaque modification d'un candidat). */
+    boolean remove(int id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] != id) continue;
+            size--;
+            if (i < size) {
+                ids[i] = ids[size];
+                scores[i] = scores[size];
+                siftDown(i);
+                siftUp(i);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    void merge(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    /** Les limit meilleurs, du plus haut score au plus bas. */
+    List<Match> best(int limit) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        // Tri par insertion des positions du tas : quelques centaines d'éléments au plus
+        for (int i = 1; i < size; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= 0 && better(scores[current], ids[current], scores[order[j]], ids[order[j]])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+        List<Match> matches = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < size && i < limit; i++) {
+            matches.add(new Match(ids[order[i]], scores[order[i]]));
+        }
+        return matches;
+    }
+
+    private static boolean better(float score, int id, float otherScore, int otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(scores[parent], ids[parent], scores[i], ids[i])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(scores[left], ids[left], scores[right], ids[right])) worst = right;
+            if (!better(scores[i], ids[i], scores[worst], ids[worst])) break;
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur monotone. LongAdder répartit les incréments concurrents sur plusieurs cellules :
+ * pas de contention entre threads, la somme n'est calculée qu'à l'export.
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        if (Metrics.isEnabled()) value.increment();
+    }
+
+    public void add(long delta) {
+        if (Metrics.isEnabled()) value.add(delta);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
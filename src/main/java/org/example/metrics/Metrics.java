@@ -0,0 +1,84 @@
+package org.example.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registre des métriques de l'application (compteurs, chronomètres, jauges), partagé par tout le processus.
+ * Les classes instrumentées gardent leurs métriques dans des champs static final : la recherche par nom
+ * n'a lieu qu'une fois, et le chemin chaud se limite à quelques incréments atomiques.
+ * Le mode est fixé au démarrage (-Dtalentflow.metrics.mode=off|lite|full, lite par défaut).
+ */
+public final class Metrics {
+    private static final MetricsMode MODE = MetricsMode.parse(System.getProperty("talentflow.metrics.mode", "lite"));
+    private static final boolean ENABLED = MODE != MetricsMode.OFF;
+    private static final boolean TRACING = MODE == MetricsMode.FULL;
+    // Mode full : appels plus lents que ce seuil gardés dans un tampon des SLOW_CALLS_CAPACITY derniers
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("talentflow.metrics.slowMs", 200L));
+    private static final int SLOW_CALLS_CAPACITY = 100;
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, DoubleSupplier> GAUGES = new ConcurrentHashMap<>();
+    private static final ArrayDeque<SlowCall> SLOW_CALLS = new ArrayDeque<>(SLOW_CALLS_CAPACITY);
+
+    private Metrics() {
+    }
+
+    public static MetricsMode getMode() { return MODE; }
+    public static boolean isEnabled() { return ENABLED; }
+    static boolean isTracing() { return TRACING; }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /** Jauge lue uniquement à l'export (taille du pool, taux de hit...). Remplace une jauge du même nom. */
+    public static void gauge(String name, DoubleSupplier value) {
+        if (ENABLED) GAUGES.put(name, value);
+    }
+
+    static void traceIfSlow(String name, long elapsedNanos) {
+        if (elapsedNanos < SLOW_NANOS) return;
+        SlowCall call = new SlowCall(name, elapsedNanos, Thread.currentThread().getName(), System.currentTimeMillis());
+        synchronized (SLOW_CALLS) {
+            if (SLOW_CALLS.size() == SLOW_CALLS_CAPACITY) SLOW_CALLS.pollFirst();
+            SLOW_CALLS.addLast(call);
+        }
+    }
+
+    // --- LECTURE (export) : copies triées par nom ---
+    static Map<String, Counter> counters() { return new TreeMap<>(COUNTERS); }
+    static Map<String, Timer> timers() { return new TreeMap<>(TIMERS); }
+    static Map<String, DoubleSupplier> gauges() { return new TreeMap<>(GAUGES); }
+
+    static List<SlowCall> slowCalls() {
+        synchronized (SLOW_CALLS) {
+            return new ArrayList<>(SLOW_CALLS);
+        }
+    }
+
+    static final class SlowCall {
+        final String name;
+        final long elapsedNanos;
+        final String thread;
+        final long timestamp;
+
+        SlowCall(String name, long elapsedNanos, String thread, long timestamp) {
+            this.name = name;
+            this.elapsedNanos = elapsedNanos;
+            this.thread = thread;
+            this.timestamp = timestamp;
+        }
+    }
+}
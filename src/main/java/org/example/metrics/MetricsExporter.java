@@ -0,0 +1,174 @@
+package org.example.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Export des métriques en texte lisible ou en JSON, et écriture périodique dans un fichier local :
+ * -Dtalentflow.metrics.file=metrics.json (JSON si l'extension est .json, texte sinon)
+ * -Dtalentflow.metrics.exportSeconds=60
+ */
+public final class MetricsExporter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private static ScheduledExecutorService scheduler;
+
+    private MetricsExporter() {
+    }
+
+    /** Démarre l'export périodique si talentflow.metrics.file est défini ; sans effet sinon. */
+    public static synchronized void startFromProperties() {
+        String file = System.getProperty("talentflow.metrics.file");
+        if (file == null || file.isBlank() || scheduler != null || !Metrics.isEnabled()) return;
+        Path target = Paths.get(file);
+        long period = Long.getLong("talentflow.metrics.exportSeconds", 60L);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "talentflow-metrics-export");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> writeQuietly(target), period, period, TimeUnit.SECONDS);
+        // Dernier instantané à l'arrêt de l'application
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeQuietly(target), "talentflow-metrics-final"));
+        System.out.println("📈 Métriques (" + Metrics.getMode() + ") exportées dans " + target.toAbsolutePath());
+    }
+
+    /** Écrit l'instantané courant (fichier temporaire puis renommage : jamais de fichier à moitié écrit). */
+    public static void writeTo(Path target) throws IOException {
+        String content = target.toString().endsWith(".json") ? toJson() : toText();
+        Path absolute = target.toAbsolutePath();
+        Path tmp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeQuietly(Path target) {
+        try {
+            writeTo(target);
+        } catch (IOException e) {
+            System.err.println("❌ Export des métriques impossible : " + e.getMessage());
+        }
+    }
+
+    // --- FORMAT TEXTE ---
+    public static String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# TalentFlow metrics ").append(Instant.now()).append(" mode=").append(Metrics.getMode()).append('\n');
+        for (Map.Entry<String, Counter> e : Metrics.counters().entrySet()) {
+            sb.append("counter ").append(e.getKey()).append(' ').append(e.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, DoubleSupplier> e : Metrics.gauges().entrySet()) {
+            sb.append("gauge ").append(e.getKey()).append(' ').append(format(read(e.getValue()))).append('\n');
+        }
+        for (Map.Entry<String, Timer> e : Metrics.timers().entrySet()) {
+            LatencyHistogram.Snapshot s = e.getValue().getHistogram().snapshot();
+            sb.append("timer ").append(e.getKey())
+                    .append(" count=").append(s.getCount())
+                    .append(" errors=").append(e.getValue().getErrors())
+                    .append(" mean_ms=").append(format(s.getMeanNanos() / 1_000_000));
+            for (int i = 0; i < QUANTILES.length; i++) {
+                sb.append(' ').append(QUANTILE_NAMES[i]).append("_ms=").append(format(s.percentileMillis(QUANTILES[i])));
+            }
+            sb.append(" max_ms=").append(format(s.getMaxNanos() / 1_000_000.0)).append('\n');
+        }
+        for (Metrics.SlowCall call : Metrics.slowCalls()) {
+            sb.append("slow ").append(Instant.ofEpochMilli(call.timestamp)).append(' ').append(call.name)
+                    .append(' ').append(format(call.elapsedNanos / 1_000_000.0)).append("ms thread=")
+                    .append(call.thread).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // --- FORMAT JSON ---
+    public static String toJson() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\"timestamp\":\"").append(Instant.now()).append("\",\"mode\":\"").append(Metrics.getMode()).append('"');
+
+        sb.append(",\"counters\":{");
+        boolean first = true;
+        for (Map.Entry<String, Counter> e : Metrics.counters().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            appendString(sb, e.getKey()).append(':').append(e.getValue().get());
+        }
+
+        sb.append("},\"gauges\":{");
+        first = true;
+        for (Map.Entry<String, DoubleSupplier> e : Metrics.gauges().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            appendString(sb, e.getKey()).append(':').append(format(read(e.getValue())));
+        }
+
+        sb.append("},\"timers\":{");
+        first = true;
+        for (Map.Entry<String, Timer> e : Metrics.timers().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            LatencyHistogram.Snapshot s = e.getValue().getHistogram().snapshot();
+            appendString(sb, e.getKey()).append(":{\"count\":").append(s.getCount())
+                    .append(",\"errors\":").append(e.getValue().getErrors())
+                    .append(",\"mean_ms\":").append(format(s.getMeanNanos() / 1_000_000));
+            for (int i = 0; i < QUANTILES.length; i++) {
+                sb.append(",\"").append(QUANTILE_NAMES[i]).append("_ms\":").append(format(s.percentileMillis(QUANTILES[i])));
+            }
+            sb.append(",\"max_ms\":").append(format(s.getMaxNanos() / 1_000_000.0)).append('}');
+        }
+
+        sb.append("},\"slowCalls\":[");
+        first = true;
+        for (Metrics.SlowCall call : Metrics.slowCalls()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("{\"name\":");
+            appendString(sb, call.name).append(",\"ms\":").append(format(call.elapsedNanos / 1_000_000.0))
+                    .append(",\"thread\":");
+            appendString(sb, call.thread).append(",\"at\":\"").append(Instant.ofEpochMilli(call.timestamp)).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static double read(DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return "null";
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static StringBuilder appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"');
+    }
+}
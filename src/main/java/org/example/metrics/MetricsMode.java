@@ -0,0 +1,24 @@
+package org.example.metrics;
+
+import java.util.Locale;
+
+/**
+ * Niveau d'instrumentation, choisi au démarrage par -Dtalentflow.metrics.mode=off|lite|full.
+ */
+public enum MetricsMode {
+    /** Rien n'est mesuré : chaque point d'instrumentation se réduit à un test de booléen. */
+    OFF,
+    /** Compteurs, histogrammes et jauges : quelques incréments atomiques par opération. */
+    LITE,
+    /** LITE + trace des appels lents (nom, durée, thread) dans un tampon circulaire. */
+    FULL;
+
+    static MetricsMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Mode de métriques inconnu : " + value + " (lite utilisé)");
+            return LITE;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure la durée d'une opération et compte ses échecs. Utilisation sans allocation :
+ * <pre>
+ * long t0 = TIMER.start();
+ * try { ... } catch (SQLException e) { TIMER.error(); } finally { TIMER.stop(t0); }
+ * </pre>
+ */
+public final class Timer {
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /** Instant de départ, ou 0 si les métriques sont désactivées (stop() l'ignore alors). */
+    public long start() {
+        return Metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public void stop(long startNanos) {
+        if (startNanos == 0L) return;
+        long elapsed = System.nanoTime() - startNanos;
+        histogram.record(elapsed);
+        if (Metrics.isTracing()) Metrics.traceIfSlow(name, elapsed);
+    }
+
+    public void error() {
+        if (Metrics.isEnabled()) errors.increment();
+    }
+
+    public String getName() { return name; }
+    public long getErrors() { return errors.sum(); }
+    public LatencyHistogram getHistogram() { return histogram; }
+}
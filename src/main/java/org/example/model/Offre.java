@@ -0,0 +1,65 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offre d'emploi publiée par un recruteur (RH ou ADMIN).
+ * Les compétences sont stockées dans une seule colonne, séparées par des virgules.
+ */
+public class Offre {
+    private int id;
+    private String titre, entreprise, lieu, description, competences;
+    // Auteur de l'offre (0 si inconnu ou supprimé)
+    private int recruteurId;
+
+    public Offre(int id, String titre, String entreprise, String lieu, String description, String competences,
+                 int recruteurId) {
+        this.id = id;
+        this.titre = titre;
+        this.entreprise = entreprise;
+        this.lieu = lieu;
+        this.description = description;
+        this.competences = competences;
+        this.recruteurId = recruteurId;
+    }
+
+    // GETTERS
+    public int getId() { return id; }
+    public String getTitre() { return titre; }
+    public String getEntreprise() { return entreprise; }
+    public String getLieu() { return lieu; }
+    public String getDescription() { return description; }
+    public String getCompetences() { return competences; }
+    public int getRecruteurId() { return recruteurId; }
+
+    // SETTERS
+    public void setId(int id) { this.id = id; }
+    public void setTitre(String titre) { this.titre = titre; }
+    public void setEntreprise(String entreprise) { this.entreprise = entreprise; }
+    public void setLieu(String lieu) { this.lieu = lieu; }
+    public void setDescription(String description) { this.description = description; }
+    public void setCompetences(String competences) { this.competences = competences; }
+    public void setRecruteurId(int recruteurId) { this.recruteurId = recruteurId; }
+
+    /** Compétences une à une, sans espaces autour ni entrées vides. */
+    public List<String> getCompetenceList() {
+        List<String> list = new ArrayList<>();
+        if (competences == null) return list;
+        for (String competence : competences.split(",")) {
+            String trimmed = competence.trim();
+            if (!trimmed.isEmpty()) list.add(trimmed);
+        }
+        return list;
+    }
+
+    /** Copie indépendante (l'index garde la sienne, les écrans peuvent modifier la leur). */
+    public Offre copy() {
+        return new Offre(id, titre, entreprise, lieu, description, competences, recruteurId);
+    }
+
+    @Override
+    public String toString() {
+        return "Offre{id=" + id + ", titre='" + titre + "', entreprise='" + entreprise + "', lieu='" + lieu + "'}";
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.model;
+
+/**
+ * Rôles connus de l'application, tels qu'ils sont stockés dans la colonne role.
+ * Le code (un octet) est la représentation utilisée par UserStore.
+ */
+public enum Role {
+    ADMIN, RH, CANDIDAT;
+
+    private static final Role[] VALUES = values();
+
+    /** Rôle correspondant au texte de la base, ou null s'il n'est pas connu. */
+    public static Role fromName(String name) {
+        if (name == null) return null;
+        for (Role role : VALUES) {
+            if (role.name().equals(name)) return role;
+        }
+        return null;
+    }
+
+    public static Role fromCode(byte code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+
+    public byte code() {
+        return (byte) ordinal();
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionnaire de chaînes : chaque valeur distincte n'est gardée qu'une fois et désignée par un code int.
+ * Adapté aux colonnes très répétitives (noms, prénoms) ; null a le code -1.
+ */
+final class StringDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+
+    int encode(String value) {
+        if (value == null) return -1;
+        Integer code = codes.get(value);
+        if (code != null) return code;
+        int next = codes.size();
+        if (next == values.length) values = Arrays.copyOf(values, next * 2);
+        values[next] = value;
+        codes.put(value, next);
+        return next;
+    }
+
+    String decode(int code) {
+        return code < 0 ? null : values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    void clear() {
+        codes.clear();
+        Arrays.fill(values, null);
+    }
+}
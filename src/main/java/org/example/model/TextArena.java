@@ -0,0 +1,52 @@
+package org.example.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Chaînes toutes différentes (emails) rangées bout à bout en UTF-8 dans un seul tableau d'octets :
+ * ni en-tête d'objet ni tableau par chaîne. Une chaîne est désignée par son numéro d'ajout ; null a le numéro -1.
+ */
+final class TextArena {
+    private byte[] bytes = new byte[1024];
+    private int length;
+    // ends[i] = fin (exclue) de la chaîne i ; elle commence à la fin de la précédente
+    private int[] ends = new int[64];
+    private int count;
+
+    int add(String value) {
+        if (value == null) return -1;
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        if (length + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + encoded.length));
+        }
+        System.arraycopy(encoded, 0, bytes, length, encoded.length);
+        length += encoded.length;
+        if (count == ends.length) ends = Arrays.copyOf(ends, Math.max(16, count * 2));
+        ends[count] = length;
+        return count++;
+    }
+
+    String get(int index) {
+        if (index < 0) return null;
+        int start = index == 0 ? 0 : ends[index - 1];
+        return new String(bytes, start, ends[index] - start, StandardCharsets.UTF_8);
+    }
+
+    /** Compare sans décoder (value supposée déjà encodée en UTF-8). */
+    boolean equalsBytes(int index, byte[] value) {
+        if (index < 0) return value == null;
+        int start = index == 0 ? 0 : ends[index - 1];
+        return Arrays.equals(bytes, start, ends[index], value, 0, value.length);
+    }
+
+    void trimToSize() {
+        bytes = Arrays.copyOf(bytes, length);
+        ends = Arrays.copyOf(ends, count);
+    }
+
+    void clear() {
+        length = 0;
+        count = 0;
+    }
+}
@@ -1,8 +1,29 @@
 package org.example.model;
 
+import java.util.Objects;
+
 public class User {
+    // Champs modifiables, pour le suivi des modifications (UPDATE limité aux colonnes changées)
+    public static final int NOM = 1;
+    public static final int PRENOM = 1 << 1;
+    public static final int EMAIL = 1 << 2;
+    public static final int PASSWORD = 1 << 3;
+    public static final int ROLE = 1 << 4;
+    public static final int TELEPHONE = 1 << 5;
+    public static final int COMPETENCES = 1 << 6;
+    public static final int ALL_FIELDS = NOM | PRENOM | EMAIL | PASSWORD | ROLE | TELEPHONE | COMPETENCES;
+
+    /** Version inconnue : la mise à jour écrase la ligne sans contrôle de concurrence. */
+    public static final int NO_VERSION = -1;
+
     private int id;
     private String nom, prenom, email, password, role, telephone;
+    // Compétences d'un candidat, séparées par des virgules (moteur de rapprochement avec les offres) ;
+    // null tant qu'elles n'ont pas été lues ou fixées : un User construit à la main ne les écrase pas
+    private String competences;
+    // Numéro de version de la ligne lue (verrouillage optimiste) et champs modifiés depuis
+    private int version = NO_VERSION;
+    private int dirty = ALL_FIELDS & ~COMPETENCES;
 
     // Constructeur à 7 arguments (celui que le RegisterController doit utiliser)
     public User(int id, String nom, String prenom, String email, String password, String role, String telephone) {
@@ -23,12 +44,47 @@ public class User {
     public String getPassword() { return password; }
     public String getRole() { return role; }
     public String getTelephone() { return telephone; }
+    public String getCompetences() { return competences == null ? "" : competences; }
 
     // SETTERS (Essentiels pour corriger les erreurs de compilation du CRUD)
-    public void setNom(String nom) { this.nom = nom; }
-    public void setPrenom(String prenom) { this.prenom = prenom; }
-    public void setEmail(String email) { this.email = email; }
-    public void setPassword(String password) { this.password = password; }
-    public void setRole(String role) { this.role = role; }
-    public void setTelephone(String telephone) { this.telephone = telephone; }
-}
\ No newline at end of file
+    // Un setter ne marque le champ comme modifié que si la valeur change vraiment
+    public void setId(int id) { this.id = id; }
+    public void setNom(String nom) { mark(NOM, this.nom, nom); this.nom = nom; }
+    public void setPrenom(String prenom) { mark(PRENOM, this.prenom, prenom); this.prenom = prenom; }
+    public void setEmail(String email) { mark(EMAIL, this.email, email); this.email = email; }
+    public void setPassword(String password) { mark(PASSWORD, this.password, password); this.password = password; }
+    public void setRole(String role) { mark(ROLE, this.role, role); this.role = role; }
+    public void setTelephone(String telephone) { mark(TELEPHONE, this.telephone, telephone); this.telephone = telephone; }
+    public void setCompetences(String competences) {
+        if (competences == null) competences = "";
+        mark(COMPETENCES, this.competences, competences);
+        this.competences = competences;
+    }
+
+    // --- VERSION ET SUIVI DES MODIFICATIONS ---
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    /** Masque des champs modifiés (constantes NOM, PRENOM...) ; un User construit à la main a tous ses champs modifiés (les compétences dès qu'elles sont fixées). */
+    public int getDirtyFields() { return dirty; }
+    public boolean isDirty(int field) { return (dirty & field) != 0; }
+
+    /** Appelé par le DAO quand l'objet reflète la ligne en base (lecture, mise à jour réussie). */
+    public void markClean() { dirty = 0; }
+
+    /** Remet des champs à écrire : mise à jour annulée avec sa transaction (UnitOfWork). */
+    public void markDirty(int fields) { dirty |= fields & ALL_FIELDS; }
+
+    /** Copie complète, version et champs modifiés compris. */
+    public User copy() {
+        User copy = new User(id, nom, prenom, email, password, role, telephone);
+        copy.competences = competences;
+        copy.version = version;
+        copy.dirty = dirty;
+        return copy;
+    }
+
+    private void mark(int field, String oldValue, String newValue) {
+        if (!Objects.equals(oldValue, newValue)) dirty |= field;
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Représentation compacte (une colonne par champ) d'un grand nombre d'utilisateurs,
+ * pour les traitements en masse : rapprochements, exports.
+ * <ul>
+ *   <li>noms et prénoms : codes d'un dictionnaire partagé, chaque valeur distincte n'existe qu'une fois ;</li>
+ *   <li>emails : octets UTF-8 bout à bout dans une seule arène ;</li>
+ *   <li>rôle : un octet (code de {@link Role}) ;</li>
+ *   <li>téléphone : les 8 chiffres dans un int.</li>
+ * </ul>
+ * Les valeurs hors de ces formats (rôle inconnu, téléphone qui n'a pas 8 chiffres) restent exactes,
+ * dans une table à part. Les empreintes de mot de passe ne sont jamais chargées ici.
+ * Les lignes se lisent par une {@link View} réutilisable, sans créer d'objet User.
+ * Pas de synchronisation : une instance est remplie puis lue par un même thread.
+ */
+public final class UserStore {
+    private static final byte OTHER_ROLE = -2;
+    private static final byte NO_ROLE = -1;
+    private static final int OTHER_PHONE = -2;
+    private static final int NO_PHONE = -1;
+
+    private int size;
+    private int[] ids;
+    private int[] noms;
+    private int[] prenoms;
+    private int[] emails;
+    private byte[] roles;
+    private int[] phones;
+
+    private final StringDictionary names = new StringDictionary();
+    private final TextArena emailText = new TextArena();
+    // Valeurs hors format, par numéro de ligne (rares)
+    private final Map<Integer, String> otherRoles = new HashMap<>();
+    private final Map<Integer, String> otherPhones = new HashMap<>();
+
+    public UserStore() {
+        this(256);
+    }
+
+    public UserStore(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new int[capacity];
+        noms = new int[capacity];
+        prenoms = new int[capacity];
+        emails = new int[capacity];
+        roles = new byte[capacity];
+        phones = new int[capacity];
+    }
+
+    /** Ajoute une ligne et retourne son numéro. */
+    public int add(int id, String nom, String prenom, String email, String role, String telephone) {
+        if (size == ids.length) grow();
+        int row = size++;
+        ids[row] = id;
+        noms[row] = names.encode(nom);
+        prenoms[row] = names.encode(prenom);
+        emails[row] = emailText.add(email);
+
+        Role known = Role.fromName(role);
+        if (known != null) {
+            roles[row] = known.code();
+        } else if (role == null) {
+            roles[row] = NO_ROLE;
+        } else {
+            roles[row] = OTHER_ROLE;
+            otherRoles.put(row, role);
+        }
+
+        int phone = encodePhone(telephone);
+        phones[row] = phone;
+        if (phone == OTHER_PHONE) otherPhones.put(row, telephone);
+        return row;
+    }
+
+    public int add(User user) {
+        return add(user.getId(), user.getNom(), user.getPrenom(), user.getEmail(), user.getRole(), user.getTelephone());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Vide le store en gardant ses tableaux, pour le remplir à nouveau (lecture page par page). */
+    public void clear() {
+        size = 0;
+        names.clear();
+        emailText.clear();
+        otherRoles.clear();
+        otherPhones.clear();
+    }
+
+    /** Libère la capacité inutilisée une fois le chargement terminé. */
+    public void trimToSize() {
+        ids = Arrays.copyOf(ids, size);
+        noms = Arrays.copyOf(noms, size);
+        prenoms = Arrays.copyOf(prenoms, size);
+        emails = Arrays.copyOf(emails, size);
+        roles = Arrays.copyOf(roles, size);
+        phones = Arrays.copyOf(phones, size);
+        emailText.trimToSize();
+    }
+
+    // --- ACCÈS PAR LIGNE ---
+    public int getId(int row) {
+        return ids[Objects.checkIndex(row, size)];
+    }
+
+    public String getNom(int row) {
+        return names.decode(noms[Objects.checkIndex(row, size)]);
+    }
+
+    public String getPrenom(int row) {
+        return names.decode(prenoms[Objects.checkIndex(row, size)]);
+    }
+
+    /** Décode l'email (une nouvelle chaîne à chaque appel). */
+    public String getEmail(int row) {
+        return emailText.get(emails[Objects.checkIndex(row, size)]);
+    }
+
+    /** Rôle connu, ou null (rôle absent ou inconnu : voir getRole). */
+    public Role getRoleCode(int row) {
+        return Role.fromCode(roles[Objects.checkIndex(row, size)]);
+    }
+
+    public String getRole(int row) {
+        byte code = roles[Objects.checkIndex(row, size)];
+        if (code == OTHER_ROLE) return otherRoles.get(row);
+        Role role = Role.fromCode(code);
+        return role == null ? null : role.name();
+    }
+
+    public String getTelephone(int row) {
+        int phone = phones[Objects.checkIndex(row, size)];
+        if (phone == NO_PHONE) return null;
+        if (phone == OTHER_PHONE) return otherPhones.get(row);
+        return formatPhone(phone);
+    }
+
+    /** Ligne de cet id (les lignes étant ajoutées par id croissant), ou -1. */
+    public int indexOfId(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index : -1;
+    }
+
+    /** Ligne de cet email (comparaison des octets, sans décoder), ou -1. */
+    public int indexOfEmail(String email) {
+        if (email == null) return -1;
+        byte[] encoded = email.getBytes(StandardCharsets.UTF_8);
+        for (int row = 0; row < size; row++) {
+            if (emailText.equalsBytes(emails[row], encoded)) return row;
+        }
+        return -1;
+    }
+
+    /** Copie la ligne dans un User classique (sans mot de passe). */
+    public User toUser(int row) {
+        return new User(getId(row), getNom(row), getPrenom(row), getEmail(row), null, getRole(row), getTelephone(row));
+    }
+
+    /** Nouvelle vue, à positionner avec {@link View#moveTo(int)}. */
+    public View view() {
+        return new View();
+    }
+
+    /** Parcourt toutes les lignes avec une seule vue, déplacée d'une ligne à l'autre. */
+    public void forEach(Consumer<View> action) {
+        View view = new View();
+        for (int row = 0; row < size; row++) {
+            action.accept(view.moveTo(row));
+        }
+    }
+
+    /**
+     * Curseur sur une ligne du store : mêmes accesseurs que User, sans copie des données.
+     * Ne pas conserver une vue en espérant qu'elle désigne toujours la même ligne.
+     */
+    public final class View {
+        private int row;
+
+        private View() {
+        }
+
+        public View moveTo(int row) {
+            this.row = Objects.checkIndex(row, size);
+            return this;
+        }
+
+        public int getRow() { return row; }
+        public int getId() { return UserStore.this.getId(row); }
+        public String getNom() { return UserStore.this.getNom(row); }
+        public String getPrenom() { return UserStore.this.getPrenom(row); }
+        public String getEmail() { return UserStore.this.getEmail(row); }
+        public String getRole() { return UserStore.this.getRole(row); }
+        public Role getRoleCode() { return UserStore.this.getRoleCode(row); }
+        public String getTelephone() { return UserStore.this.getTelephone(row); }
+        public User toUser() { return UserStore.this.toUser(row); }
+    }
+
+    // --- TÉLÉPHONE : exactement 8 chiffres, zéros de tête compris, tiennent dans un int ---
+    private static int encodePhone(String telephone) {
+        if (telephone == null) return NO_PHONE;
+        if (telephone.length() != 8) return OTHER_PHONE;
+        int value = 0;
+        for (int i = 0; i < 8; i++) {
+            char c = telephone.charAt(i);
+            if (c < '0' || c > '9') return OTHER_PHONE;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String formatPhone(int value) {
+        char[] digits = new char[8];
+        for (int i = 7; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        noms = Arrays.copyOf(noms, capacity);
+        prenoms = Arrays.copyOf(prenoms, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        roles = Arrays.copyOf(roles, capacity);
+        phones = Arrays.copyOf(phones, capacity);
+    }
+}
@@ -0,0 +1,418 @@
+package org.example.search;
+
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+import org.example.model.Offre;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé des offres, en mémoire : titre, compétences et description découpés par TextAnalyzer.
+ * Recherche classée d'abord par nombre de mots de la requête trouvés, puis par BM25 (un terme du titre
+ * compte triple, une compétence double) ; le dernier mot est aussi cherché comme préfixe
+ * (recherche pendant la saisie). Les écritures du DAO mettent l'index à jour au fil de l'eau ;
+ * il est reconstruit entièrement depuis la base au démarrage (ou sur demande).
+ * Les offres rendues sont des copies.
+ */
+public final class OffreIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILL_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+    // Le préfixe compte un peu moins que le mot exact, et ne s'étend pas à plus de MAX_EXPANSIONS termes
+    private static final double PREFIX_WEIGHT = 0.8;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final Timer SEARCH = Metrics.timer("search.offres.query");
+    private static final OffreIndex INSTANCE = new OffreIndex();
+
+    /** Lecture complète des offres, fournie par le DAO. */
+    public interface Source {
+        List<Offre> readAll() throws SQLException;
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // Écritures reçues pendant une reconstruction : rejouées sur le nouvel index avant de le publier
+    private List<Offre> journal;
+    private List<Integer> journalRemovals;
+    private boolean ready;
+    private Source source;
+    private CompletableFuture<Void> loading;
+
+    private OffreIndex() {
+        Metrics.gauge("search.offres.docs", this::size);
+        Metrics.gauge("search.offres.terms", this::termCount);
+    }
+
+    public static OffreIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // --- CHARGEMENT ---
+    /** Lance la construction initiale en arrière-plan si elle n'a pas déjà eu lieu. */
+    public synchronized CompletableFuture<Void> warmUp(Source from) {
+        if (source == null) source = from;
+        if (loading != null) return loading;
+        if (isReady()) return CompletableFuture.completedFuture(null);
+        return startLoading();
+    }
+
+    /** Reconstruit l'index depuis la base (offres modifiées par un autre poste, par exemple). */
+    public synchronized CompletableFuture<Void> reload() {
+        if (loading != null) return loading;
+        if (source == null) return CompletableFuture.completedFuture(null);
+        return startLoading();
+    }
+
+    private CompletableFuture<Void> startLoading() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        loading = future;
+        Source from = source;
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild(from);
+                future.complete(null);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Construction de l'index des offres impossible : " + e.getMessage());
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    loading = null;
+                }
+            }
+        }, "talentflow-offre-index");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /** Reconstruction synchrone : lecture complète, construction hors verrou, puis remplacement. */
+    public void rebuild(Source from) throws SQLException {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+            journalRemovals = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Segment next = new Segment();
+        try {
+            for (Offre offre : from.readAll()) {
+                next.add(offre.copy());
+            }
+        } catch (SQLException | RuntimeException e) {
+            lock.writeLock().lock();
+            journal = null;
+            journalRemovals = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            // Rejoués dans l'ordre d'arrivée : suppressions puis ajouts suffisent, un ajout remplaçant l'ancienne version
+            for (int id : journalRemovals) next.remove(id);
+            for (Offre offre : journal) next.put(offre);
+            segment = next;
+            journal = null;
+            journalRemovals = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- MISES À JOUR (appelées par OffreDAO après chaque écriture réussie) ---
+    /** Ajoute l'offre, ou remplace sa version précédente. */
+    public void put(Offre offre) {
+        Offre copy = offre.copy();
+        lock.writeLock().lock();
+        try {
+            segment.put(copy);
+            if (journal != null) {
+                journalRemovals.remove((Integer) copy.getId());
+                journal.add(copy);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int offreId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(offreId);
+            if (journal != null) {
+                journal.removeIf(offre -> offre.getId() == offreId);
+                journalRemovals.add(offreId);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Les documents supprimés restent dans les listes de postings : on les purge quand ils dominent
+    private void compactIfNeeded() {
+        if (segment.deleted > 1024 && segment.deleted > segment.live) {
+            Segment compacted = new Segment();
+            for (Doc doc : segment.docs) {
+                if (doc != null) compacted.add(doc.offre);
+            }
+            segment = compacted;
+        }
+    }
+
+    // --- RECHERCHE ---
+    /**
+     * Au plus limit offres, les plus pertinentes d'abord. Requête vide : les dernières offres publiées
+     * ou modifiées depuis le chargement (par id décroissant pour celles lues au chargement).
+     */
+    public List<Offre> search(String query, int limit) {
+        long t0 = SEARCH.start();
+        lock.readLock().lock();
+        try {
+            return segment.search(query == null ? "" : query, limit);
+        } finally {
+            lock.readLock().unlock();
+            SEARCH.stop(t0);
+        }
+    }
+
+    public Offre get(int offreId) {
+        lock.readLock().lock();
+        try {
+            Doc doc = segment.byOffre.get(offreId);
+            return doc == null ? null : doc.offre.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return segment.terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Document indexé : numéro dans le segment, termes distincts (pour la suppression) et longueur pondérée. */
+    private static final class Doc {
+        final int number;
+        final Offre offre;
+        final String[] terms;
+        final int length;
+
+        Doc(int number, Offre offre, String[] terms, int length) {
+            this.number = number;
+            this.offre = offre;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    /** Documents contenant un terme, par numéro croissant, avec la fréquence pondérée du terme. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        // Documents non supprimés : sert au calcul de l'idf
+        int liveCount;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            liveCount++;
+        }
+    }
+
+    private static final class Segment {
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Integer, Doc> byOffre = new HashMap<>();
+        // Numéro de document -> Doc, null une fois supprimé
+        final List<Doc> docs = new ArrayList<>();
+        long totalLength;
+        int live;
+        int deleted;
+
+        void put(Offre offre) {
+            remove(offre.getId());
+            add(offre);
+        }
+
+        void add(Offre offre) {
+            Map<String, Integer> freqs = new HashMap<>();
+            TextAnalyzer.forEachTerm(offre.getTitre(), term -> freqs.merge(term, TITLE_WEIGHT, Integer::sum));
+            TextAnalyzer.forEachTerm(offre.getCompetences(), term -> freqs.merge(term, SKILL_WEIGHT, Integer::sum));
+            TextAnalyzer.forEachTerm(offre.getDescription(), term -> freqs.merge(term, BODY_WEIGHT, Integer::sum));
+            int number = docs.size();
+            int length = 0;
+            String[] docTerms = new String[freqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), k -> new Postings()).add(number, entry.getValue());
+                docTerms[i++] = entry.getKey();
+                length += entry.getValue();
+            }
+            Doc doc = new Doc(number, offre, docTerms, length);
+            docs.add(doc);
+            byOffre.put(offre.getId(), doc);
+            totalLength += length;
+            live++;
+        }
+
+        void remove(int offreId) {
+            Doc doc = byOffre.remove(offreId);
+            if (doc == null) return;
+            for (String term : doc.terms) {
+                terms.get(term).liveCount--;
+            }
+            docs.set(doc.number, null);
+            totalLength -= doc.length;
+            live--;
+            deleted++;
+        }
+
+        List<Offre> search(String query, int limit) {
+            if (limit <= 0 || live == 0) return new ArrayList<>();
+            List<List<Postings>> clauses = parse(query);
+            if (clauses.isEmpty()) return latest(query, limit);
+
+            int n = docs.size();
+            double[] total = new double[n];
+            double[] best = new double[n];
+            int[] matched = new int[n];
+            int[] clauseDocs = new int[n];
+            double avgLength = Math.max(1.0, (double) totalLength / live);
+            for (List<Postings> clause : clauses) {
+                int touched = 0;
+                for (int alt = 0; alt < clause.size(); alt++) {
+                    Postings postings = clause.get(alt);
+                    if (postings == null || postings.liveCount == 0) continue;
+                    double weight = alt == 0 ? 1.0 : PREFIX_WEIGHT;
+                    double idf = Math.log(1 + (live - postings.liveCount + 0.5) / (postings.liveCount + 0.5));
+                    for (int p = 0; p < postings.size; p++) {
+                        int d = postings.docs[p];
+                        Doc doc = docs.get(d);
+                        if (doc == null) continue;
+                        double tf = postings.freqs[p];
+                        double score = weight * idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length / avgLength));
+                        if (best[d] == 0) clauseDocs[touched++] = d;
+                        if (score > best[d]) best[d] = score;
+                    }
+                }
+                for (int i = 0; i < touched; i++) {
+                    int d = clauseDocs[i];
+                    total[d] += best[d];
+                    matched[d]++;
+                    best[d] = 0;
+                }
+            }
+
+            // Documents trouvés par le plus de mots d'abord (tous les mots avant une partie), puis par score :
+            // un mot répété dans une offre ne la fait pas passer devant une offre qui les contient tous
+            Comparator<double[]> rank = Comparator.<double[]>comparingDouble(a -> a[1]).thenComparingDouble(a -> a[2]);
+            PriorityQueue<double[]> top = new PriorityQueue<>(limit + 1, rank);
+            for (int d = 0; d < n; d++) {
+                if (matched[d] == 0) continue;
+                double[] entry = {d, matched[d], total[d]};
+                if (top.size() < limit) {
+                    top.add(entry);
+                } else if (rank.compare(entry, top.peek()) > 0) {
+                    top.poll();
+                    top.add(entry);
+                }
+            }
+            Offre[] ranked = new Offre[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = docs.get((int) top.poll()[0]).offre.copy();
+            }
+            return new ArrayList<>(Arrays.asList(ranked));
+        }
+
+        /**
+         * Une clause par mot de la requête : ses postings exacts, puis (dernier mot seulement, si la saisie
+         * n'est pas terminée par un espace) les termes de l'index qui commencent par ce mot.
+         */
+        private List<List<Postings>> parse(String query) {
+            List<List<Postings>> clauses = new ArrayList<>();
+            List<String> words = new ArrayList<>(List.of(query.trim().split("\\s+")));
+            boolean typing = !query.isEmpty() && !Character.isWhitespace(query.charAt(query.length() - 1));
+            for (int w = 0; w < words.size(); w++) {
+                List<String> wordTerms = TextAnalyzer.terms(words.get(w));
+                boolean last = w == words.size() - 1;
+                for (int t = 0; t < wordTerms.size(); t++) {
+                    List<Postings> clause = new ArrayList<>();
+                    clause.add(terms.get(wordTerms.get(t)));
+                    clauses.add(clause);
+                }
+                if (last && typing) {
+                    String prefix = TextAnalyzer.prefix(words.get(w));
+                    if (prefix.length() < 2) continue;
+                    List<Postings> clause;
+                    if (!wordTerms.isEmpty()) {
+                        clause = clauses.get(clauses.size() - 1);
+                    } else {
+                        clause = new ArrayList<>();
+                        clause.add(null);
+                        clauses.add(clause);
+                    }
+                    int expansions = 0;
+                    for (Map.Entry<String, Postings> entry : terms.subMap(prefix, prefix + Character.MAX_VALUE).entrySet()) {
+                        if (entry.getValue() == clause.get(0)) continue;
+                        clause.add(entry.getValue());
+                        if (++expansions == MAX_EXPANSIONS) break;
+                    }
+                }
+            }
+            return clauses;
+        }
+
+        // Requête vide : dernières offres indexées ; requête faite uniquement de mots ignorés : aucun résultat
+        private List<Offre> latest(String query, int limit) {
+            List<Offre> result = new ArrayList<>(Math.min(limit, live));
+            if (!query.isBlank()) return result;
+            for (int d = docs.size() - 1; d >= 0 && result.size() < limit; d--) {
+                Doc doc = docs.get(d);
+                if (doc != null) result.add(doc.offre.copy());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Découpage d'un texte en termes d'index : minuscules, accents retirés ("Développeur" -> "developpeur"),
+ * mots vides français et anglais ignorés, pluriel simple retiré ("developpeurs" -> "developpeur").
+ * Le même traitement s'applique aux documents et aux requêtes.
+ */
+public final class TextAnalyzer {
+    private static final int MIN_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "le", "la", "les", "de", "des", "du", "un", "une", "et", "ou", "en", "au", "aux", "a", "l", "d",
+            "pour", "par", "sur", "avec", "dans", "ce", "cet", "cette", "ces", "qui", "que", "nous", "vous",
+            "est", "sont", "son", "sa", "ses", "leur", "notre", "votre", "il", "elle", "on", "pas", "plus",
+            "the", "and", "of", "to", "in", "for", "with", "an", "is", "are");
+
+    private TextAnalyzer() {
+    }
+
+    /** Termes du texte, dans l'ordre (doublons compris). */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        forEachTerm(text, terms::add);
+        return terms;
+    }
+
+    public static void forEachTerm(String text, Consumer<String> sink) {
+        if (text == null || text.isEmpty()) return;
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && isWordChar(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String term = normalize(folded.substring(start, i));
+                if (term != null) sink.accept(term);
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Forme d'index d'un mot isolé, ou null s'il est ignoré (trop court, mot vide).
+     * Pour un préfixe en cours de saisie, voir prefix().
+     */
+    public static String term(String word) {
+        return word == null ? null : normalize(fold(word).trim());
+    }
+
+    /** Préfixe replié (minuscules, sans accents) mais sans retrait du pluriel : "dév" -> "dev". */
+    static String prefix(String word) {
+        return fold(word).trim();
+    }
+
+    // "c++", "c#", "node.js" : les symboles collés à un mot en font partie
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    private static String normalize(String token) {
+        if (token.length() < MIN_LENGTH || STOP_WORDS.contains(token)) return null;
+        // Pluriel régulier : le "s" final des mots assez longs (pas "as", "bus"...)
+        if (token.length() > 4 && token.charAt(token.length() - 1) == 's' && token.charAt(token.length() - 2) != 's') {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    /** Minuscules et accents retirés ; texte ASCII traité sans passer par Normalizer. */
+    static String fold(String text) {
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 128;
+        }
+        if (ascii) return text.toLowerCase(Locale.ROOT);
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            switch (c) {
+                case 'œ', 'Œ' -> sb.append("oe");
+                case 'æ', 'Æ' -> sb.append("ae");
+                case 'ß' -> sb.append("ss");
+                default -> sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
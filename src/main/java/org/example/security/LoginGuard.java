@@ -0,0 +1,247 @@
+package org.example.security;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur des tentatives de connexion, consulté avant toute requête : une rafale de tentatives
+ * (force brute, bourrage d'identifiants) est refusée en mémoire sans toucher à MySQL ni au hachage.
+ * <ul>
+ *   <li>un seau à jetons par email et un par source (poste, adresse IP) : chaque tentative consomme
+ *       un jeton de chacun, une connexion réussie rend celui de la source et efface l'état de l'email ;</li>
+ *   <li>au-delà de freeFailures échecs consécutifs, la clé est bloquée pendant un délai qui double
+ *       à chaque nouvel échec, jusqu'à maxBackoff ;</li>
+ *   <li>une connexion réussie divise par deux les échecs de sa source, et remet à zéro ceux de la source
+ *       locale : partagée par tous les utilisateurs du poste, elle accumulerait sinon leurs fautes de frappe
+ *       jusqu'au blocage maximal. Chaque compte reste protégé par son seau d'email ;</li>
+ *   <li>mémoire bornée : les clés inactives expirent, et au-delà de maxEntries clés les nouvelles
+ *       partagent un seau commun (toujours limité, jamais illimité).</li>
+ * </ul>
+ * Sans verrou : la ConcurrentHashMap répartit les clés, et l'état de chaque clé est un objet immuable
+ * remplacé par compareAndSet.
+ */
+public final class LoginGuard {
+    /** Source des connexions faites depuis l'application de bureau. */
+    public static final String LOCAL_SOURCE = "local";
+
+    private static final String OVERFLOW = "*";
+    private static final Counter THROTTLED = Metrics.counter("auth.login.throttled");
+
+    private static LoginGuard instance;
+
+    /** Seau à jetons : burst tentatives d'affilée, puis perMinute tentatives par minute. */
+    public record Limit(int burst, double perMinute) {
+        double perNano() {
+            return perMinute / TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+
+    // État d'une clé, remplacé en entier à chaque modification
+    private record State(double tokens, long refilledAt, int failures, long blockedUntil, long lastSeen) {
+    }
+
+    private final boolean enabled;
+    private final Limit perEmail;
+    private final Limit perSource;
+    private final int freeFailures;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long idleNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, AtomicReference<State>> states = new ConcurrentHashMap<>();
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public LoginGuard(boolean enabled, Limit perEmail, Limit perSource, int freeFailures,
+                      long baseBackoff, long maxBackoff, long idle, TimeUnit unit, int maxEntries, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.perEmail = perEmail;
+        this.perSource = perSource;
+        this.freeFailures = freeFailures;
+        this.baseBackoffNanos = unit.toNanos(baseBackoff);
+        this.maxBackoffNanos = unit.toNanos(maxBackoff);
+        this.idleNanos = unit.toNanos(idle);
+        this.maxEntries = maxEntries;
+        this.clock = nanoClock;
+    }
+
+    public static synchronized LoginGuard getInstance() {
+        if (instance == null) {
+            instance = new LoginGuard(
+                    Boolean.parseBoolean(System.getProperty("talentflow.login.guard", "true")),
+                    new Limit(Integer.getInteger("talentflow.login.emailBurst", 5),
+                            Integer.getInteger("talentflow.login.emailPerMinute", 5)),
+                    new Limit(Integer.getInteger("talentflow.login.sourceBurst", 20),
+                            Integer.getInteger("talentflow.login.sourcePerMinute", 30)),
+                    Integer.getInteger("talentflow.login.freeFailures", 3),
+                    Long.getLong("talentflow.login.backoffMs", 1_000L),
+                    Long.getLong("talentflow.login.maxBackoffMs", TimeUnit.MINUTES.toMillis(15)),
+                    Long.getLong("talentflow.login.idleMs", TimeUnit.MINUTES.toMillis(15)),
+                    TimeUnit.MILLISECONDS,
+                    Integer.getInteger("talentflow.login.maxEntries", 100_000),
+                    System::nanoTime);
+            LoginGuard guard = instance;
+            Metrics.gauge("auth.guard.entries", guard::size);
+        }
+        return instance;
+    }
+
+    // --- API ---
+    /**
+     * Réserve une tentative pour ce couple email / source.
+     * @throws LoginThrottledException si l'un des deux est bloqué ou n'a plus de jeton
+     */
+    public void acquire(String email, String source) {
+        if (!enabled) return;
+        long now = clock.getAsLong();
+        maybeSweep(now);
+        String emailKey = emailKey(email);
+        String sourceKey = sourceKey(source);
+        long wait = tryAcquire(emailKey, perEmail, now);
+        if (wait == 0) {
+            wait = tryAcquire(sourceKey, perSource, now);
+            // Source refusée : le jeton de l'email est rendu (un attaquant bloqué ne vide pas le seau de sa cible)
+            if (wait > 0) refund(emailKey, perEmail, now);
+        }
+        if (wait > 0) {
+            THROTTLED.increment();
+            throw new LoginThrottledException(TimeUnit.NANOSECONDS.toMillis(wait) + 1);
+        }
+    }
+
+    /** Connexion réussie : l'email repart de zéro, la source récupère son jeton et oublie une partie de ses échecs. */
+    public void onSuccess(String email, String source) {
+        if (!enabled) return;
+        states.remove(emailKey(email));
+        String sourceKey = sourceKey(source);
+        long now = clock.getAsLong();
+        AtomicReference<State> ref = states.get(sourceKey);
+        if (ref == null) return;
+        // Ailleurs, moitié seulement : un compte valide ne suffit pas à effacer une série d'essais depuis une adresse
+        boolean reset = sourceKey.equals(sourceKey(LOCAL_SOURCE));
+        while (true) {
+            State s = ref.get();
+            double tokens = Math.min(perSource.burst(), refill(s, perSource, now) + 1);
+            int failures = reset ? 0 : s.failures / 2;
+            long blockedUntil = failures > freeFailures ? s.blockedUntil : 0;
+            if (ref.compareAndSet(s, new State(tokens, now, failures, blockedUntil, s.lastSeen))) return;
+        }
+    }
+
+    /** Email inconnu ou mauvais mot de passe : compte un échec pour l'email et pour la source. */
+    public void onFailure(String email, String source) {
+        if (!enabled) return;
+        long now = clock.getAsLong();
+        fail(emailKey(email), perEmail, now);
+        fail(sourceKey(source), perSource, now);
+    }
+
+    /** Tentative interrompue sans verdict (erreur technique) : les jetons réservés sont rendus. */
+    public void release(String email, String source) {
+        if (!enabled) return;
+        long now = clock.getAsLong();
+        refund(emailKey(email), perEmail, now);
+        refund(sourceKey(source), perSource, now);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    // --- SEAUX ---
+    // Retourne 0 si un jeton a été pris, sinon l'attente en nanosecondes avant la prochaine tentative possible
+    private long tryAcquire(String key, Limit limit, long now) {
+        AtomicReference<State> ref = slot(key, limit, now);
+        while (true) {
+            State s = ref.get();
+            if (now < s.blockedUntil) return s.blockedUntil - now;
+            double tokens = refill(s, limit, now);
+            if (tokens < 1) return Math.max(1, (long) ((1 - tokens) / limit.perNano()));
+            if (ref.compareAndSet(s, new State(tokens - 1, now, s.failures, s.blockedUntil, now))) return 0;
+        }
+    }
+
+    private void refund(String key, Limit limit, long now) {
+        AtomicReference<State> ref = states.get(key);
+        if (ref == null) return;
+        while (true) {
+            State s = ref.get();
+            double tokens = Math.min(limit.burst(), refill(s, limit, now) + 1);
+            if (ref.compareAndSet(s, new State(tokens, now, s.failures, s.blockedUntil, s.lastSeen))) return;
+        }
+    }
+
+    private void fail(String key, Limit limit, long now) {
+        AtomicReference<State> ref = slot(key, limit, now);
+        while (true) {
+            State s = ref.get();
+            int failures = s.failures + 1;
+            long blockedUntil = s.blockedUntil;
+            if (failures > freeFailures) {
+                // 1, 2, 4, 8... fois le délai de base ; le décalage est borné pour ne pas déborder
+                int doublings = Math.min(failures - freeFailures - 1, 30);
+                long backoff = Math.min(maxBackoffNanos, baseBackoffNanos << doublings);
+                if (backoff < 0) backoff = maxBackoffNanos;
+                blockedUntil = Math.max(blockedUntil, now + backoff);
+            }
+            if (ref.compareAndSet(s, new State(s.tokens, s.refilledAt, failures, blockedUntil, now))) return;
+        }
+    }
+
+    private static double refill(State s, Limit limit, long now) {
+        return Math.min(limit.burst(), s.tokens + Math.max(0, now - s.refilledAt) * limit.perNano());
+    }
+
+    private AtomicReference<State> slot(String key, Limit limit, long now) {
+        AtomicReference<State> ref = states.get(key);
+        if (ref != null) return ref;
+        if (states.size() >= maxEntries) {
+            sweep(now);
+            // Toujours plein : la clé rejoint le seau commun de sa catégorie
+            if (states.size() >= maxEntries) key = key.substring(0, 2) + OVERFLOW;
+        }
+        return states.computeIfAbsent(key, k -> new AtomicReference<>(new State(limit.burst(), now, 0, 0, now)));
+    }
+
+    // --- EXPIRATION ---
+    private void maybeSweep(long now) {
+        if ((operations.incrementAndGet() & 1023) == 0) sweep(now);
+    }
+
+    /**
+     * Retire les clés inactives depuis idle et non bloquées. Un seul balayage à la fois.
+     * Une mise à jour concurrente d'une clé retirée est perdue : la clé repart alors d'un seau plein.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            for (Map.Entry<String, AtomicReference<State>> entry : states.entrySet()) {
+                State s = entry.getValue().get();
+                if (now - s.lastSeen > idleNanos && now >= s.blockedUntil) {
+                    states.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String sourceKey(String source) {
+        return "s:" + (source == null ? LOCAL_SOURCE : source);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.security;
+
+/**
+ * Tentative de connexion refusée par LoginGuard avant tout accès à la base.
+ */
+public class LoginThrottledException extends RuntimeException {
+    private final long retryAfterMillis;
+
+    public LoginThrottledException(long retryAfterMillis) {
+        super("Trop de tentatives de connexion, réessayer dans " + Math.max(1, (retryAfterMillis + 999) / 1000) + " s");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /** Délai arrondi à la seconde supérieure (au moins 1), pour l'affichage. */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+}
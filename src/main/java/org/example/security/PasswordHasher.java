@@ -0,0 +1,155 @@
+package org.example.security;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hachage des mots de passe avec PBKDF2-HMAC-SHA256 et un sel aléatoire par utilisateur.
+ * Format stocké : pbkdf2-sha256$iterations$sel(base64)$empreinte(base64).
+ * Le coût se règle par déploiement avec -Dtalentflow.kdf.iterations (voir KdfBenchmark dans benchmarks/).
+ */
+public final class PasswordHasher {
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    public static final int ITERATIONS = Integer.getInteger("talentflow.kdf.iterations", 310_000);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Pool borné : une rafale de logins ne peut pas monopoliser tous les coeurs
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private PasswordHasher() {
+    }
+
+    // --- HACHAGE ---
+    public static String hash(String password) {
+        return hash(password, ITERATIONS);
+    }
+
+    public static String hash(String password, int iterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] key = derive(password, salt, iterations);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(key);
+    }
+
+    // --- VÉRIFICATION (temps constant) ---
+    /**
+     * Vérifie un mot de passe. Les anciens mots de passe stockés en clair sont encore acceptés
+     * pour permettre leur migration au prochain login (voir needsRehash).
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null || stored.isEmpty()) return false;
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return false;
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(derive(password, salt, iterations), expected);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** Vrai si la valeur stockée est en clair ou a été calculée avec un autre coût que celui configuré. */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) return true;
+        String[] parts = stored.split("\\$");
+        return parts.length != 4 || !parts[1].equals(Integer.toString(ITERATIONS));
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$");
+    }
+
+    /**
+     * Empreinte factice à vérifier quand l'email est inconnu : la réponse prend le même temps
+     * qu'un vrai mot de passe faux, ce qui n'indique pas si le compte existe.
+     */
+    public static String dummyHash() {
+        return DummyHolder.HASH;
+    }
+
+    // --- VERSIONS ASYNCHRONES (pool borné) ---
+    public static CompletableFuture<Boolean> verifyAsync(String password, String stored) {
+        return CompletableFuture.supplyAsync(() -> verify(password, stored), EXECUTOR);
+    }
+
+    public static CompletableFuture<String> hashAsync(String password) {
+        return CompletableFuture.supplyAsync(() -> hash(password), EXECUTOR);
+    }
+
+    /**
+     * Hache une liste de mots de passe (insertions en masse) sur le pool borné, par vagues de deux tâches
+     * par thread : un import ne remplit jamais la file, qui reste disponible pour les logins.
+     * Une tâche refusée malgré tout (file saturée par les logins) est calculée sur le thread appelant.
+     */
+    public static List<String> hashAll(List<String> passwords) {
+        int wave = Math.max(1, Math.min(EXECUTOR.getMaximumPoolSize() * 2, EXECUTOR.getQueue().remainingCapacity()));
+        List<String> hashes = new ArrayList<>(passwords.size());
+        List<CompletableFuture<String>> pending = new ArrayList<>(wave);
+        for (int from = 0; from < passwords.size(); from += wave) {
+            pending.clear();
+            for (String password : passwords.subList(from, Math.min(from + wave, passwords.size()))) {
+                try {
+                    pending.add(hashAsync(password));
+                } catch (RejectedExecutionException e) {
+                    pending.add(CompletableFuture.completedFuture(hash(password)));
+                }
+            }
+            for (CompletableFuture<String> hash : pending) {
+                hashes.add(hash.join());
+            }
+        }
+        return hashes;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 indisponible sur cette JVM", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Integer.getInteger("talentflow.kdf.threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        int queue = Integer.getInteger("talentflow.kdf.queue", 256);
+        AtomicInteger counter = new AtomicInteger();
+        // File pleine : la tâche est refusée (RejectedExecutionException) plutôt que d'accumuler du retard
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), r -> {
+                    Thread t = new Thread(r, "talentflow-kdf-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static final class DummyHolder {
+        static final String HASH = hash("talentflow-dummy-password");
+    }
+}
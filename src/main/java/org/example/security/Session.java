@@ -0,0 +1,42 @@
+package org.example.security;
+
+import org.example.model.Role;
+
+/**
+ * Session ouverte par une connexion réussie, désignée par un jeton opaque.
+ * Le rôle est gardé dans la session : les contrôles d'accès ne relisent pas la base.
+ */
+public final class Session {
+    private final String token;
+    private final int userId;
+    private final long createdAt;
+    private volatile String role;
+    private volatile long lastAccess;
+
+    Session(String token, int userId, String role, long now) {
+        this.token = token;
+        this.userId = userId;
+        this.role = role;
+        this.createdAt = now;
+        this.lastAccess = now;
+    }
+
+    public String getToken() { return token; }
+    public int getUserId() { return userId; }
+    public String getRole() { return role; }
+
+    public boolean isAdmin() {
+        return Role.ADMIN.name().equalsIgnoreCase(role);
+    }
+
+    long getCreatedAt() { return createdAt; }
+    long getLastAccess() { return lastAccess; }
+
+    void setRole(String role) { this.role = role; }
+
+    // Écriture seulement si l'horodatage a sensiblement changé : un accès très fréquent
+    // à la même session ne réécrit pas la même ligne de cache à chaque requête
+    void touch(long now, long granularity) {
+        if (now - lastAccess >= granularity) lastAccess = now;
+    }
+}
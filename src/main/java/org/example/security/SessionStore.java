@@ -0,0 +1,145 @@
+package org.example.security;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+import org.example.model.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sessions de tous les utilisateurs connectés, indexées par jeton.
+ * <ul>
+ *   <li>jeton : 256 bits de SecureRandom en base64url, sans lien avec l'utilisateur ;</li>
+ *   <li>expiration après idle sans accès, et dans tous les cas absolute après l'ouverture ;</li>
+ *   <li>une session expirée est refusée dès sa lecture, et retirée de la table par un balayage périodique ;</li>
+ *   <li>le rôle de chaque session est mis à jour (ou la session fermée) quand UserDAO modifie (ou supprime) l'utilisateur.</li>
+ * </ul>
+ * Lectures sans verrou (ConcurrentHashMap, champs volatils) : sûr sous de nombreux accès concurrents.
+ */
+public final class SessionStore {
+    private static final int TOKEN_BYTES = 32;
+    // Précision de la date de dernier accès : inutile de la réécrire plus d'une fois par seconde
+    private static final long TOUCH_GRANULARITY = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Counter CREATED = Metrics.counter("session.created");
+    private static final Counter EXPIRED = Metrics.counter("session.expired");
+
+    private static SessionStore instance;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long idleNanos;
+    private final long absoluteNanos;
+    private final LongSupplier clock;
+    private ScheduledExecutorService sweeper;
+
+    public SessionStore(long idle, long absolute, TimeUnit unit, LongSupplier nanoClock) {
+        this.idleNanos = unit.toNanos(idle);
+        this.absoluteNanos = unit.toNanos(absolute);
+        this.clock = nanoClock;
+    }
+
+    public static synchronized SessionStore getInstance() {
+        if (instance == null) {
+            instance = new SessionStore(
+                    Long.getLong("talentflow.session.idleMinutes", 30L),
+                    Long.getLong("talentflow.session.absoluteMinutes", 12 * 60L),
+                    TimeUnit.MINUTES, System::nanoTime);
+            SessionStore store = instance;
+            store.startSweeper(Long.getLong("talentflow.session.sweepSeconds", 60L), TimeUnit.SECONDS);
+            Metrics.gauge("session.active", store::size);
+        }
+        return instance;
+    }
+
+    // --- CYCLE DE VIE ---
+    public Session create(User user) {
+        long now = clock.getAsLong();
+        Session session;
+        // Une collision sur 256 bits aléatoires n'arrive pas ; putIfAbsent la rend de toute façon inoffensive
+        do {
+            session = new Session(newToken(), user.getId(), user.getRole(), now);
+        } while (sessions.putIfAbsent(session.getToken(), session) != null);
+        CREATED.increment();
+        return session;
+    }
+
+    /** Session valide de ce jeton (sa date de dernier accès est mise à jour), ou null. */
+    public Session get(String token) {
+        if (token == null) return null;
+        Session session = sessions.get(token);
+        if (session == null) return null;
+        long now = clock.getAsLong();
+        if (isExpired(session, now)) {
+            if (sessions.remove(token, session)) EXPIRED.increment();
+            return null;
+        }
+        session.touch(now, TOUCH_GRANULARITY);
+        return session;
+    }
+
+    public void invalidate(String token) {
+        if (token != null) sessions.remove(token);
+    }
+
+    // --- SUIVI DES MODIFICATIONS DE L'UTILISATEUR ---
+    /** Nouveau rôle pris en compte par les sessions ouvertes de cet utilisateur. */
+    public void onUserUpdated(User user) {
+        for (Session session : sessions.values()) {
+            if (session.getUserId() == user.getId()) session.setRole(user.getRole());
+        }
+    }
+
+    /** Utilisateur supprimé : ses sessions sont fermées. */
+    public void onUserDeleted(int userId) {
+        sessions.values().removeIf(session -> session.getUserId() == userId);
+    }
+
+    // --- EXPIRATION ---
+    private boolean isExpired(Session session, long now) {
+        return now - session.getLastAccess() > idleNanos || now - session.getCreatedAt() > absoluteNanos;
+    }
+
+    /** Retire les sessions expirées ; retourne leur nombre. */
+    public int sweep() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        for (Session session : sessions.values()) {
+            if (isExpired(session, now) && sessions.remove(session.getToken(), session)) removed++;
+        }
+        EXPIRED.add(removed);
+        return removed;
+    }
+
+    public synchronized void startSweeper(long period, TimeUnit unit) {
+        if (sweeper != null) return;
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "talentflow-session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(this::sweep, period, period, unit);
+    }
+
+    public synchronized void shutdown() {
+        if (sweeper != null) sweeper.shutdownNow();
+        sweeper = null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return encoder.encodeToString(bytes);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.example.dao.OffreDAO;
+import org.example.matching.Match;
+import org.example.model.Offre;
+import org.example.model.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Couche asynchrone au-dessus de OffreDAO, sur le même exécuteur que AsyncUserService.
+ * Les résultats se récupèrent sur le thread JavaFX avec AsyncUserService.onFx.
+ */
+public class AsyncOffreService {
+
+    // Résolu au premier appel, sur le thread de la tâche (voir AsyncUserService)
+    private final Supplier<OffreDAO> offreDAO;
+
+    /** DAO partagé de ServiceRegistry, créé à la première opération. */
+    public AsyncOffreService() {
+        this.offreDAO = ServiceRegistry.getInstance()::offreDAO;
+    }
+
+    public AsyncOffreService(OffreDAO offreDAO) {
+        this.offreDAO = () -> offreDAO;
+    }
+
+    /** Recherche dans l'index en mémoire : hors du thread JavaFX seulement pour le premier chargement. */
+    public CompletableFuture<List<Offre>> search(String query, int limit) {
+        return CompletableFuture.supplyAsync(() -> offreDAO.get().search(query, limit), AsyncUserService.executor());
+    }
+
+    public CompletableFuture<Integer> create(Offre offre) {
+        return CompletableFuture.supplyAsync(() -> offreDAO.get().create(offre), AsyncUserService.executor());
+    }
+
+    public CompletableFuture<Void> update(Offre offre) {
+        return CompletableFuture.runAsync(() -> offreDAO.get().update(offre), AsyncUserService.executor());
+    }
+
+    public CompletableFuture<Void> delete(int id) {
+        return CompletableFuture.runAsync(() -> offreDAO.get().delete(id), AsyncUserService.executor());
+    }
+
+    /**
+     * Les k meilleurs candidats pour l'offre, du meilleur au moins bon, avec leur score (0 à 1).
+     * Le premier appel charge les candidats en mémoire ; leurs fiches sont lues en une seule requête.
+     */
+    public CompletableFuture<Map<User, Float>> topCandidates(int offreId, int k) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Match> matches = offreDAO.get().topCandidates(offreId, k);
+            List<Integer> ids = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                ids.add(match.userId());
+            }
+            Map<Integer, User> users = ServiceRegistry.getInstance().userDAO().findByIds(ids);
+            // Ordre du classement ; un candidat supprimé entre-temps est sauté
+            Map<User, Float> candidats = new LinkedHashMap<>();
+            for (Match match : matches) {
+                User user = users.get(match.userId());
+                if (user != null) candidats.put(user, match.score());
+            }
+            return candidats;
+        }, AsyncUserService.executor());
+    }
+
+    public CompletableFuture<Void> reloadIndex() {
+        return CompletableFuture.runAsync(() -> offreDAO.get().reloadIndex(), AsyncUserService.executor());
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.service;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import org.example.dao.CreateResult;
+import org.example.dao.UserDAO;
+import org.example.dao.UserDelta;
+import org.example.dao.UserSearch;
+import org.example.io.ImportReport;
+import org.example.io.UserCsvExporter;
+import org.example.io.UserCsvImporter;
+import org.example.model.User;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Couche asynchrone au-dessus de UserDAO : les appels JDBC tournent hors du thread JavaFX
+ * et les résultats sont renvoyés sur le thread JavaFX via Platform.runLater.
+ */
+public class AsyncUserService {
+
+    // Partagé par tous les écrans : la borne réelle reste la taille du pool de connexions
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    // Résolu au premier appel, sur le thread de la tâche : créer le service n'ouvre pas la base
+    private final Supplier<UserDAO> userDAO;
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final ReadOnlyStringWrapper status = new ReadOnlyStringWrapper("");
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+    private int pending = 0; // modifié uniquement sur le thread JavaFX
+
+    /** DAO partagé de ServiceRegistry, créé à la première opération. */
+    public AsyncUserService() {
+        this.userDAO = ServiceRegistry.getInstance()::userDAO;
+    }
+
+    public AsyncUserService(UserDAO userDAO) {
+        this.userDAO = () -> userDAO;
+    }
+
+    // --- OPÉRATIONS ---
+    public CompletableFuture<User> login(String email, String password) {
+        return submit("⏳ Connexion en cours...", () -> userDAO.get().login(email, password));
+    }
+
+    /** Résultat typé : un email déjà utilisé n'est pas une erreur mais CreateResult.DUPLICATE_EMAIL. */
+    public CompletableFuture<CreateResult> create(User user) {
+        return submit("⏳ Enregistrement...", () -> userDAO.get().create(user));
+    }
+
+    public CompletableFuture<Void> update(User user) {
+        return submit("⏳ Mise à jour...", () -> { userDAO.get().update(user); return null; });
+    }
+
+    public CompletableFuture<Void> delete(int id) {
+        return submit("⏳ Suppression...", () -> { userDAO.get().delete(id); return null; });
+    }
+
+    public CompletableFuture<List<User>> readPage(int afterId, int pageSize) {
+        return submit("⏳ Chargement des utilisateurs...", () -> userDAO.get().readPage(afterId, pageSize));
+    }
+
+    public CompletableFuture<List<User>> search(UserSearch criteria, User after, int pageSize) {
+        return submit("⏳ Recherche...", () -> userDAO.get().search(criteria, after, pageSize));
+    }
+
+    /** Nombre de lignes des critères ; silent pour les vérifications périodiques en arrière-plan. */
+    public CompletableFuture<Integer> count(UserSearch criteria, boolean silent) {
+        return submit(silent ? null : "⏳ Recherche...", () -> userDAO.get().count(criteria));
+    }
+
+    /** Ligne relue en silence (après un conflit de modification par exemple). */
+    public CompletableFuture<User> findById(int id) {
+        return submit(null, () -> userDAO.get().findById(id));
+    }
+
+    /** Place de user dans la recherche, pour l'y insérer sans relire la liste ; -1 en cas d'erreur. */
+    public CompletableFuture<Integer> positionOf(UserSearch criteria, User user) {
+        return submit(null, () -> userDAO.get().positionOf(criteria, user));
+    }
+
+    /**
+     * Page lue pendant le défilement (par clé après "after") : silencieuse, comme la synchronisation.
+     * Une erreur SQL fait échouer le futur au lieu de rendre une page vide.
+     */
+    public CompletableFuture<List<User>> fetchPage(UserSearch criteria, User after, int pageSize) {
+        return submit(null, () -> userDAO.get().fetchPage(criteria, after, pageSize));
+    }
+
+    /** Page lue pendant le défilement, par position : pour un saut loin des pages déjà chargées. */
+    public CompletableFuture<List<User>> fetchPageAt(UserSearch criteria, int offset, int pageSize) {
+        return submit(null, () -> userDAO.get().fetchPageAt(criteria, offset, pageSize));
+    }
+
+    /** Synchronisation silencieuse en arrière-plan : ne touche pas au message d'état. */
+    public CompletableFuture<UserDelta> readDelta(Timestamp since, int afterId, int limit, int[] watchedIds) {
+        return submit(null, () -> userDAO.get().readDelta(since, afterId, limit, watchedIds));
+    }
+
+    public CompletableFuture<ImportReport> importCsv(Path csv, Path errorFile) {
+        return submit("⏳ Import CSV en cours...", () -> new UserCsvImporter(userDAO.get()).importFile(csv, errorFile));
+    }
+
+    public CompletableFuture<Long> exportCsv(Path csv) {
+        return submit("⏳ Export CSV en cours...", () -> new UserCsvExporter(userDAO.get()).exportFile(csv));
+    }
+
+    // --- RETOUR SUR LE THREAD JAVAFX ---
+    /**
+     * Exécute onSuccess ou onError sur le thread JavaFX. Rien n'est exécuté si la tâche a été annulée.
+     */
+    public static <T> void onFx(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (future.isCancelled()) return;
+            if (error == null) {
+                onSuccess.accept(value);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (!(cause instanceof CancellationException)) onError.accept(cause);
+            }
+        }));
+    }
+
+    // --- ANNULATION ET ÉTAT ---
+    public void cancelAll() {
+        for (CompletableFuture<?> future : inFlight) {
+            future.cancel(true);
+        }
+    }
+
+    /** Message de la dernière opération lancée, vide quand plus rien n'est en cours. */
+    public ReadOnlyStringProperty statusProperty() { return status.getReadOnlyProperty(); }
+
+    public ReadOnlyBooleanProperty busyProperty() { return busy.getReadOnlyProperty(); }
+
+    private <T> CompletableFuture<T> submit(String message, Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            try {
+                result.complete(work.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        // Annuler le futur interrompt aussi le thread (ex. attente d'une connexion du pool)
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) task.cancel(true);
+        });
+        if (message == null) {
+            inFlight.add(result);
+            result.whenComplete((value, error) -> inFlight.remove(result));
+        } else {
+            track(message, result);
+        }
+        return result;
+    }
+
+    private void track(String message, CompletableFuture<?> future) {
+        inFlight.add(future);
+        runOnFx(() -> {
+            pending++;
+            busy.set(true);
+            status.set(message);
+        });
+        future.whenComplete((value, error) -> {
+            inFlight.remove(future);
+            runOnFx(() -> {
+                pending--;
+                if (pending == 0) {
+                    busy.set(false);
+                    status.set("");
+                }
+            });
+        });
+    }
+
+    private static void runOnFx(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
+    /** Exécuteur partagé avec les autres services asynchrones (AsyncOffreService). */
+    static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    // Threads virtuels si la JVM les propose (Java 21+), sinon un pool de threads démons
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "talentflow-db-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
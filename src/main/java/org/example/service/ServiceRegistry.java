@@ -0,0 +1,91 @@
+package org.example.service;
+
+import org.example.dao.OffreDAO;
+import org.example.dao.UserDAO;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+import org.example.security.PasswordHasher;
+import org.example.utils.MyConnection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * DAO partagés par les écrans, créés à la première utilisation : construire un écran ne touche pas la base.
+ * Le premier accès à un DAO ouvre le pool de connexions (pilote, connexions, schéma) ; warmUp() fait ce
+ * travail en arrière-plan dès l'affichage de la fenêtre de connexion, pendant la saisie.
+ */
+public final class ServiceRegistry {
+    private static final Timer WARM_UP = Metrics.timer("startup.warmUp");
+    private static final ServiceRegistry INSTANCE = new ServiceRegistry();
+
+    private final Lazy<UserDAO> userDAO = new Lazy<>(UserDAO::new);
+    private final Lazy<OffreDAO> offreDAO = new Lazy<>(OffreDAO::new);
+    private CompletableFuture<Void> warmUp;
+
+    private ServiceRegistry() {
+    }
+
+    public static ServiceRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public UserDAO userDAO() {
+        return userDAO.get();
+    }
+
+    public OffreDAO offreDAO() {
+        return offreDAO.get();
+    }
+
+    /**
+     * Lance une seule fois, sur un thread démon, ce que la connexion va demander : pool de connexions
+     * et schéma, DAO (chargement des emails et de l'index des offres), puis une empreinte de mot de passe
+     * (fournisseur cryptographique initialisé, dérivation compilée par le JIT).
+     * Une base indisponible n'est pas une erreur ici : la connexion l'affichera.
+     */
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (warmUp != null) return warmUp;
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        warmUp = future;
+        Thread thread = new Thread(() -> {
+            long t0 = WARM_UP.start();
+            try {
+                MyConnection.getInstance();
+                userDAO();
+                offreDAO();
+                PasswordHasher.dummyHash();
+                future.complete(null);
+            } catch (RuntimeException e) {
+                WARM_UP.error();
+                System.err.println("Préchauffage incomplet : " + e.getMessage());
+                future.completeExceptionally(e);
+            } finally {
+                WARM_UP.stop(t0);
+            }
+        }, "talentflow-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /** Valeur créée au premier get(), une seule fois même en cas d'appels concurrents. */
+    private static final class Lazy<T> implements Supplier<T> {
+        private final Supplier<T> factory;
+        private volatile T value;
+
+        Lazy(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public T get() {
+            T current = value;
+            if (current != null) return current;
+            synchronized (this) {
+                if (value == null) value = factory.get();
+                return value;
+            }
+        }
+    }
+}
@@ -28,8 +28,7 @@ public class ConnectionTest {
 
             // 3. Test de l'ajout (CREATE)
             System.out.println("\n[1/2] Tentative d'insertion de l'utilisateur : " + emailUnique);
-            dao.create(testUser);
-            // Si aucune exception n'est levée ici, l'insertion a réussi
+            System.out.println("Résultat : " + dao.create(testUser));
 
             // 4. Test de la lecture (READ)
             System.out.println("\n[2/2] Vérification des données présentes dans la table 'user' :");
@@ -0,0 +1,120 @@
+package org.example.utils;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Disjoncteur devant la base : après failureThreshold pertes de connexion consécutives, le circuit s'ouvre
+ * et chaque demande de connexion échoue aussitôt (CircuitOpenException) au lieu d'attendre le délai
+ * d'ouverture du pilote. Après openMillis, un seul appel d'essai passe (HALF_OPEN) : s'il réussit le circuit
+ * se referme, sinon il se rouvre pour openMillis. DbHealthProbe peut aussi le refermer dès que la base répond.
+ * Seules les pertes de connexion comptent : une autre erreur (pool saturé, requête refusée) ne dit rien
+ * de la disponibilité de la base.
+ */
+public final class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Counter OPENED = Metrics.counter("db.breaker.opened");
+    private static final Counter REJECTED = Metrics.counter("db.breaker.rejected");
+    private static CircuitBreaker instance;
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+    private volatile Runnable onOpen = () -> { };
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold < 1 || openMillis < 0) {
+            throw new IllegalArgumentException("Disjoncteur invalide : seuil=" + failureThreshold + ", ouverture=" + openMillis + " ms");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public static synchronized CircuitBreaker getInstance() {
+        if (instance == null) {
+            instance = new CircuitBreaker(Integer.getInteger("talentflow.db.breaker.failures", 5),
+                    Long.getLong("talentflow.db.breaker.openMs", 10_000L));
+            // 0 fermé, 1 ouvert, 0.5 en essai
+            Metrics.gauge("db.breaker.state", () -> switch (instance.getState()) {
+                case CLOSED -> 0.0;
+                case HALF_OPEN -> 0.5;
+                case OPEN -> 1.0;
+            });
+        }
+        return instance;
+    }
+
+    /**
+     * À appeler avant d'ouvrir ou d'emprunter une connexion. Lève CircuitOpenException si le circuit est ouvert,
+     * ou si l'appel d'essai d'un circuit à moitié ouvert est déjà en cours.
+     */
+    public void acquirePermission() throws CircuitOpenException {
+        State current = state.get();
+        if (current == State.CLOSED) return;
+        long remaining = openMillis - (System.currentTimeMillis() - openedAt);
+        if (current == State.OPEN && remaining <= 0 && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return;
+        }
+        REJECTED.increment();
+        throw new CircuitOpenException(Math.max(remaining, 0));
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.get() != State.CLOSED) state.set(State.CLOSED);
+    }
+
+    /** Échec d'un appel autorisé : seules les pertes de connexion rapprochent de l'ouverture. */
+    public void onFailure(SQLException e) {
+        if (!SqlErrorClassifier.isConnectionLost(e)) {
+            // Essai non concluant : le prochain appel refera l'essai (openedAt inchangé, délai déjà écoulé)
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            return;
+        }
+        if (state.get() == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    /** Base injoignable dès le démarrage : ouvre le circuit sans attendre le seuil. */
+    public void trip() {
+        State current = state.get();
+        if (current != State.OPEN) open(current);
+    }
+
+    /** Referme le circuit (base de nouveau joignable). */
+    public void reset() {
+        onSuccess();
+    }
+
+    private void open(State from) {
+        if (!state.compareAndSet(from, State.OPEN)) return;
+        openedAt = System.currentTimeMillis();
+        consecutiveFailures.set(0);
+        OPENED.increment();
+        System.err.println("⚠️ Base de données injoignable : accès suspendus pendant " + openMillis + " ms.");
+        onOpen.run();
+    }
+
+    /** Action lancée à chaque ouverture du circuit (démarrage de la sonde de santé). */
+    public void setOnOpen(Runnable onOpen) {
+        this.onOpen = onOpen;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+}
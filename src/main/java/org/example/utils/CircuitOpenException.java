@@ -0,0 +1,25 @@
+package org.example.utils;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Connexion refusée sans essai : CircuitBreaker a constaté que la base est indisponible.
+ * Levée à chaque appel tant que le circuit est ouvert, d'où l'absence de pile d'appels (inutile et coûteuse).
+ */
+public class CircuitOpenException extends SQLTransientConnectionException {
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(long retryAfterMillis) {
+        super("Base de données indisponible, nouvel essai dans " + Math.max(1, (retryAfterMillis + 999) / 1000) + " s", "08001");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
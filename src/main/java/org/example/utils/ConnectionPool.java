@@ -0,0 +1,458 @@
+package org.example.utils;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+import org.example.metrics.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pool de connexions JDBC borné et thread-safe.
+ * Chaque connexion empruntée doit être fermée (try-with-resources) pour être rendue au pool.
+ * Les PreparedStatement sont gardés par connexion physique (cache LRU de statementCacheSize requêtes) :
+ * fermer un statement le rend au cache, et la même requête SQL n'est plus re-préparée par le serveur.
+ * Une connexion qui lève une erreur de perte de connexion (SqlErrorClassifier) n'est pas rendue au pool,
+ * et les connexions libres sont revalidées avant leur prochain emprunt.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    // En dessous de ce délai d'inactivité, on évite le ping de validation à l'emprunt
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final int VALIDATION_TIMEOUT_S = 2;
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+    // Temps d'attente pour obtenir une connexion (file d'attente du sémaphore + ouverture ou validation)
+    private static final Timer ACQUIRE = Metrics.timer("pool.acquire");
+    private static final Counter ACQUIRE_TIMEOUTS = Metrics.counter("pool.acquireTimeouts");
+    private static final Counter CONNECTIONS_LOST = Metrics.counter("pool.connectionsLost");
+
+    private final String url, login, pwd;
+    private final int minSize, maxSize, statementCacheSize;
+    private final long borrowTimeoutMs, idleTimeoutMs, leakThresholdMs;
+
+    // Un permis par connexion empruntée : borne le nombre d'emprunts simultanés à maxSize
+    private final Semaphore permits;
+    // Connexions libres, la plus récemment rendue en tête (LIFO)
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Map<Lease, Boolean> borrowed = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+    private volatile Consumer<SQLException> connectionLostListener = e -> { };
+
+    public ConnectionPool(String url, String login, String pwd, int minSize, int maxSize,
+                          long borrowTimeoutMs, long idleTimeoutMs, long leakThresholdMs, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Taille de pool invalide : min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.login = login;
+        this.pwd = pwd;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "talentflow-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    // --- EMPRUNT ---
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Le pool de connexions est fermé.");
+        long t0 = ACQUIRE.start();
+        try {
+            return acquire();
+        } catch (SQLException | RuntimeException e) {
+            ACQUIRE.error();
+            throw e;
+        } finally {
+            ACQUIRE.stop(t0);
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                ACQUIRE_TIMEOUTS.increment();
+                throw new SQLTimeoutException("Aucune connexion disponible après " + borrowTimeoutMs + " ms (max=" + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attente d'une connexion interrompue.", e);
+        }
+
+        try {
+            PooledEntry entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (isUsable(entry)) return lease(entry);
+                discard(entry);
+            }
+            return lease(newEntry());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // --- RESTITUTION ---
+    private void release(Lease lease) {
+        borrowed.remove(lease);
+        PooledEntry entry = lease.entry;
+        try {
+            boolean reusable = !closed && !entry.broken && !entry.physical.isClosed() && total.get() <= maxSize;
+            if (reusable && !entry.physical.getAutoCommit()) {
+                // Transaction laissée ouverte : on annule pour rendre une connexion propre
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                entry.lastUsed = System.nanoTime();
+                idle.offerFirst(entry);
+            } else {
+                discard(entry);
+            }
+        } catch (SQLException e) {
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection lease(PooledEntry entry) {
+        Lease lease = new Lease(entry, leakThresholdMs > 0 ? new Throwable("Connexion empruntée ici") : null);
+        borrowed.put(lease, Boolean.TRUE);
+        lease.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, lease);
+        return lease.proxy;
+    }
+
+    private PooledEntry newEntry() throws SQLException {
+        return new PooledEntry(openPhysical(), new StatementCache(statementCacheSize, statementEvictions));
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.broken || entry.physical.isClosed()) return false;
+            long idleMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.lastUsed);
+            return idleMs < VALIDATION_BYPASS_MS || entry.physical.isValid(VALIDATION_TIMEOUT_S);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection c = DriverManager.getConnection(url, login, pwd);
+        total.incrementAndGet();
+        return c;
+    }
+
+    private void discard(PooledEntry entry) {
+        total.decrementAndGet();
+        entry.statements.closeAll();
+        try {
+            entry.physical.close();
+        } catch (SQLException ignored) {
+            // Connexion déjà morte : rien à faire
+        }
+    }
+
+    // --- PERTE DE CONNEXION ---
+    /**
+     * Erreur levée par une connexion prêtée ou l'un de ses statements : si c'est une perte de connexion,
+     * elle ne sera pas rendue au pool, et les connexions libres (sans doute coupées en même temps)
+     * seront validées avant d'être prêtées.
+     */
+    private Throwable onError(PooledEntry entry, Throwable error) {
+        if (error instanceof SQLException e && SqlErrorClassifier.isConnectionLost(e) && !entry.broken) {
+            entry.broken = true;
+            CONNECTIONS_LOST.increment();
+            for (PooledEntry free : idle) {
+                free.lastUsed = Math.min(free.lastUsed, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(VALIDATION_BYPASS_MS));
+            }
+            connectionLostListener.accept(e);
+        }
+        return error;
+    }
+
+    /** Prévenu à chaque connexion perdue en cours d'utilisation (disjoncteur de MyConnection). */
+    public void setConnectionLostListener(Consumer<SQLException> listener) {
+        this.connectionLostListener = listener;
+    }
+
+    // --- MAINTENANCE (éviction, minimum, fuites) ---
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Pool : erreur de maintenance : " + e.getMessage());
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        // Les plus anciennes sont en queue de la deque
+        Iterator<PooledEntry> it = idle.descendingIterator();
+        while (it.hasNext() && total.get() > minSize) {
+            PooledEntry entry = it.next();
+            if (TimeUnit.NANOSECONDS.toMillis(now - entry.lastUsed) > idleTimeoutMs && idle.remove(entry)) {
+                discard(entry);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && total.get() < minSize) {
+            try {
+                idle.offerLast(newEntry());
+            } catch (SQLException e) {
+                System.err.println("Erreur de connexion : " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakThresholdMs <= 0) return;
+        long now = System.nanoTime();
+        for (Lease lease : borrowed.keySet()) {
+            long heldMs = TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedAt);
+            if (heldMs > leakThresholdMs && !lease.leakReported) {
+                lease.leakReported = true;
+                System.err.println("⚠️ Pool : connexion empruntée depuis " + heldMs + " ms sans être rendue (fuite probable).");
+                lease.origin.printStackTrace();
+            }
+        }
+    }
+
+    // --- STATISTIQUES ---
+    public int getTotalConnections() { return total.get(); }
+    public int getIdleConnections() { return idle.size(); }
+    public int getActiveConnections() { return borrowed.size(); }
+    public int getMaxSize() { return maxSize; }
+    public long getStatementCacheHits() { return statementHits.sum(); }
+    public long getStatementCacheMisses() { return statementMisses.sum(); }
+    public long getStatementCacheEvictions() { return statementEvictions.sum(); }
+
+    public double getStatementCacheHitRate() {
+        long hits = statementHits.sum();
+        long lookups = hits + statementMisses.sum();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    private static final class PooledEntry {
+        final Connection physical;
+        final StatementCache statements;
+        volatile long lastUsed = System.nanoTime();
+        // Perte de connexion constatée pendant l'emprunt : fermée au retour au lieu d'être réutilisée
+        volatile boolean broken;
+
+        PooledEntry(Connection physical, StatementCache statements) {
+            this.physical = physical;
+            this.statements = statements;
+        }
+    }
+
+    /**
+     * Connexion prêtée : intercepte close() pour rendre la connexion physique au pool.
+     */
+    private final class Lease implements InvocationHandler {
+        final PooledEntry entry;
+        final Throwable origin;
+        final long borrowedAt = System.nanoTime();
+        final AtomicBoolean released = new AtomicBoolean();
+        volatile boolean leakReported;
+        Connection proxy;
+
+        Lease(PooledEntry entry, Throwable origin) {
+            this.entry = entry;
+            this.origin = origin;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) release(this);
+                    return null;
+                case "isClosed":
+                    return released.get() || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                case "prepareStatement":
+                    if (statementCacheSize > 0 && isCacheable(method)) {
+                        if (released.get()) throw new SQLException("Connexion déjà rendue au pool.");
+                        return prepareCached((String) args[0], args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS);
+                    }
+                    // Autres variantes (type de curseur, colonnes de clés) : non mises en cache
+                default:
+                    if (released.get()) throw new SQLException("Connexion déjà rendue au pool.");
+                    try {
+                        return method.invoke(entry.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw failed(e.getCause());
+                    }
+            }
+        }
+
+        Throwable failed(Throwable error) {
+            return onError(entry, error);
+        }
+
+        // prepareStatement(String) et prepareStatement(String, int autoGeneratedKeys)
+        private boolean isCacheable(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+
+        private PreparedStatement prepareCached(String sql, int autoGeneratedKeys) throws SQLException {
+            String key = StatementCache.key(sql, autoGeneratedKeys);
+            PreparedStatement physical = entry.statements.take(key);
+            if (physical != null && !physical.isClosed()) {
+                statementHits.increment();
+            } else {
+                statementMisses.increment();
+                try {
+                    physical = entry.physical.prepareStatement(sql, autoGeneratedKeys);
+                } catch (SQLException e) {
+                    throw (SQLException) failed(e);
+                }
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new CachedStatement(this, key, physical));
+        }
+    }
+
+    /**
+     * Statement prêté depuis le cache : close() le remet dans le cache de sa connexion physique
+     * après avoir effacé ses paramètres, au lieu de le fermer côté serveur.
+     */
+    private static final class CachedStatement implements InvocationHandler {
+        final Lease lease;
+        final String key;
+        final PreparedStatement physical;
+        boolean closed;
+        // Réglages modifiés par l'appelant : remis à zéro avant retour au cache, ou statement non réutilisable
+        boolean resetLimits;
+        boolean reusable = true;
+
+        CachedStatement(Lease lease, String key, PreparedStatement physical) {
+            this.lease = lease;
+            this.key = key;
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "getConnection":
+                    return lease.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + physical + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setQueryTimeout":
+                    resetLimits = true;
+                    break;
+                case "setFetchDirection":
+                case "setCursorName":
+                case "setEscapeProcessing":
+                case "setPoolable":
+                case "closeOnCompletion":
+                    reusable = false;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) throw new SQLException("Statement déjà fermé.");
+            if (lease.released.get()) throw new SQLException("Connexion déjà rendue au pool.");
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw lease.failed(e.getCause());
+            }
+        }
+
+        private void giveBack() {
+            if (!reusable || lease.released.get()) {
+                StatementCache.closeQuietly(physical);
+                return;
+            }
+            try {
+                if (physical.isClosed()) return;
+                physical.clearParameters();
+                physical.clearBatch();
+                physical.clearWarnings();
+                if (resetLimits) {
+                    physical.setFetchSize(0);
+                    physical.setMaxRows(0);
+                    physical.setQueryTimeout(0);
+                }
+                lease.entry.statements.offer(key, physical);
+            } catch (SQLException e) {
+                StatementCache.closeQuietly(physical);
+            }
+        }
+    }
+}
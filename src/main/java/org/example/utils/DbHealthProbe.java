@@ -0,0 +1,87 @@
+package org.example.utils;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sonde de santé : tant que le circuit est ouvert, essaie toutes les periodMillis d'ouvrir une connexion
+ * et de la valider, en contournant le disjoncteur. Dès que la base répond, onRecovery reçoit la connexion
+ * (schéma resté à appliquer) puis le circuit est refermé : les écrans retrouvent la base sans redémarrage,
+ * sans attendre qu'une requête utilisateur serve d'essai.
+ */
+final class DbHealthProbe {
+    private static final int VALIDATION_TIMEOUT_S = 2;
+    private static final Counter PROBES_FAILED = Metrics.counter("db.probe.failures");
+    private static final Counter RECOVERIES = Metrics.counter("db.probe.recoveries");
+
+    /** Travail à faire sur la première connexion retrouvée. */
+    @FunctionalInterface
+    interface Recovery {
+        void accept(Connection conn) throws SQLException;
+    }
+
+    private final ConnectionPool pool;
+    private final CircuitBreaker breaker;
+    private final long periodMillis;
+    private final Recovery onRecovery;
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+    private long downSince;
+
+    DbHealthProbe(ConnectionPool pool, CircuitBreaker breaker, long periodMillis, Recovery onRecovery) {
+        this.pool = pool;
+        this.breaker = breaker;
+        this.periodMillis = periodMillis;
+        this.onRecovery = onRecovery;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "talentflow-db-probe");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Lance la sonde si elle ne tourne pas déjà (appelé à chaque ouverture du circuit). */
+    synchronized void start() {
+        if (task != null) return;
+        downSince = System.nanoTime();
+        task = scheduler.scheduleWithFixedDelay(this::probe, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized boolean isRunning() {
+        return task != null;
+    }
+
+    private void probe() {
+        if (breaker.getState() == CircuitBreaker.State.CLOSED) {
+            // Refermé entre-temps par un appel d'essai réussi
+            stop();
+            return;
+        }
+        try (Connection conn = pool.getConnection()) {
+            if (!conn.isValid(VALIDATION_TIMEOUT_S)) throw new SQLException("Connexion invalide", "08003");
+            onRecovery.accept(conn);
+        } catch (SQLException | RuntimeException e) {
+            PROBES_FAILED.increment();
+            return;
+        }
+        breaker.reset();
+        RECOVERIES.increment();
+        System.out.println("✅ Base de données de nouveau joignable après "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - downSince) + " ms.");
+        stop();
+    }
+
+    private synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+}
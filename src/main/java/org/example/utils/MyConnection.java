@@ -1,29 +1,107 @@
 package org.example.utils;
 
+import org.example.metrics.Metrics;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class MyConnection {
-    // Connexion à TA base de données talent_flow_db
-    private final String url = "jdbc:mysql://localhost:3306/talent_flow_db?useSSL=false&serverTimezone=UTC";
-    private final String login = "root";
-    private final String pwd = "";
-    private Connection connection;
+    // Connexion à TA base de données talent_flow_db (surchargeable via -Dtalentflow.db.url=...)
+    // useCursorFetch : le driver respecte setFetchSize() au lieu de tout charger en mémoire
+    // rewriteBatchedStatements : un lot d'INSERT part en une seule requête multi-lignes
+    // useServerPrepStmts : les requêtes sont préparées une fois côté serveur (réutilisées grâce au cache du pool)
+    private final String url = System.getProperty("talentflow.db.url",
+            "jdbc:mysql://localhost:3306/talent_flow_db?useSSL=false&serverTimezone=UTC&useCursorFetch=true&rewriteBatchedStatements=true&useServerPrepStmts=true");
+    private final String login = System.getProperty("talentflow.db.user", "root");
+    private final String pwd = System.getProperty("talentflow.db.password", "");
+    private final ConnectionPool pool;
+    // Coupe l'accès à la base quand elle ne répond plus ; la sonde le referme quand elle revient
+    private final CircuitBreaker breaker = CircuitBreaker.getInstance();
+    private final DbHealthProbe probe;
+    // Schéma pas encore vérifié (base injoignable au démarrage) : appliqué sur la première connexion retrouvée
+    private volatile boolean schemaPending = true;
     private static MyConnection instance;
 
     // Constructeur privé (Singleton)
     private MyConnection() {
-        try {
-            connection = DriverManager.getConnection(url, login, pwd);
+        pool = new ConnectionPool(url, login, pwd,
+                Integer.getInteger("talentflow.pool.minSize", 2),
+                Integer.getInteger("talentflow.pool.maxSize", 10),
+                Long.getLong("talentflow.pool.borrowTimeoutMs", 5_000L),
+                Long.getLong("talentflow.pool.idleTimeoutMs", 600_000L),
+                Long.getLong("talentflow.pool.leakThresholdMs", 60_000L),
+                Integer.getInteger("talentflow.pool.statementCacheSize", 64));
+        Metrics.gauge("pool.connections.total", pool::getTotalConnections);
+        Metrics.gauge("pool.connections.idle", pool::getIdleConnections);
+        Metrics.gauge("pool.connections.active", pool::getActiveConnections);
+        Metrics.gauge("pool.statementCache.hitRate", pool::getStatementCacheHitRate);
+        if (pool.getTotalConnections() > 0) {
             System.out.println("You have been successfully connected to the database !");
+        }
+        probe = new DbHealthProbe(pool, breaker, Long.getLong("talentflow.db.probe.periodMs", 2_000L), this::ensureSchema);
+        breaker.setOnOpen(probe::start);
+        pool.setConnectionLostListener(breaker::onFailure);
+        try (Connection conn = pool.getConnection()) {
+            ensureSchema(conn);
         } catch (SQLException e) {
             System.err.println("Erreur de connexion : " + e.getMessage());
+            // Base injoignable dès le départ : échecs rapides et sonde de santé, sans attendre le seuil
+            if (SqlErrorClassifier.isConnectionLost(e)) breaker.trip();
+        }
+    }
+
+    /**
+     * Applique le schéma s'il ne l'a pas encore été. Seule une perte de connexion est propagée (le schéma
+     * reste à appliquer) : toute autre erreur est signalée une fois, l'application démarre sur le schéma existant.
+     */
+    private void ensureSchema(Connection conn) throws SQLException {
+        if (!schemaPending) return;
+        synchronized (this) {
+            if (!schemaPending) return;
+            try {
+                SchemaManager.ensureSchema(conn);
+            } catch (SQLException e) {
+                if (SqlErrorClassifier.isConnectionLost(e)) throw e;
+                System.err.println("Erreur de mise à jour du schéma : " + e.getMessage());
+            }
+            schemaPending = false;
+        }
+    }
+
+    /**
+     * Emprunte une connexion au pool. Elle doit être fermée (try-with-resources) pour être rendue.
+     * Dans une UnitOfWork ouverte sur ce thread, c'est la connexion de sa transaction.
+     * Circuit ouvert (base injoignable) : CircuitOpenException immédiatement, sans attendre le pilote.
+     */
+    public Connection getConnection() throws SQLException {
+        Connection transaction = UnitOfWork.currentConnection();
+        if (transaction != null) return transaction;
+        breaker.acquirePermission();
+        Connection conn;
+        try {
+            conn = pool.getConnection();
+        } catch (SQLException e) {
+            breaker.onFailure(e);
+            throw e;
         }
+        breaker.onSuccess();
+        if (schemaPending) {
+            try {
+                ensureSchema(conn);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+        return conn;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
     }
 
-    public Connection getConnection() {
-        return connection;
+    public CircuitBreaker getBreaker() {
+        return breaker;
     }
 
     public static synchronized MyConnection getInstance() {
@@ -32,4 +110,4 @@ public class MyConnection {
         }
         return instance;
     }
-}
\ No newline at end of file
+}
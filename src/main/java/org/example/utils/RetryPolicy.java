@@ -0,0 +1,76 @@
+package org.example.utils;
+
+import org.example.metrics.Counter;
+import org.example.metrics.Metrics;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rejoue un appel JDBC idempotent (lecture) quand il échoue sur une erreur transitoire (SqlErrorClassifier),
+ * après une attente tirée au hasard entre 0 et baseMillis × 2^(essai-1), plafonnée à maxMillis : des appels
+ * qui échouent ensemble ne reviennent pas tous au même instant.
+ * Pas de nouvel essai quand le circuit est ouvert (la base est connue indisponible), ni dans une UnitOfWork :
+ * la transaction est perdue avec sa connexion et seul l'appelant peut la recommencer entièrement.
+ */
+public final class RetryPolicy {
+    private static final Counter RETRIES = Metrics.counter("db.retries");
+    private static final Counter GAVE_UP = Metrics.counter("db.retries.exhausted");
+
+    /** Politique des lectures des DAO (-Dtalentflow.db.retry.attempts, .baseMs, .maxMs). */
+    public static final RetryPolicy READS = new RetryPolicy(
+            Integer.getInteger("talentflow.db.retry.attempts", 3),
+            Long.getLong("talentflow.db.retry.baseMs", 50L),
+            Long.getLong("talentflow.db.retry.maxMs", 1_000L));
+
+    /** Appel JDBC à rejouer : chaque essai emprunte sa propre connexion. */
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private final int maxAttempts;
+    private final long baseMillis, maxMillis;
+
+    public RetryPolicy(int maxAttempts, long baseMillis, long maxMillis) {
+        if (maxAttempts < 1 || baseMillis < 0 || maxMillis < baseMillis) {
+            throw new IllegalArgumentException("Politique de reprise invalide : essais=" + maxAttempts
+                    + ", base=" + baseMillis + " ms, max=" + maxMillis + " ms");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseMillis = baseMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /** Exécute call, rejoué au plus maxAttempts fois au total ; la dernière erreur est propagée. */
+    public <T> T execute(SqlCall<T> call) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (SQLException e) {
+                if (!shouldRetry(e)) throw e;
+                if (attempt >= maxAttempts) {
+                    GAVE_UP.increment();
+                    throw e;
+                }
+                RETRIES.increment();
+                pause(attempt, e);
+            }
+        }
+    }
+
+    private boolean shouldRetry(SQLException e) {
+        return !(e instanceof CircuitOpenException) && !UnitOfWork.isActive() && SqlErrorClassifier.isTransient(e);
+    }
+
+    private void pause(int attempt, SQLException cause) throws SQLException {
+        long ceiling = Math.min(maxMillis, baseMillis << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
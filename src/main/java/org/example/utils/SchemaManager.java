@@ -0,0 +1,163 @@
+package org.example.utils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fait évoluer le schéma au démarrage : colonnes et index de la table user, table offre.
+ * Chaque étape est idempotente : on vérifie les métadonnées avant de modifier quoi que ce soit.
+ */
+public class SchemaManager {
+
+    public static void ensureSchema(Connection conn) throws SQLException {
+        // Horodatage de dernière modification : sert à la synchronisation incrémentale des écrans
+        if (!columnExists(conn, "user", "updated_at")) {
+            execute(conn, "ALTER TABLE user ADD COLUMN updated_at TIMESTAMP(3) NOT NULL "
+                    + "DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)");
+        }
+        if (!indexExists(conn, "user", "idx_user_updated_at")) {
+            execute(conn, "CREATE INDEX idx_user_updated_at ON user (updated_at)");
+        }
+
+        // Numéro de version de chaque ligne : verrouillage optimiste des mises à jour (UserDAO.update)
+        if (!columnExists(conn, "user", "version")) {
+            execute(conn, "ALTER TABLE user ADD COLUMN version INT NOT NULL DEFAULT 0");
+        }
+
+        // Compétences des candidats, rapprochées de celles des offres (MatchingEngine)
+        if (!columnExists(conn, "user", "competences")) {
+            execute(conn, "ALTER TABLE user ADD COLUMN competences VARCHAR(500) NOT NULL DEFAULT ''");
+        }
+
+        // Empreintes PBKDF2 (~100 caractères) : la colonne password doit être assez large
+        int passwordSize = columnSize(conn, "user", "password");
+        if (passwordSize > 0 && passwordSize < 255) {
+            execute(conn, "ALTER TABLE user MODIFY password VARCHAR(255)"
+                    + (isNullable(conn, "user", "password") ? "" : " NOT NULL"));
+        }
+
+        // Un seul compte par email : l'index unique arbitre les inscriptions concurrentes (UserDAO.create)
+        // et remplace l'index simple idx_user_email. Échoue tant que la table contient des doublons.
+        if (!uniqueIndexExists(conn, "user", "email")) {
+            try {
+                execute(conn, "CREATE UNIQUE INDEX uq_user_email ON user (email)");
+                if (indexExists(conn, "user", "idx_user_email")) execute(conn, "DROP INDEX idx_user_email ON user");
+            } catch (SQLException e) {
+                System.err.println("⚠️ Index unique sur email impossible (emails en double ?) : " + e.getMessage());
+            }
+        }
+
+        // Offres d'emploi : la recherche passe par l'index en mémoire (OffreIndex), pas par des index SQL
+        if (!tableExists(conn, "offre")) {
+            execute(conn, "CREATE TABLE offre ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "titre VARCHAR(150) NOT NULL, entreprise VARCHAR(100) NOT NULL, "
+                    + "lieu VARCHAR(100) NOT NULL DEFAULT '', description TEXT NOT NULL, "
+                    + "competences VARCHAR(500) NOT NULL DEFAULT '', recruteur_id INT NULL, "
+                    + "updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3), "
+                    + "CONSTRAINT fk_offre_recruteur FOREIGN KEY (recruteur_id) REFERENCES user (id) ON DELETE SET NULL)");
+        }
+
+        // Recherche par préfixe et tri : un index par colonne (InnoDB y ajoute l'id, utile à la pagination par clé)
+        for (String column : new String[]{"nom", "prenom", "email", "role"}) {
+            if (!indexedColumnExists(conn, "user", column)) {
+                execute(conn, "CREATE INDEX idx_user_" + column + " ON user (" + column + ")");
+            }
+        }
+    }
+
+    static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getTables(conn.getCatalog(), null, table, new String[]{"TABLE"})) {
+            while (rs.next()) {
+                if (table.equalsIgnoreCase(rs.getString("TABLE_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Taille déclarée de la colonne, ou -1 si elle n'existe pas. */
+    static int columnSize(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return rs.getInt("COLUMN_SIZE");
+            }
+        }
+        return -1;
+    }
+
+    static boolean isNullable(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return "YES".equals(rs.getString("IS_NULLABLE"));
+            }
+        }
+        return true;
+    }
+
+    static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Vrai si un index unique porte sur cette seule colonne. */
+    static boolean uniqueIndexExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        Map<String, Integer> columns = new HashMap<>();
+        Set<String> onColumn = new HashSet<>();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, true, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                if (index == null || rs.getBoolean("NON_UNIQUE")) continue;
+                columns.merge(index, 1, Integer::sum);
+                if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) onColumn.add(index);
+            }
+        }
+        for (String index : onColumn) {
+            if (columns.get(index) == 1) return true;
+        }
+        return false;
+    }
+
+    /** Vrai si un index (quel que soit son nom) commence par cette colonne. */
+    static boolean indexedColumnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (rs.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+
+    private static void execute(Connection conn, String ddl) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(ddl);
+            System.out.println("🛠️ Schéma mis à jour : " + ddl);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.utils;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+
+/**
+ * Tri des SQLException : une erreur transitoire (connexion perdue, verrou mortel, délai dépassé) peut réussir
+ * si on rejoue l'appel ; une erreur définitive (syntaxe, contrainte, droits) échouera à l'identique.
+ * Les pilotes ne rangent pas tous leurs erreurs dans les sous-classes JDBC 4 : on regarde aussi le SQLSTATE
+ * et les codes MySQL, sur toute la chaîne des causes.
+ */
+public final class SqlErrorClassifier {
+    // Codes MySQL : 1040 trop de connexions, 1053 arrêt du serveur, 1205 attente de verrou, 1213 verrou mortel,
+    // 2002/2003 serveur injoignable, 2006 serveur parti, 2013 connexion perdue pendant la requête
+    private static final int[] TRANSIENT_CODES = {1040, 1053, 1205, 1213, 2002, 2003, 2006, 2013};
+    private static final int[] CONNECTION_CODES = {1053, 2002, 2003, 2006, 2013};
+
+    private SqlErrorClassifier() {
+    }
+
+    /** Vrai si rejouer l'appel, sur une autre connexion, a une chance de réussir. */
+    public static boolean isTransient(SQLException e) {
+        for (SQLException c = e; c != null; c = next(c)) {
+            if (c instanceof SQLTransientException || c instanceof SQLRecoverableException) return true;
+            if (isConnectionState(c.getSQLState())) return true;
+            // 40001 : sérialisation impossible ou verrou mortel ; HYT00 : délai dépassé
+            if ("40001".equals(c.getSQLState()) || "HYT00".equals(c.getSQLState())) return true;
+            if (contains(TRANSIENT_CODES, c.getErrorCode())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Vrai si la connexion elle-même est perdue (serveur arrêté, réseau coupé) : elle ne doit pas revenir
+     * dans le pool, et la base est probablement indisponible pour toutes les autres.
+     */
+    public static boolean isConnectionLost(SQLException e) {
+        for (SQLException c = e; c != null; c = next(c)) {
+            if (c instanceof SQLTransientConnectionException || c instanceof SQLNonTransientConnectionException) return true;
+            if (isConnectionState(c.getSQLState())) return true;
+            if (contains(CONNECTION_CODES, c.getErrorCode())) return true;
+        }
+        return false;
+    }
+
+    // Classe SQLSTATE 08 : exceptions de connexion (08001 ouverture impossible, 08S01 lien coupé...)
+    private static boolean isConnectionState(String state) {
+        return state != null && state.startsWith("08");
+    }
+
+    private static boolean contains(int[] codes, int code) {
+        for (int c : codes) {
+            if (c == code) return true;
+        }
+        return false;
+    }
+
+    private static SQLException next(SQLException e) {
+        if (e.getNextException() != null) return e.getNextException();
+        return e.getCause() instanceof SQLException cause && cause != e ? cause : null;
+    }
+}
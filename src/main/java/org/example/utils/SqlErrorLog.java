@@ -0,0 +1,38 @@
+package org.example.utils;
+
+import java.sql.SQLException;
+
+/**
+ * Trace sur stderr des erreurs d'accès à la base. Base indisponible (circuit ouvert, connexion perdue
+ * même après les nouveaux essais) : une seule ligne, car pendant une panne ces erreurs arrivent à chaque
+ * lecture et leur pile n'apprend rien. Les autres erreurs gardent leur pile.
+ */
+public final class SqlErrorLog {
+
+    private SqlErrorLog() {
+    }
+
+    public static void report(Throwable e) {
+        report(null, e);
+    }
+
+    /** context : préfixe du message (ex. "Erreur SQL lors de l'insertion"), ou null. */
+    public static void report(String context, Throwable e) {
+        String prefix = context == null ? "" : context + " : ";
+        if (isUnavailable(e)) {
+            System.err.println("⚠️ " + prefix + "base de données indisponible (" + e.getMessage() + ")");
+            return;
+        }
+        if (context != null) System.err.println("❌ " + prefix + e.getMessage());
+        e.printStackTrace();
+    }
+
+    /** Vrai si e, ou l'une de ses causes (DatabaseUnavailableException par exemple), signale une base injoignable. */
+    public static boolean isUnavailable(Throwable e) {
+        for (Throwable c = e; c != null; c = c.getCause() == c ? null : c.getCause()) {
+            if (c instanceof CircuitOpenException) return true;
+            if (c instanceof SQLException sql && SqlErrorClassifier.isConnectionLost(sql)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.utils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU des PreparedStatement d'une connexion physique, indexé par le texte SQL.
+ * Une connexion n'est utilisée que par un thread à la fois (celui qui l'a empruntée) : pas de verrou.
+ * Un statement est retiré du cache pendant son utilisation, puis y est remis à sa fermeture logique,
+ * ce qui permet de préparer deux fois la même requête sur une même connexion sans partage.
+ */
+final class StatementCache {
+    private final int capacity;
+    private final LongAdder evictions;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(int capacity, LongAdder evictions) {
+        this.capacity = capacity;
+        this.evictions = evictions;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    static String key(String sql, int autoGeneratedKeys) {
+        return autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+    }
+
+    /** Retire et retourne le statement préparé pour cette clé, ou null s'il n'est pas en cache. */
+    PreparedStatement take(String key) {
+        return statements.remove(key);
+    }
+
+    /** Remet un statement en cache ; le moins récemment utilisé est fermé si la capacité est dépassée. */
+    void offer(String key, PreparedStatement statement) {
+        PreparedStatement previous = statements.put(key, statement);
+        if (previous != null && previous != statement) closeQuietly(previous);
+        if (statements.size() > capacity) {
+            Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+            closeQuietly(eldest.next().getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    void closeAll() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Statement déjà invalide (connexion perdue) : rien à libérer
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regroupe plusieurs opérations des DAO dans une seule transaction :
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     userDAO.update(a);
+ *     userDAO.delete(b.getId());
+ *     uow.commit();
+ * }   // sans commit (exception, return anticipé) : tout est annulé
+ * </pre>
+ * Tant que l'unité est ouverte, MyConnection.getConnection() rend au thread courant sa connexion
+ * (ThreadLocal) : les DAO en profitent sans changer de code. Leur close() ne la rend pas au pool,
+ * leurs commit() sont sans effet et un rollback() interne condamne toute l'unité.
+ * Une opération qui échoue appelle setRollbackOnly() ; ses effets hors base (caches, index, sessions,
+ * classements, état des objets écrits) passent par afterCommit() et onRollback(), pour ne survivre qu'à
+ * un commit réussi : chaque DAO y inscrit ce qu'il a lui-même touché.
+ * Une unité appartient au thread qui l'a ouverte ; pas d'imbrication.
+ */
+public final class UnitOfWork implements AutoCloseable {
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection shared;
+    private boolean rollbackOnly;
+    private boolean finished;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final List<Runnable> onRollback = new ArrayList<>();
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+        this.shared = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                        case "commit":
+                        case "setAutoCommit":
+                            return null;
+                        case "rollback":
+                            // rollback(Savepoint) reste du ressort de l'appelant
+                            if (args == null || args.length == 0) {
+                                rollbackOnly = true;
+                                return null;
+                            }
+                            break;
+                        case "isClosed":
+                            return finished || connection.isClosed();
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Ouvre une transaction sur une connexion du pool, liée au thread courant.
+     * Base injoignable : CircuitOpenException, sans attendre le pilote.
+     */
+    public static UnitOfWork begin() throws SQLException {
+        if (CURRENT.get() != null) throw new IllegalStateException("Une unité de travail est déjà ouverte sur ce thread");
+        Connection conn = MyConnection.getInstance().getConnection();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        UnitOfWork uow = new UnitOfWork(conn);
+        CURRENT.set(uow);
+        return uow;
+    }
+
+    /** Connexion de l'unité ouverte sur ce thread, ou null. */
+    static Connection currentConnection() {
+        UnitOfWork uow = CURRENT.get();
+        return uow == null ? null : uow.shared;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /** Condamne l'unité ouverte sur ce thread (sans effet hors unité) : son commit() annulera tout. */
+    public static void setRollbackOnly() {
+        UnitOfWork uow = CURRENT.get();
+        if (uow != null) uow.rollbackOnly = true;
+    }
+
+    /** Lance action après le commit de l'unité ouverte sur ce thread, tout de suite hors unité ; oubliée si l'unité est annulée. */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) action.run();
+        else uow.afterCommit.add(action);
+    }
+
+    /** Lance action si l'unité ouverte sur ce thread est annulée (sans effet hors unité) : état en mémoire à restaurer. */
+    public static void onRollback(Runnable action) {
+        UnitOfWork uow = CURRENT.get();
+        if (uow != null) uow.onRollback.add(action);
+    }
+
+    /**
+     * Valide la transaction ; si une opération a demandé l'annulation, tout est annulé et SQLException est levée.
+     * Les actions afterCommit sont lancées ensuite, hors de l'unité (leurs lectures passent par le pool).
+     */
+    public void commit() throws SQLException {
+        checkOpen();
+        if (rollbackOnly) {
+            rollback();
+            throw new SQLException("Transaction annulée : une opération de l'unité de travail a échoué");
+        }
+        connection.commit();
+        finished = true;
+        onRollback.clear();
+        if (CURRENT.get() == this) CURRENT.remove();
+        for (Runnable action : afterCommit) {
+            action.run();
+        }
+        afterCommit.clear();
+    }
+
+    public void rollback() throws SQLException {
+        checkOpen();
+        finished = true;
+        try {
+            connection.rollback();
+        } finally {
+            undo();
+        }
+    }
+
+    /** Annule si ni commit ni rollback n'ont été faits, puis rend la connexion au pool. */
+    @Override
+    public void close() throws SQLException {
+        if (CURRENT.get() == this) CURRENT.remove();
+        try {
+            if (!finished) {
+                finished = true;
+                try {
+                    connection.rollback();
+                } finally {
+                    undo();
+                }
+            }
+            connection.setAutoCommit(true);
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void undo() {
+        afterCommit.clear();
+        // Dans l'ordre inverse des écritures : un objet écrit deux fois retrouve son tout premier état
+        for (int i = onRollback.size() - 1; i >= 0; i--) {
+            onRollback.get(i).run();
+        }
+        onRollback.clear();
+    }
+
+    private void checkOpen() {
+        if (finished) throw new IllegalStateException("Unité de travail déjà terminée");
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.utils;
+
+import org.example.model.Role;
+import org.example.model.User;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Moteur de validation des utilisateurs : des scanneurs écrits à la main remplacent les expressions
+ * régulières (mêmes règles, sans compilation ni allocation), et les erreurs sont rendues sous forme
+ * de masque de ValidationError.
+ */
+public final class UserValidator {
+
+    private UserValidator() {
+    }
+
+    // --- RÈGLES UNITAIRES ---
+    /** Équivalent de ^[a-zA-ZÀ-ÿ\s]{2,20}$ */
+    public static boolean isValidName(String name) {
+        if (name == null) return false;
+        int n = name.length();
+        if (n < 2 || n > 20) return false;
+        for (int i = 0; i < n; i++) {
+            char c = name.charAt(i);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= 'À' && c <= 'ÿ');
+            if (!letter && !isRegexWhitespace(c)) return false;
+        }
+        return true;
+    }
+
+    /** Équivalent de ^[A-Za-z0-9+_.-]+@(.+)$ */
+    public static boolean isValidEmail(String email) {
+        if (email == null) return false;
+        int n = email.length();
+        int i = 0;
+        while (i < n && isEmailLocalChar(email.charAt(i))) i++;
+        if (i == 0 || i == n || email.charAt(i) != '@') return false;
+        i++;
+        if (i == n) return false;
+        for (; i < n; i++) {
+            if (isLineTerminator(email.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** Équivalent de ^[0-9]{8}$ */
+    public static boolean isValidTel(String tel) {
+        if (tel == null || tel.length() != 8) return false;
+        for (int i = 0; i < 8; i++) {
+            char c = tel.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Règles de ^(?=.*[A-Z])(?=.*[0-9])(?=.*[@#$%^&+=!*])(?=\S+$).{8,}$ en un seul passage,
+     * avec un code d'erreur par règle non respectée (PASSWORD_MANQUANT seul si le mot de passe est vide).
+     */
+    public static int passwordErrors(String pwd) {
+        if (pwd == null || pwd.isEmpty()) return ValidationError.PASSWORD_MANQUANT.bit();
+        boolean upper = false, digit = false, symbol = false, blank = false;
+        for (int i = 0; i < pwd.length(); i++) {
+            char c = pwd.charAt(i);
+            if (c >= 'A' && c <= 'Z') upper = true;
+            else if (c >= '0' && c <= '9') digit = true;
+            else if (isPasswordSymbol(c)) symbol = true;
+            else if (isRegexWhitespace(c) || isLineTerminator(c)) blank = true;
+        }
+        int mask = 0;
+        if (pwd.length() < 8) mask |= ValidationError.PASSWORD_TROP_COURT.bit();
+        if (blank) mask |= ValidationError.PASSWORD_ESPACE.bit();
+        if (!upper) mask |= ValidationError.PASSWORD_SANS_MAJUSCULE.bit();
+        if (!digit) mask |= ValidationError.PASSWORD_SANS_CHIFFRE.bit();
+        if (!symbol) mask |= ValidationError.PASSWORD_SANS_SYMBOLE.bit();
+        return mask;
+    }
+
+    public static boolean isKnownRole(String role) {
+        return Role.fromName(role) != null;
+    }
+
+    // --- VALIDATION D'UN UTILISATEUR ---
+    /**
+     * Valide tous les champs et retourne le masque des erreurs (0 = utilisateur valide).
+     * Un mot de passe vide n'est contrôlé que si passwordRequired est vrai.
+     */
+    public static int validate(User user, boolean passwordRequired) {
+        int mask = 0;
+        if (!isValidName(user.getNom())) mask |= ValidationError.NOM_INVALIDE.bit();
+        if (!isValidName(user.getPrenom())) mask |= ValidationError.PRENOM_INVALIDE.bit();
+        if (!isValidEmail(user.getEmail())) mask |= ValidationError.EMAIL_INVALIDE.bit();
+        if (!isValidTel(user.getTelephone())) mask |= ValidationError.TELEPHONE_INVALIDE.bit();
+        String pwd = user.getPassword();
+        if (passwordRequired || (pwd != null && !pwd.isEmpty())) mask |= passwordErrors(pwd);
+        if (!isKnownRole(user.getRole())) mask |= ValidationError.ROLE_INCONNU.bit();
+        return mask;
+    }
+
+    /** Valide un lot en parallèle : result[i] est le masque d'erreurs de users.get(i). */
+    public static int[] validateAll(List<User> users, boolean passwordRequired) {
+        int[] result = new int[users.size()];
+        IntStream.range(0, result.length).parallel()
+                .forEach(i -> result[i] = validate(users.get(i), passwordRequired));
+        return result;
+    }
+
+    // --- CLASSES DE CARACTÈRES ---
+    // \s des regex Java : [ \t\n\x0B\f\r]
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Caractères que '.' refuse dans les regex Java
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isPasswordSymbol(char c) {
+        return c == '@' || c == '#' || c == '$' || c == '%' || c == '^' || c == '&' || c == '+'
+                || c == '=' || c == '!' || c == '*';
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codes d'erreur de validation, un par règle. Un ensemble d'erreurs se transporte sous forme
+ * de masque int (un bit par code) pour ne rien allouer quand la saisie est valide.
+ */
+public enum ValidationError {
+    NOM_INVALIDE("nom", "Nom invalide (lettres uniquement, 2 à 20 caractères)."),
+    PRENOM_INVALIDE("prenom", "Prénom invalide (lettres uniquement, 2 à 20 caractères)."),
+    EMAIL_INVALIDE("email", "Format email incorrect."),
+    TELEPHONE_INVALIDE("telephone", "Le téléphone doit contenir 8 chiffres."),
+    PASSWORD_TROP_COURT("password", "Mot de passe : 8 caractères minimum."),
+    PASSWORD_ESPACE("password", "Mot de passe : les espaces ne sont pas autorisés."),
+    PASSWORD_SANS_MAJUSCULE("password", "Mot de passe : au moins une majuscule."),
+    PASSWORD_SANS_CHIFFRE("password", "Mot de passe : au moins un chiffre."),
+    PASSWORD_SANS_SYMBOLE("password", "Mot de passe : au moins un symbole (@#$%^&+=!*)."),
+    ROLE_INCONNU("role", "Rôle inconnu (ADMIN, RH ou CANDIDAT)."),
+    PASSWORD_MANQUANT("password", "Mot de passe obligatoire.");
+
+    private static final ValidationError[] VALUES = values();
+
+    private final String field;
+    private final String message;
+
+    ValidationError(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    public String getField() { return field; }
+    public String getMessage() { return message; }
+    public int bit() { return 1 << ordinal(); }
+
+    public boolean isIn(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    public static List<ValidationError> fromMask(int mask) {
+        List<ValidationError> errors = new ArrayList<>(Integer.bitCount(mask));
+        for (ValidationError error : VALUES) {
+            if (error.isIn(mask)) errors.add(error);
+        }
+        return errors;
+    }
+
+    /** Message de la première erreur du masque, ou null si le masque est vide. */
+    public static String firstMessage(int mask) {
+        return mask == 0 ? null : VALUES[Integer.numberOfTrailingZeros(mask)].message;
+    }
+}